@@ -0,0 +1,178 @@
+package com.mirror.jfr;
+
+import com.mirror.GetField;
+import com.mirror.SetField;
+import com.mirror.metrics.MirrorMetrics;
+import jdk.jfr.Event;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     A {@link MirrorMetrics} which emits Java Flight Recorder events, so that mirror overhead can be correlated with
+ *     other events of the same recording.
+ * </p>
+ *
+ * Events are emitted for mirror creation, invocations of mirror methods and of field getters and setters, lookups of
+ * mirrored members, and exception translation. Each event type can be enabled or disabled in the recording settings,
+ * under the <code>Mirror</code> category.
+ * <p>
+ *     Events are begun when the mirrors start an operation, and ended when they report it, so that their duration is
+ *     that of the operation, and the recording's threshold setting applies. The duration measured by the mirrors is
+ *     also recorded, in the <code>mirrorDuration</code> field, and events faster than the threshold given here are
+ *     dropped as well.
+ * </p>
+ * <pre>
+ *     Mirror mirror = Mirror.builder(classLoader)
+ *             .setMetrics(new JfrMirrorMetrics(Duration.ofMillis(1)))
+ *             .build();
+ * </pre>
+ */
+public class JfrMirrorMetrics implements MirrorMetrics {
+
+    /**
+     * The field getters and setters of each mirror class, found once, so that invocations are classified without
+     * reading annotations.
+     */
+    private static final ClassValue<Set<Method>> sFieldAccessors = new ClassValue<Set<Method>>() {
+        @Override
+        protected Set<Method> computeValue(Class<?> mirrorClass) {
+            Set<Method> fieldAccessors = new HashSet<Method>();
+            for (Method method : mirrorClass.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(GetField.class) || method.isAnnotationPresent(SetField.class)) {
+                    fieldAccessors.add(method);
+                }
+            }
+
+            return fieldAccessors;
+        }
+    };
+
+    private final long mThresholdNanos;
+
+    /**
+     * Emits events for all calls.
+     */
+    public JfrMirrorMetrics() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param threshold minimal duration of the creations, invocations, lookups and exception translations to emit
+     *                  events for.
+     */
+    public JfrMirrorMetrics(Duration threshold) {
+        mThresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Object onInvocationStarted(Method mirrorMethod, Class<?> targetClass) {
+        boolean fieldAccess = sFieldAccessors.get(mirrorMethod.getDeclaringClass()).contains(mirrorMethod);
+        return begin(fieldAccess ? new MirrorFieldAccessEvent() : new MirrorInvocationEvent());
+    }
+
+    @Override
+    public void onInvocation(Method mirrorMethod, Class<?> targetClass, long durationNanos, Throwable thrown, Object started) {
+        if (started instanceof MirrorFieldAccessEvent) {
+            MirrorFieldAccessEvent event = (MirrorFieldAccessEvent) started;
+            if (end(event, durationNanos)) {
+                event.mirrorClass = mirrorMethod.getDeclaringClass();
+                event.methodName = mirrorMethod.getName();
+                event.targetClass = targetClass;
+                event.mirrorDuration = durationNanos;
+                event.thrownClass = thrown != null ? thrown.getClass() : null;
+                event.commit();
+            }
+        } else if (started instanceof MirrorInvocationEvent) {
+            MirrorInvocationEvent event = (MirrorInvocationEvent) started;
+            if (end(event, durationNanos)) {
+                event.mirrorClass = mirrorMethod.getDeclaringClass();
+                event.methodName = mirrorMethod.getName();
+                event.targetClass = targetClass;
+                event.mirrorDuration = durationNanos;
+                event.thrownClass = thrown != null ? thrown.getClass() : null;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public Object onPlanResolutionStarted(Method mirrorMethod, Class<?> targetClass) {
+        return begin(new MirrorLookupEvent());
+    }
+
+    @Override
+    public void onPlanCacheMiss(Method mirrorMethod, Class<?> targetClass, long durationNanos, Object started) {
+        if (started instanceof MirrorLookupEvent) {
+            MirrorLookupEvent event = (MirrorLookupEvent) started;
+            if (end(event, durationNanos)) {
+                event.mirrorClass = mirrorMethod.getDeclaringClass();
+                event.methodName = mirrorMethod.getName();
+                event.targetClass = targetClass;
+                event.mirrorDuration = durationNanos;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public Object onMirrorCreationStarted(Class<?> mirrorClass) {
+        return begin(new MirrorCreationEvent());
+    }
+
+    @Override
+    public void onMirrorCreated(Class<?> mirrorClass, Class<?> targetClass, long durationNanos, Object started) {
+        if (started instanceof MirrorCreationEvent) {
+            MirrorCreationEvent event = (MirrorCreationEvent) started;
+            if (end(event, durationNanos)) {
+                event.mirrorClass = mirrorClass;
+                event.targetClass = targetClass;
+                event.mirrorDuration = durationNanos;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public Object onExceptionTranslationStarted(Class<? extends Throwable> throwableType) {
+        return begin(new MirrorExceptionTranslationEvent());
+    }
+
+    @Override
+    public void onExceptionTranslated(Class<? extends Throwable> throwableType, Class<? extends Throwable> translatedType, long durationNanos, Object started) {
+        if (started instanceof MirrorExceptionTranslationEvent) {
+            MirrorExceptionTranslationEvent event = (MirrorExceptionTranslationEvent) started;
+            if (end(event, durationNanos)) {
+                event.thrownClass = throwableType;
+                event.translatedClass = translatedType;
+                event.mirrorDuration = durationNanos;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return the given event, begun, or <code>null</code> if it is disabled.
+     */
+    private static Event begin(Event event) {
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the given event.
+     *
+     * @return whether the event should be committed, given the threshold and the recording settings.
+     */
+    private boolean end(Event event, long durationNanos) {
+        event.end();
+        return durationNanos >= mThresholdNanos && event.shouldCommit();
+    }
+}
@@ -0,0 +1,24 @@
+package com.mirror.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.mirror.Creation")
+@Label("Mirror Creation")
+@Category("Mirror")
+@Description("A mirror or mirror creator created")
+class MirrorCreationEvent extends jdk.jfr.Event {
+
+    @Label("Mirror Class")
+    Class<?> mirrorClass;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Mirror Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long mirrorDuration;
+}
@@ -0,0 +1,24 @@
+package com.mirror.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.mirror.ExceptionTranslation")
+@Label("Mirror Exception Translation")
+@Category("Mirror")
+@Description("A throwable thrown by a mirrored member wrapped into a mirrored exception type")
+class MirrorExceptionTranslationEvent extends jdk.jfr.Event {
+
+    @Label("Thrown Class")
+    Class<?> thrownClass;
+
+    @Label("Translated Class")
+    Class<?> translatedClass;
+
+    @Label("Mirror Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long mirrorDuration;
+}
@@ -0,0 +1,30 @@
+package com.mirror.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.mirror.FieldAccess")
+@Label("Mirror Field Access")
+@Category("Mirror")
+@Description("A mirrored field read or written through a proxy")
+class MirrorFieldAccessEvent extends jdk.jfr.Event {
+
+    @Label("Mirror Class")
+    Class<?> mirrorClass;
+
+    @Label("Method Name")
+    String methodName;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Mirror Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long mirrorDuration;
+
+    @Label("Thrown Class")
+    Class<?> thrownClass;
+}
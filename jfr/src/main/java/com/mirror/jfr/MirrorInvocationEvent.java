@@ -0,0 +1,30 @@
+package com.mirror.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.mirror.Invocation")
+@Label("Mirror Invocation")
+@Category("Mirror")
+@Description("A mirror method invoked through a proxy")
+class MirrorInvocationEvent extends jdk.jfr.Event {
+
+    @Label("Mirror Class")
+    Class<?> mirrorClass;
+
+    @Label("Method Name")
+    String methodName;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Mirror Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long mirrorDuration;
+
+    @Label("Thrown Class")
+    Class<?> thrownClass;
+}
@@ -0,0 +1,27 @@
+package com.mirror.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.mirror.Lookup")
+@Label("Mirror Lookup")
+@Category("Mirror")
+@Description("The mirrored member of a mirror method looked up, on its first invocation or preparation")
+class MirrorLookupEvent extends jdk.jfr.Event {
+
+    @Label("Mirror Class")
+    Class<?> mirrorClass;
+
+    @Label("Method Name")
+    String methodName;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Mirror Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long mirrorDuration;
+}
@@ -0,0 +1,164 @@
+package com.mirror.jfr;
+
+import com.mirror.GetField;
+import com.mirror.Mirror;
+import com.mirror.MirrorCreator;
+import com.mirror.MirroredClass;
+import com.mirror.MirroredException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JfrMirrorMetricsTest {
+
+    @Test
+    public void mirror_recordingEnabled_emitsEvents() throws Exception {
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(new JfrMirrorMetrics())
+                .build();
+
+        List<RecordedEvent> events = record(() -> {
+            TargetMirror targetMirror = mirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+            targetMirror.increment(1);
+            targetMirror.getCount();
+        });
+
+        assertEquals(2, count(events, "com.mirror.Creation"));
+        assertEquals(2, count(events, "com.mirror.Invocation"));
+        assertEquals(1, count(events, "com.mirror.FieldAccess"));
+        assertEquals(3, count(events, "com.mirror.Lookup"));
+
+        RecordedEvent increment = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.mirror.Invocation"))
+                .filter(event -> "increment".equals(event.getString("methodName")))
+                .findFirst().get();
+        assertEquals(TargetMirror.class.getName(), increment.getClass("mirrorClass").getName());
+        assertEquals(Target.class.getName(), increment.getClass("targetClass").getName());
+        assertTrue(increment.getDuration().toNanos() > 0);
+    }
+
+    @Test
+    public void mirror_exceptionTranslated_emitsTimedTranslationEvent() throws Exception {
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(new JfrMirrorMetrics())
+                .build();
+        TargetMirror targetMirror = mirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+
+        List<RecordedEvent> events = record(() -> {
+            try {
+                targetMirror.fail();
+            } catch (WrappedException e) {
+                // expected
+            }
+        });
+
+        RecordedEvent translation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.mirror.ExceptionTranslation"))
+                .findFirst().get();
+        assertEquals(IllegalStateException.class.getName(), translation.getClass("thrownClass").getName());
+        assertEquals(WrappedException.class.getName(), translation.getClass("translatedClass").getName());
+        assertTrue(translation.getLong("mirrorDuration") > 0);
+        assertTrue(translation.getDuration().toNanos() > 0);
+    }
+
+    @Test
+    public void mirror_callsBelowThreshold_emitsNoEvents() throws Exception {
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(new JfrMirrorMetrics(Duration.ofHours(1)))
+                .build();
+
+        List<RecordedEvent> events = record(() -> {
+            TargetMirror targetMirror = mirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+            targetMirror.increment(1);
+            try {
+                targetMirror.fail();
+            } catch (WrappedException e) {
+                // expected
+            }
+        });
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().startsWith("com.mirror.")));
+    }
+
+    private static List<RecordedEvent> record(ThrowingRunnable runnable) throws Exception {
+        Path file = Files.createTempFile("mirror", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.mirror.Creation");
+            recording.enable("com.mirror.Invocation");
+            recording.enable("com.mirror.FieldAccess");
+            recording.enable("com.mirror.Lookup");
+            recording.enable("com.mirror.ExceptionTranslation");
+            recording.start();
+
+            runnable.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.mirror."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static class Target {
+
+        private int mCount;
+
+        private Target(int count) {
+            mCount = count;
+        }
+
+        private int increment(int amount) {
+            return mCount + amount;
+        }
+
+        private void fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    @MirroredClass("com.mirror.jfr.JfrMirrorMetricsTest$Target")
+    private interface TargetMirror {
+
+        @GetField("mCount")
+        int getCount();
+
+        int increment(int amount);
+
+        void fail() throws WrappedException;
+    }
+
+    @MirroredException("java.lang.IllegalStateException")
+    public static class WrappedException extends Exception {
+        public WrappedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private interface TargetMirrorCreator {
+
+        @MirrorCreator
+        TargetMirror create(int count);
+    }
+}
@@ -0,0 +1,260 @@
+package com.mirror.processor;
+
+import com.mirror.MirroredClass;
+import com.mirror.generation.CompiledMirrors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Generates, at compile time, an implementation of each interface annotated with {@link MirroredClass}.
+ * </p>
+ *
+ * For a mirror interface <code>SomeMirror</code>, the class <code>SomeMirror$$MirrorImpl</code> is generated in the same
+ * package. It implements each mirror method by calling <code>invokeExact</code> on a <code>static final</code> method
+ * handle, resolved once by {@link CompiledMirrors} on the first call of a method of the class, with the factory of the
+ * <code>Mirror</code> creating the instance. <code>Mirror</code> uses the generated class instead of creating a
+ * <code>Proxy</code> when compiled implementations are enabled.
+ * <p>
+ *     Interfaces which cannot be implemented from their package, such as private nested interfaces, and generic
+ *     interfaces, are skipped, and keep using proxies.
+ * </p>
+ */
+@SupportedAnnotationTypes("com.mirror.MirroredClass")
+public class MirrorProcessor extends AbstractProcessor {
+
+    private static final String METHODS_CLASS = CompiledMirrors.METHODS_SUFFIX.substring(1);
+    private static final String HANDLES_CLASS = CompiledMirrors.HANDLES_SUFFIX.substring(1);
+    private static final String HANDLE_FIELD_PREFIX = "HANDLE_";
+    private static final String FACTORY_FIELD = "mHandleFactory";
+    private static final String FACTORY_TYPE = "com.mirror.generation.MirrorHandleFactory";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(MirroredClass.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+
+            TypeElement mirrorType = (TypeElement) element;
+            String skipReason = getSkipReason(mirrorType);
+            if (skipReason != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "mirror implementation not generated, " + skipReason, mirrorType);
+                continue;
+            }
+
+            try {
+                writeImplementation(mirrorType, getImplementedMethods(mirrorType));
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "failed writing mirror implementation: " + e.getMessage(), mirrorType);
+            }
+        }
+
+        return false;
+    }
+
+    private String getSkipReason(TypeElement mirrorType) {
+        if (!mirrorType.getTypeParameters().isEmpty()) {
+            return "interface is generic";
+        }
+
+        for (Element element = mirrorType; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return "interface is not accessible from its package";
+            }
+        }
+
+        for (ExecutableElement method : getImplementedMethods(mirrorType)) {
+            if (method.getSimpleName().contentEquals("getTargetInstance") && method.getParameters().isEmpty()) {
+                return "method getTargetInstance() clashes with the implementation";
+            }
+        }
+
+        return null;
+    }
+
+    private List<ExecutableElement> getImplementedMethods(TypeElement mirrorType) {
+        Map<String, ExecutableElement> methods = new LinkedHashMap<String, ExecutableElement>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(mirrorType))) {
+            if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            StringBuilder signature = new StringBuilder(method.getSimpleName());
+            for (TypeMirror parameterType : parameterTypes(method)) {
+                signature.append(',').append(erasure(parameterType));
+            }
+
+            if (!methods.containsKey(signature.toString())) {
+                methods.put(signature.toString(), method);
+            }
+        }
+
+        return new ArrayList<ExecutableElement>(methods.values());
+    }
+
+    private void writeImplementation(TypeElement mirrorType, List<ExecutableElement> methods) throws IOException {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(mirrorType);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(mirrorType).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String className = simpleBinaryName + CompiledMirrors.IMPLEMENTATION_SUFFIX;
+        String mirrorName = mirrorType.getQualifiedName().toString();
+
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? className : packageName + "." + className, mirrorType);
+
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n * Generated by " + MirrorProcessor.class.getName() + " for {@link " + mirrorName + "}.\n */\n");
+            writer.write("public final class " + className + " extends com.mirror.generation.GeneratedMirror implements " + mirrorName + " {\n\n");
+            writer.write("    private final " + FACTORY_TYPE + " " + FACTORY_FIELD + ";\n\n");
+            writer.write("    public " + className + "(Object targetInstance, " + FACTORY_TYPE + " handleFactory) {\n");
+            writer.write("        super(targetInstance);\n");
+            writer.write("        " + FACTORY_FIELD + " = handleFactory;\n");
+            writer.write("    }\n");
+
+            for (int i = 0; i < methods.size(); i++) {
+                writer.write("\n");
+                writeMethod(writer, methods.get(i), HANDLES_CLASS + "." + HANDLE_FIELD_PREFIX + i);
+            }
+
+            writer.write("\n    private static final class " + HANDLES_CLASS + " {\n\n");
+            for (int i = 0; i < methods.size(); i++) {
+                writer.write("        static final java.lang.invoke.MethodHandle " + HANDLE_FIELD_PREFIX + i + " = "
+                        + "com.mirror.generation.CompiledMirrors." + CompiledMirrors.HANDLE_METHOD + "(" + className + ".class, " + i + ");\n");
+            }
+            writer.write("    }\n");
+
+            writer.write("\n    public static final class " + METHODS_CLASS + " {\n\n");
+            writer.write("        public static java.lang.reflect.Method[] " + CompiledMirrors.METHODS_METHOD + "() throws NoSuchMethodException {\n");
+            writer.write("            return new java.lang.reflect.Method[] {\n");
+            for (ExecutableElement method : methods) {
+                writeMethodLookup(writer, mirrorName, method);
+            }
+            writer.write("            };\n");
+            writer.write("        }\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    private void writeMethod(Writer writer, ExecutableElement method, String handleField) throws IOException {
+        List<? extends TypeMirror> parameterTypes = parameterTypes(method);
+        TypeMirror returnType = method.getReturnType();
+        boolean isVoid = returnType.getKind() == TypeKind.VOID;
+
+        StringBuilder declaration = new StringBuilder("    @Override\n    public ");
+        if (!method.getTypeParameters().isEmpty()) {
+            declaration.append(typeParameters(method.getTypeParameters())).append(' ');
+        }
+        declaration.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+
+        StringBuilder arguments = new StringBuilder(FACTORY_FIELD + ", mTargetInstance");
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            if (i > 0) {
+                declaration.append(", ");
+            }
+            declaration.append(parameterTypes.get(i)).append(" arg").append(i);
+            arguments.append(", arg").append(i);
+        }
+        declaration.append(')');
+
+        List<? extends TypeMirror> thrownTypes = method.getThrownTypes();
+        for (int i = 0; i < thrownTypes.size(); i++) {
+            declaration.append(i == 0 ? " throws " : ", ").append(thrownTypes.get(i));
+        }
+
+        writer.write(declaration + " {\n");
+        writer.write("        try {\n");
+        if (isVoid) {
+            writer.write("            " + handleField + ".invokeExact(" + arguments + ");\n");
+        } else {
+            writer.write("            return (" + returnType + ") " + handleField + ".invokeExact(" + arguments + ");\n");
+        }
+        writer.write("        } catch (Throwable throwable) {\n");
+        writer.write("            throw com.mirror.generation.CompiledMirrors.rethrow(throwable);\n");
+        writer.write("        }\n");
+        writer.write("    }\n");
+    }
+
+    private void writeMethodLookup(Writer writer, String mirrorName, ExecutableElement method) throws IOException {
+        StringBuilder lookup = new StringBuilder()
+                .append("                ").append(mirrorName).append(".class.getMethod(\"")
+                .append(method.getSimpleName()).append('"');
+
+        for (TypeMirror parameterType : parameterTypes(method)) {
+            lookup.append(", ").append(erasure(parameterType)).append(".class");
+        }
+
+        writer.write(lookup.append("),\n").toString());
+    }
+
+    private String typeParameters(List<? extends TypeParameterElement> typeParameters) {
+        StringBuilder builder = new StringBuilder("<");
+
+        for (int i = 0; i < typeParameters.size(); i++) {
+            TypeParameterElement typeParameter = typeParameters.get(i);
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(typeParameter.getSimpleName());
+
+            List<? extends TypeMirror> bounds = typeParameter.getBounds();
+            for (int j = 0; j < bounds.size(); j++) {
+                if (j == 0 && bounds.get(j).toString().equals(Object.class.getName())) {
+                    continue;
+                }
+                builder.append(j == 0 ? " extends " : " & ").append(bounds.get(j));
+            }
+        }
+
+        return builder.append('>').toString();
+    }
+
+    private List<? extends TypeMirror> parameterTypes(ExecutableElement method) {
+        List<TypeMirror> parameterTypes = new ArrayList<TypeMirror>();
+        for (Element parameter : method.getParameters()) {
+            parameterTypes.add(parameter.asType());
+        }
+
+        return parameterTypes;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+}
@@ -0,0 +1,201 @@
+package com.mirror.processor;
+
+import com.mirror.Mirror;
+import com.mirror.MirrorPreparationException;
+import com.mirror.invocation.MirrorFieldAccessException;
+import com.mirror.invocation.MirrorInvocationException;
+import com.mirror.metrics.InvocationMetrics;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MirrorProcessorTest {
+
+    private static final String TARGET_SOURCE =
+            "package sample;\n" +
+            "public class Counter {\n" +
+            "    private int mCount;\n" +
+            "    private int add(int amount) { mCount += amount; return mCount; }\n" +
+            "    private static String name() { return \"counter\"; }\n" +
+            "}\n";
+
+    private static final String MIRROR_SOURCE =
+            "package sample;\n" +
+            "import com.mirror.*;\n" +
+            "@MirroredClass(\"sample.Counter\")\n" +
+            "public interface CounterMirror {\n" +
+            "    @GetField(\"mCount\") int getCount();\n" +
+            "    @SetField(\"mCount\") void setCount(int count);\n" +
+            "    int add(int amount);\n" +
+            "    String name();\n" +
+            "    void missing();\n" +
+            "    @GetField(\"mMissing\") int getMissing();\n" +
+            "}\n";
+
+    private static final String MISMATCHED_MIRROR_SOURCE =
+            "package sample;\n" +
+            "import com.mirror.*;\n" +
+            "@MirroredClass(\"sample.Counter\")\n" +
+            "public interface MismatchedCounterMirror {\n" +
+            "    String add(int amount);\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private ClassLoader mClassLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        File sourceDirectory = mTemporaryFolder.newFolder("src");
+        File outputDirectory = mTemporaryFolder.newFolder("classes");
+
+        File targetFile = writeSource(sourceDirectory, "Counter.java", TARGET_SOURCE);
+        File mirrorFile = writeSource(sourceDirectory, "CounterMirror.java", MIRROR_SOURCE);
+        File mismatchedMirrorFile = writeSource(sourceDirectory, "MismatchedCounterMirror.java", MISMATCHED_MIRROR_SOURCE);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", MirrorProcessor.class.getName(),
+                "-d", outputDirectory.getAbsolutePath(),
+                targetFile.getAbsolutePath(), mirrorFile.getAbsolutePath(), mismatchedMirrorFile.getAbsolutePath());
+        assertEquals(0, result);
+
+        mClassLoader = new URLClassLoader(new URL[] {outputDirectory.toURI().toURL()}, this.getClass().getClassLoader());
+    }
+
+    @Test
+    public void process_mirrorInterface_mirrorUsesGeneratedImplementation() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.CounterMirror");
+        Object target = newTarget();
+
+        Object mirror = createMirror(null).mirror(mirrorClass, target);
+
+        assertEquals("sample.CounterMirror$$MirrorImpl", mirror.getClass().getName());
+
+        mirrorClass.getMethod("setCount", int.class).invoke(mirror, 3);
+        assertEquals(5, mirrorClass.getMethod("add", int.class).invoke(mirror, 2));
+        assertEquals(5, mirrorClass.getMethod("getCount").invoke(mirror));
+        assertEquals("counter", mirrorClass.getMethod("name").invoke(mirror));
+    }
+
+    @Test
+    public void process_missingMember_onlyThatMethodFails() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.CounterMirror");
+        Object mirror = createMirror(null).mirror(mirrorClass, newTarget());
+
+        Throwable first = invokeFailing(mirrorClass.getMethod("missing"), mirror);
+        Throwable second = invokeFailing(mirrorClass.getMethod("missing"), mirror);
+
+        assertTrue(first instanceof MirrorInvocationException);
+        assertNotSame(first, second);
+        assertTrue(invokeFailing(mirrorClass.getMethod("getMissing"), mirror) instanceof MirrorFieldAccessException);
+        assertEquals(1, mirrorClass.getMethod("add", int.class).invoke(mirror, 1));
+    }
+
+    @Test
+    public void prepare_handleCannotBeCreated_reportsFailure() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.MismatchedCounterMirror");
+
+        try {
+            createMirror(null).prepare(mirrorClass);
+            fail("expected MirrorPreparationException");
+        } catch (MirrorPreparationException e) {
+            assertEquals(1, e.getFailures().size());
+        }
+    }
+
+    @Test
+    public void process_twoMirrors_eachMirrorReportsToItsOwnMetrics() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.CounterMirror");
+        Method add = mirrorClass.getMethod("add", int.class);
+        InvocationMetrics FIRST_METRICS = new InvocationMetrics();
+        InvocationMetrics SECOND_METRICS = new InvocationMetrics();
+
+        Mirror firstMirror = createMirror(FIRST_METRICS);
+        add.invoke(firstMirror.mirror(mirrorClass, newTarget()), 1);
+        firstMirror.close();
+
+        Object secondMirror = createMirror(SECOND_METRICS).mirror(mirrorClass, newTarget());
+        add.invoke(secondMirror, 1);
+        add.invoke(secondMirror, 1);
+
+        assertEquals("sample.CounterMirror$$MirrorImpl", secondMirror.getClass().getName());
+        assertEquals(1, FIRST_METRICS.getMethodMetrics().get(add).getInvocations());
+        assertEquals(2, SECOND_METRICS.getMethodMetrics().get(add).getInvocations());
+    }
+
+    @Test
+    public void process_twoMirrors_shareStaticHandles() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.CounterMirror");
+        Method add = mirrorClass.getMethod("add", int.class);
+
+        Object firstMirror = createMirror(null).mirror(mirrorClass, newTarget());
+        Object secondMirror = createMirror(null).mirror(mirrorClass, newTarget());
+        assertEquals(1, add.invoke(firstMirror, 1));
+        assertEquals(2, add.invoke(secondMirror, 2));
+
+        Field handle = mClassLoader.loadClass("sample.CounterMirror$$MirrorImpl$Handles").getDeclaredField("HANDLE_0");
+        handle.setAccessible(true);
+
+        assertTrue(Modifier.isStatic(handle.getModifiers()) && Modifier.isFinal(handle.getModifiers()));
+        assertTrue(handle.get(null) instanceof MethodHandle);
+    }
+
+    @Test
+    public void process_compiledImplementationsNotEnabled_mirrorUsesProxy() throws Exception {
+        Class<?> mirrorClass = mClassLoader.loadClass("sample.CounterMirror");
+
+        Object mirror = Mirror.createForClassLoader(mClassLoader).mirror(mirrorClass, newTarget());
+
+        assertTrue(Proxy.isProxyClass(mirror.getClass()));
+    }
+
+    private Mirror createMirror(InvocationMetrics metrics) {
+        return Mirror.builder(mClassLoader)
+                .setUseCompiledImplementations(true)
+                .setMetrics(metrics)
+                .build();
+    }
+
+    private static Throwable invokeFailing(Method method, Object mirror) throws Exception {
+        try {
+            method.invoke(mirror);
+            fail("expected " + method.getName() + " to throw");
+            return null;
+        } catch (InvocationTargetException e) {
+            return e.getCause();
+        }
+    }
+
+    private Object newTarget() throws Exception {
+        return mClassLoader.loadClass("sample.Counter").newInstance();
+    }
+
+    private static File writeSource(File directory, String name, String source) throws Exception {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import com.mirror.MirrorBatch;
+import com.mirror.MirrorCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a field of many target instances through a batch, or a cursor, compared to creating a mirror for each
+ * instance, and to direct access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    @Param({"1000"})
+    public int mTargetCount;
+
+    private Mirror mMirror;
+    private MirrorBatch<TargetMirror> mBatch;
+    private MirrorCursor<TargetMirror> mCursor;
+    private List<BenchmarkTarget> mTargets;
+
+    @Setup
+    public void setUp() throws Exception {
+        mMirror = mConfiguration.createMirror();
+        mBatch = mMirror.batch(TargetMirror.class);
+        mCursor = mMirror.cursor(TargetMirror.class);
+
+        mTargets = new ArrayList<BenchmarkTarget>(mTargetCount);
+        for (int i = 0; i < mTargetCount; i++) {
+            mTargets.add(new BenchmarkTarget(i, "target"));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> direct() {
+        List<Integer> values = new ArrayList<Integer>(mTargets.size());
+        for (BenchmarkTarget target : mTargets) {
+            values.add(target.mValue);
+        }
+
+        return values;
+    }
+
+    @Benchmark
+    public List<Integer> mirrorPerTarget() throws Exception {
+        List<Integer> values = new ArrayList<Integer>(mTargets.size());
+        for (BenchmarkTarget target : mTargets) {
+            values.add(mMirror.mirror(TargetMirror.class, target).getValue());
+        }
+
+        return values;
+    }
+
+    @Benchmark
+    public List<Integer> batch() {
+        return mBatch.invoke(TargetMirror::getValue, mTargets);
+    }
+
+    @Benchmark
+    public List<Integer> cursor() {
+        List<Integer> values = new ArrayList<Integer>(mTargets.size());
+        for (BenchmarkTarget target : mTargets) {
+            values.add(mCursor.bind(target).getValue());
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,4 @@
+package com.mirror.benchmark;
+
+public class BenchmarkException extends Exception {
+}
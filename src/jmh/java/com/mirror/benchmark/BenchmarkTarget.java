@@ -0,0 +1,56 @@
+package com.mirror.benchmark;
+
+/**
+ * The class mirrored by the benchmarks. Members are package-private, so that benchmarks can also call them directly, as a
+ * baseline.
+ */
+public class BenchmarkTarget {
+
+    int mValue;
+    String mName;
+
+    BenchmarkTarget(int value, String name) {
+        mValue = value;
+        mName = name;
+    }
+
+    void noArgs() {
+    }
+
+    int oneArg(int a) {
+        return mValue + a;
+    }
+
+    int fiveArgs(int a, int b, int c, int d, int e) {
+        return mValue + a + b + c + d + e;
+    }
+
+    int primitiveReturn() {
+        return mValue;
+    }
+
+    String objectReturn() {
+        return mName;
+    }
+
+    boolean sameValue(BenchmarkTarget other) {
+        return mValue == other.mValue;
+    }
+
+    BenchmarkTarget self() {
+        return this;
+    }
+
+    BenchmarkTarget[] selfArray(int size) {
+        BenchmarkTarget[] array = new BenchmarkTarget[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = this;
+        }
+
+        return array;
+    }
+
+    void fail() throws BenchmarkException {
+        throw new BenchmarkException();
+    }
+}
@@ -0,0 +1,62 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrored constructor calls through a mirror creator, and mirror creation for existing instances, compared to direct
+ * construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreationBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    private Mirror mMirror;
+    private TargetMirrorCreator mCreator;
+    private BenchmarkTarget mTarget;
+    private int mValue;
+    private String mName;
+
+    @Setup
+    public void setUp() throws Exception {
+        mMirror = mConfiguration.createMirror();
+        mCreator = mMirror.createMirrorCreator(TargetMirrorCreator.class);
+        mTarget = new BenchmarkTarget(1, "target");
+        mValue = 7;
+        mName = "name";
+    }
+
+    @Benchmark
+    public BenchmarkTarget directConstructor() {
+        return new BenchmarkTarget(mValue, mName);
+    }
+
+    @Benchmark
+    public TargetMirror mirrorConstructor() {
+        return mCreator.create(mValue, mName);
+    }
+
+    @Benchmark
+    public TargetMirror mirrorExistingInstance() throws Exception {
+        return mMirror.mirror(TargetMirror.class, mTarget);
+    }
+}
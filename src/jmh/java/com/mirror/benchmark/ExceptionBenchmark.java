@@ -0,0 +1,63 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exceptions thrown from mirrored methods and translated to mirrored exception types, compared to catching the
+ * original exception directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    private BenchmarkTarget mTarget;
+    private TargetMirror mMirror;
+
+    @Setup
+    public void setUp() throws Exception {
+        Mirror mirror = mConfiguration.createMirror();
+
+        mTarget = new BenchmarkTarget(1, "target");
+        mMirror = mirror.mirror(TargetMirror.class, mTarget);
+    }
+
+    @Benchmark
+    public Throwable directException() {
+        try {
+            mTarget.fail();
+            return null;
+        } catch (BenchmarkException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Throwable mirrorTranslatedException() {
+        try {
+            mMirror.fail();
+            return null;
+        } catch (MirroredBenchmarkException e) {
+            return e;
+        }
+    }
+}
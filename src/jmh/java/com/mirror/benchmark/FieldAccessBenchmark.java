@@ -0,0 +1,86 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirror field getters and setters, compared to direct field access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    private BenchmarkTarget mTarget;
+    private TargetMirror mMirror;
+    private int mValue;
+    private String mName;
+
+    @Setup
+    public void setUp() throws Exception {
+        Mirror mirror = mConfiguration.createMirror();
+
+        mTarget = new BenchmarkTarget(1, "target");
+        mMirror = mirror.mirror(TargetMirror.class, mTarget);
+        mValue = 7;
+        mName = "name";
+    }
+
+    @Benchmark
+    public int directGetPrimitive() {
+        return mTarget.mValue;
+    }
+
+    @Benchmark
+    public int mirrorGetPrimitive() {
+        return mMirror.getValue();
+    }
+
+    @Benchmark
+    public void directSetPrimitive() {
+        mTarget.mValue = mValue;
+    }
+
+    @Benchmark
+    public void mirrorSetPrimitive() {
+        mMirror.setValue(mValue);
+    }
+
+    @Benchmark
+    public String directGetObject() {
+        return mTarget.mName;
+    }
+
+    @Benchmark
+    public String mirrorGetObject() {
+        return mMirror.getName();
+    }
+
+    @Benchmark
+    public void directSetObject() {
+        mTarget.mName = mName;
+    }
+
+    @Benchmark
+    public void mirrorSetObject() {
+        mMirror.setName(mName);
+    }
+}
@@ -0,0 +1,231 @@
+package com.mirror.benchmark;
+
+import com.mirror.GetField;
+import com.mirror.Mirror;
+import com.mirror.MirroredClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preparing mirrors of freshly loaded classes, as after a restart, with and without the index written by an earlier run.
+ * Members declared by the target class are found by a single lookup either way, while members it inherits are only
+ * found by searching its public members, which the index skips. Each <code>Mirror</code> is built, and reads the index,
+ * before the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+
+    @Param
+    public Members mMembers;
+
+    private Path mIndexFile;
+    private Class<?>[] mMirrorClasses;
+    private Mirror mMirror;
+    private Mirror mIndexedMirror;
+
+    @Setup(Level.Trial)
+    public void writeIndex() throws Exception {
+        mIndexFile = Files.createTempFile("mirror", ".index");
+        setUp();
+
+        mIndexedMirror.prepare(mMirrorClasses);
+        mIndexedMirror.writeIndex();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        ClassLoader classLoader = new IsolatingClassLoader();
+        Class.forName(mMembers.mTargetClassName, true, classLoader);
+
+        mMirrorClasses = new Class<?>[mMembers.mMirrorClassNames.length];
+        for (int i = 0; i < mMirrorClasses.length; i++) {
+            mMirrorClasses[i] = Class.forName(mMembers.mMirrorClassNames[i], true, classLoader);
+        }
+
+        mMirror = Mirror.builder(classLoader).build();
+        mIndexedMirror = Mirror.builder(classLoader).setIndexFile(mIndexFile).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteIndex() throws Exception {
+        Files.deleteIfExists(mIndexFile);
+    }
+
+    @Benchmark
+    public void prepareWithoutIndex() throws Exception {
+        mMirror.prepare(mMirrorClasses);
+    }
+
+    @Benchmark
+    public void prepareWithIndex() throws Exception {
+        mIndexedMirror.prepare(mMirrorClasses);
+    }
+
+    public enum Members {
+        DECLARED(BenchmarkTarget.class, TargetMirror.class, TargetMirrorCreator.class),
+        INHERITED(DerivedTarget.class, DerivedTargetMirror.class);
+
+        final String mTargetClassName;
+        final String[] mMirrorClassNames;
+
+        Members(Class<?> targetClass, Class<?>... mirrorClasses) {
+            mTargetClassName = targetClass.getName();
+            mMirrorClassNames = new String[mirrorClasses.length];
+            for (int i = 0; i < mirrorClasses.length; i++) {
+                mMirrorClassNames[i] = mirrorClasses[i].getName();
+            }
+        }
+    }
+
+    public static class BaseTarget {
+
+        public int mValue;
+        public String mName;
+        public boolean mEnabled;
+
+        public void noArgs() {
+        }
+
+        public int oneArg(int a) {
+            return mValue + a;
+        }
+
+        public int twoArgs(int a, int b) {
+            return mValue + a + b;
+        }
+
+        public int fiveArgs(int a, int b, int c, int d, int e) {
+            return mValue + a + b + c + d + e;
+        }
+
+        public int primitiveReturn() {
+            return mValue;
+        }
+
+        public String objectReturn() {
+            return mName;
+        }
+
+        public boolean isEnabled() {
+            return mEnabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            mEnabled = enabled;
+        }
+
+        public long longReturn() {
+            return mValue;
+        }
+
+        public String describe(String prefix) {
+            return prefix + mName;
+        }
+
+        public int[] values(int size) {
+            return new int[size];
+        }
+
+        public Object objectArg(Object value) {
+            return value;
+        }
+    }
+
+    public static class MiddleTarget extends BaseTarget {
+    }
+
+    public static class DerivedTarget extends MiddleTarget {
+    }
+
+    @MirroredClass("com.mirror.benchmark.IndexBenchmark$DerivedTarget")
+    public interface DerivedTargetMirror {
+
+        void noArgs();
+
+        int oneArg(int a);
+
+        int twoArgs(int a, int b);
+
+        int fiveArgs(int a, int b, int c, int d, int e);
+
+        int primitiveReturn();
+
+        String objectReturn();
+
+        boolean isEnabled();
+
+        void setEnabled(boolean enabled);
+
+        long longReturn();
+
+        String describe(String prefix);
+
+        int[] values(int size);
+
+        Object objectArg(Object value);
+
+        @GetField("mValue")
+        int getValue();
+
+        @GetField("mName")
+        String getName();
+
+        @GetField("mEnabled")
+        boolean getEnabled();
+    }
+
+    /**
+     * Loads the classes of the benchmarks itself, so that each instance starts with classes whose members were never
+     * looked up.
+     */
+    private static final class IsolatingClassLoader extends URLClassLoader {
+
+        private static final String PACKAGE_PREFIX = IndexBenchmark.class.getPackage().getName() + '.';
+
+        IsolatingClassLoader() {
+            super(new URL[] {IndexBenchmark.class.getProtectionDomain().getCodeSource().getLocation()},
+                    IndexBenchmark.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE_PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    type = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(type);
+                }
+
+                return type;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirror method calls with different arities and return types, compared to direct calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvocationBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    private BenchmarkTarget mTarget;
+    private TargetMirror mMirror;
+    private int mArgument;
+
+    @Setup
+    public void setUp() throws Exception {
+        Mirror mirror = mConfiguration.createMirror();
+
+        mTarget = new BenchmarkTarget(1, "target");
+        mMirror = mirror.mirror(TargetMirror.class, mTarget);
+        mArgument = 7;
+    }
+
+    @Benchmark
+    public void directNoArgs() {
+        mTarget.noArgs();
+    }
+
+    @Benchmark
+    public void mirrorNoArgs() {
+        mMirror.noArgs();
+    }
+
+    @Benchmark
+    public int directOneArg() {
+        return mTarget.oneArg(mArgument);
+    }
+
+    @Benchmark
+    public int mirrorOneArg() {
+        return mMirror.oneArg(mArgument);
+    }
+
+    @Benchmark
+    public int directFiveArgs() {
+        return mTarget.fiveArgs(mArgument, mArgument, mArgument, mArgument, mArgument);
+    }
+
+    @Benchmark
+    public int mirrorFiveArgs() {
+        return mMirror.fiveArgs(mArgument, mArgument, mArgument, mArgument, mArgument);
+    }
+
+    @Benchmark
+    public int directPrimitiveReturn() {
+        return mTarget.primitiveReturn();
+    }
+
+    @Benchmark
+    public int mirrorPrimitiveReturn() {
+        return mMirror.primitiveReturn();
+    }
+
+    @Benchmark
+    public String directObjectReturn() {
+        return mTarget.objectReturn();
+    }
+
+    @Benchmark
+    public String mirrorObjectReturn() {
+        return mMirror.objectReturn();
+    }
+}
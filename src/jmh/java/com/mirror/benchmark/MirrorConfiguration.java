@@ -0,0 +1,34 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import com.mirror.engine.MethodHandleInvocationEngine;
+
+/**
+ * The <code>Mirror</code> configurations compared by the benchmarks.
+ */
+public enum MirrorConfiguration {
+    REFLECTION {
+        @Override
+        Mirror.Builder configure(Mirror.Builder builder) {
+            return builder;
+        }
+    },
+    METHOD_HANDLE {
+        @Override
+        Mirror.Builder configure(Mirror.Builder builder) {
+            return builder.setInvocationEngine(new MethodHandleInvocationEngine());
+        }
+    },
+    GENERATED {
+        @Override
+        Mirror.Builder configure(Mirror.Builder builder) {
+            return builder.setGenerateImplementations(true);
+        }
+    };
+
+    abstract Mirror.Builder configure(Mirror.Builder builder);
+
+    public Mirror createMirror() {
+        return configure(Mirror.builder(BenchmarkTarget.class.getClassLoader())).build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.mirror.benchmark;
+
+import com.mirror.MirroredException;
+
+@MirroredException("com.mirror.benchmark.BenchmarkException")
+public class MirroredBenchmarkException extends Exception {
+
+    public MirroredBenchmarkException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mirror.benchmark;
+
+import com.mirror.GetField;
+import com.mirror.MirroredClass;
+import com.mirror.SetField;
+
+@MirroredClass("com.mirror.benchmark.BenchmarkTarget")
+public interface TargetMirror {
+
+    void noArgs();
+
+    int oneArg(int a);
+
+    int fiveArgs(int a, int b, int c, int d, int e);
+
+    int primitiveReturn();
+
+    String objectReturn();
+
+    boolean sameValue(TargetMirror other);
+
+    TargetMirror self();
+
+    TargetMirror[] selfArray(int size);
+
+    void fail() throws MirroredBenchmarkException;
+
+    @GetField("mValue")
+    int getValue();
+
+    @SetField("mValue")
+    void setValue(int value);
+
+    @GetField("mName")
+    String getName();
+
+    @SetField("mName")
+    void setName(String name);
+}
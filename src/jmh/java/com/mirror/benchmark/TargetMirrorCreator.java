@@ -0,0 +1,9 @@
+package com.mirror.benchmark;
+
+import com.mirror.MirrorCreator;
+
+public interface TargetMirrorCreator {
+
+    @MirrorCreator
+    TargetMirror create(int value, String name);
+}
@@ -0,0 +1,75 @@
+package com.mirror.benchmark;
+
+import com.mirror.Mirror;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirror methods which wrap returned values into mirrors, and unwrap mirror arguments, compared to direct calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WrappingBenchmark {
+
+    @Param
+    public MirrorConfiguration mConfiguration;
+
+    @Param({"1", "16", "256"})
+    public int mArraySize;
+
+    private BenchmarkTarget mTarget;
+    private TargetMirror mMirror;
+
+    @Setup
+    public void setUp() throws Exception {
+        Mirror mirror = mConfiguration.createMirror();
+
+        mTarget = new BenchmarkTarget(1, "target");
+        mMirror = mirror.mirror(TargetMirror.class, mTarget);
+    }
+
+    @Benchmark
+    public BenchmarkTarget directReturnTarget() {
+        return mTarget.self();
+    }
+
+    @Benchmark
+    public TargetMirror mirrorReturnMirror() {
+        return mMirror.self();
+    }
+
+    @Benchmark
+    public boolean directTargetArgument() {
+        return mTarget.sameValue(mTarget);
+    }
+
+    @Benchmark
+    public boolean mirrorMirrorArgument() {
+        return mMirror.sameValue(mMirror);
+    }
+
+    @Benchmark
+    public BenchmarkTarget[] directReturnTargetArray() {
+        return mTarget.selfArray(mArraySize);
+    }
+
+    @Benchmark
+    public TargetMirror[] mirrorReturnMirrorArray() {
+        return mMirror.selfArray(mArraySize);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mirror;
+
+/**
+ * <p>
+ *     Memory ordering used when accessing a mirrored field with {@link GetField} or {@link SetField}.
+ *     The modes match those of <code>java.lang.invoke.VarHandle</code>.
+ * </p>
+ *
+ * Modes other than {@link #DEFAULT} are implemented with <code>VarHandle</code>s, which require Java 9 or later. On older
+ * runtimes, they are only supported for fields whose declared semantics are at least as strong as the mode: any mode on a
+ * <code>volatile</code> field, and {@link #PLAIN} on any field.
+ */
+public enum FieldAccessMode {
+    /**
+     * Access according to the field declaration, like <code>Field.get</code> and <code>Field.set</code>.
+     */
+    DEFAULT,
+    /**
+     * Plain access, ignoring <code>volatile</code> declarations.
+     */
+    PLAIN,
+    /**
+     * Opaque access: coherent and not eliminated, but with no ordering guarantees against other variables.
+     */
+    OPAQUE,
+    /**
+     * Acquire reads and release writes.
+     */
+    ACQUIRE_RELEASE,
+    /**
+     * Volatile access, regardless of the field declaration.
+     */
+    VOLATILE
+}
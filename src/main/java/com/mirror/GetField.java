@@ -9,4 +9,6 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GetField {
     String value();
+
+    FieldAccessMode mode() default FieldAccessMode.DEFAULT;
 }
@@ -1,18 +1,48 @@
 package com.mirror;
 
+import com.mirror.engine.InvocationEngine;
+import com.mirror.engine.ReflectionInvocationEngine;
+import com.mirror.generation.CompiledMirrors;
+import com.mirror.generation.MirrorClassGenerationException;
+import com.mirror.generation.MirrorClassGenerator;
+import com.mirror.generation.MirrorHandleFactory;
+import com.mirror.generation.MirrorImplementation;
+import com.mirror.helper.ClassLoaders;
 import com.mirror.helper.ReflectionHelper;
 import com.mirror.helper.MirrorHelper;
+import com.mirror.index.MirrorIndex;
+import com.mirror.invocation.InvocationPlanCache;
 import com.mirror.invocation.MirrorCreatorInvocationHandler;
+import com.mirror.invocation.MirrorDescriptor;
+import com.mirror.invocation.MirrorFieldAccessException;
+import com.mirror.invocation.MirrorInvocationException;
 import com.mirror.invocation.MirrorInvocationHandler;
+import com.mirror.invocation.MirrorProxies;
+import com.mirror.metrics.InvocationMetrics;
+import com.mirror.metrics.MirrorMetrics;
 import com.mirror.validation.ClassNotMirrorCreatorException;
 import com.mirror.validation.ClassNotMirrorException;
 import com.mirror.validation.MirrorValidationException;
 import com.mirror.validation.MirrorValidator;
 import com.mirror.wrapping.ThrowableWrapper;
 import com.mirror.wrapping.Unwrapper;
+import com.mirror.wrapping.WrappedMirrorCache;
 import com.mirror.wrapping.Wrapper;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -128,13 +158,23 @@ import java.lang.reflect.Proxy;
  *       MirroredSomeClass callMe()
  * </pre>
  */
-public class Mirror {
+public class Mirror implements AutoCloseable {
 
     private final ClassLoader mClassLoader;
     private final MirrorHelper mMirrorHelper;
     private final ReflectionHelper mReflectionHelper;
     private final ThrowableWrapper mThrowableWrapper;
     private final MirrorValidator mMirrorValidator;
+    private final Map<Class<?>, InvocationPlanCache> mInvocationPlanCaches;
+    private final Map<Class<?>, MirrorDescriptor> mMirrorDescriptors;
+    private final MirrorHandleFactory mMirrorHandleFactory;
+    private final MirrorClassGenerator mMirrorClassGenerator;
+    private final boolean mUseCompiledImplementations;
+    private final Map<Class<?>, Optional<MirrorImplementation>> mMirrorImplementations;
+    private final MirrorMetrics mMirrorMetrics;
+    private final Executor mAsyncExecutor;
+    private final MirrorIndex mMirrorIndex;
+    private final WrappedMirrorCache mWrappedMirrorCache;
 
     Mirror(ClassLoader classLoader, MirrorHelper mirrorHelper, ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, MirrorValidator mirrorValidator) {
         mClassLoader = classLoader;
@@ -142,17 +182,44 @@ public class Mirror {
         mReflectionHelper = reflectionHelper;
         mThrowableWrapper = throwableWrapper;
         mMirrorValidator = mirrorValidator;
+        mInvocationPlanCaches = new ConcurrentHashMap<Class<?>, InvocationPlanCache>();
+        mMirrorDescriptors = new ConcurrentHashMap<Class<?>, MirrorDescriptor>();
+        mMirrorHandleFactory = null;
+        mMirrorClassGenerator = null;
+        mUseCompiledImplementations = false;
+        mMirrorImplementations = new ConcurrentHashMap<Class<?>, Optional<MirrorImplementation>>();
+        mMirrorMetrics = null;
+        mAsyncExecutor = null;
+        mMirrorIndex = null;
+        mWrappedMirrorCache = null;
     }
 
-    private Mirror(ClassLoader classLoader) {
-        mClassLoader = classLoader;
-        mMirrorHelper = new MirrorHelper();
-        mReflectionHelper = new ReflectionHelper(new Wrapper(mMirrorHelper, this), new Unwrapper(mMirrorHelper, mClassLoader));
-        mThrowableWrapper = new ThrowableWrapper();
+    private Mirror(Builder builder) {
+        mClassLoader = builder.mClassLoader;
+        mMirrorHelper = new MirrorHelper(!builder.mLazyTargetInitialization);
+        mMirrorMetrics = builder.mMirrorMetrics;
+        mAsyncExecutor = builder.mAsyncExecutor;
+        mMirrorIndex = builder.mIndexFile != null ? new MirrorIndex(builder.mIndexFile, mMirrorHelper) : null;
+        if (mMirrorIndex != null) {
+            mMirrorIndex.read();
+        }
+        mWrappedMirrorCache = builder.mWrappedMirrorCacheSize > 0 ? new WrappedMirrorCache(builder.mWrappedMirrorCacheSize) : null;
+        Wrapper wrapper = new Wrapper(mMirrorHelper, this, mWrappedMirrorCache, mMirrorMetrics);
+        Unwrapper unwrapper = new Unwrapper(mMirrorHelper, mClassLoader);
+        mReflectionHelper = new ReflectionHelper(wrapper, unwrapper, builder.mInvocationEngine, mMirrorIndex);
+        mThrowableWrapper = new ThrowableWrapper(builder.mWritableStackTraces, mMirrorMetrics);
         mMirrorValidator = new MirrorValidator(mMirrorHelper);
+        mInvocationPlanCaches = new ConcurrentHashMap<Class<?>, InvocationPlanCache>();
+        mMirrorDescriptors = new ConcurrentHashMap<Class<?>, MirrorDescriptor>();
+        mMirrorHandleFactory = new MirrorHandleFactory(mReflectionHelper, wrapper, unwrapper, mThrowableWrapper, mClassLoader, mAsyncExecutor, mMirrorMetrics);
+        mMirrorClassGenerator = builder.mGenerateImplementations ? new MirrorClassGenerator(mMirrorHandleFactory) : null;
+        mUseCompiledImplementations = builder.mUseCompiledImplementations;
+        mMirrorImplementations = new ConcurrentHashMap<Class<?>, Optional<MirrorImplementation>>();
     }
 
     public <T> T mirror(Class<T> mirrorClass, Object instance) throws MirrorCreationException {
+        Object started = mMirrorMetrics != null ? mMirrorMetrics.onMirrorCreationStarted(mirrorClass) : null;
+        long start = mMirrorMetrics != null ? System.nanoTime() : 0;
         try {
             mMirrorValidator.validateMirrorClass(mirrorClass);
             Class<?> targetClass = mMirrorHelper.getMirrorTargetType(mirrorClass, mClassLoader);
@@ -161,36 +228,502 @@ public class Mirror {
                 throw new IllegalArgumentException("instance is not of targetClass type: " + targetClass.getName());
             }
 
-            return createMirrorProxy(mirrorClass, targetClass, instance);
+            T mirror = createMirrorProxy(mirrorClass, targetClass, instance);
+            if (mMirrorMetrics != null) {
+                mMirrorMetrics.onMirrorCreated(mirrorClass, targetClass, System.nanoTime() - start, started);
+            }
+
+            return mirror;
+        } catch (ClassNotFoundException | ClassNotMirrorException | MirrorValidationException e) {
+            throw new MirrorCreationException(e);
+        }
+    }
+
+    /**
+     * Creates a batch, which calls methods of the given mirror type on many target instances, without creating a
+     * mirror for each of them.
+     *
+     * @see MirrorBatch
+     */
+    public <T> MirrorBatch<T> batch(Class<T> mirrorClass) throws MirrorCreationException {
+        try {
+            mMirrorValidator.validateMirrorClass(mirrorClass);
+            Class<?> targetClass = mMirrorHelper.getMirrorTargetType(mirrorClass, mClassLoader);
+
+            return new MirrorBatch<T>(mirrorClass, targetClass, getMirrorDescriptor(mirrorClass, targetClass));
+        } catch (ClassNotFoundException | ClassNotMirrorException | MirrorValidationException e) {
+            throw new MirrorCreationException(e);
+        }
+    }
+
+    /**
+     * Creates a cursor, whose single mirror of the given type can be rebound to many target instances.
+     *
+     * @see MirrorCursor
+     */
+    public <T> MirrorCursor<T> cursor(Class<T> mirrorClass) throws MirrorCreationException {
+        try {
+            mMirrorValidator.validateMirrorClass(mirrorClass);
+            Class<?> targetClass = mMirrorHelper.getMirrorTargetType(mirrorClass, mClassLoader);
+
+            return new MirrorCursor<T>(mirrorClass, targetClass, getMirrorDescriptor(mirrorClass, targetClass));
         } catch (ClassNotFoundException | ClassNotMirrorException | MirrorValidationException e) {
             throw new MirrorCreationException(e);
         }
     }
 
     public <T> T createMirrorCreator(Class<T> mirrorCreatorClass) throws MirrorCreatorCreationException {
+        Object started = mMirrorMetrics != null ? mMirrorMetrics.onMirrorCreationStarted(mirrorCreatorClass) : null;
+        long start = mMirrorMetrics != null ? System.nanoTime() : 0;
         try {
             mMirrorValidator.validateMirrorCreatorClass(mirrorCreatorClass);
-            return createMirrorCreatorProxy(mirrorCreatorClass);
+            T mirrorCreator = createMirrorCreatorProxy(mirrorCreatorClass);
+            if (mMirrorMetrics != null) {
+                mMirrorMetrics.onMirrorCreated(mirrorCreatorClass, null, System.nanoTime() - start, started);
+            }
+
+            return mirrorCreator;
         } catch (MirrorValidationException | ClassNotMirrorCreatorException e) {
             throw new MirrorCreatorCreationException(e);
         }
     }
 
+    /**
+     * <p>
+     *     Resolves, up front, every member accessed by the given mirror and mirror creator interfaces: mirrored methods,
+     *     fields and constructors, as well as the exceptions mirrored by {@link MirroredException} types in their
+     *     signatures. Resolved members are kept, so mirrors and mirror creators created later for these interfaces do
+     *     not perform any further lookups.
+     * </p>
+     *
+     * Interfaces annotated with {@link MirroredClass} are prepared as mirrors, others as mirror creators.
+     *
+     * @param interfaces mirror and mirror creator interfaces to prepare.
+     * @throws MirrorPreparationException if any member could not be resolved. All failures are reported at once.
+     */
+    public void prepare(Class<?>... interfaces) throws MirrorPreparationException {
+        List<Throwable> failures = new ArrayList<Throwable>();
+
+        for (Class<?> type : interfaces) {
+            if (mMirrorHelper.isMirror(type)) {
+                prepareMirror(type, failures);
+            } else {
+                prepareMirrorCreator(type, failures);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new MirrorPreparationException(failures);
+        }
+    }
+
+    /**
+     * Writes the members resolved so far to the index file configured with {@link Builder#setIndexFile(Path)}, so that
+     * mirrors created after a restart resolve them directly. Call this once mirrors are prepared, or after they were used.
+     *
+     * @throws IllegalStateException if no index file is configured.
+     */
+    public void writeIndex() throws IOException {
+        if (mMirrorIndex == null) {
+            throw new IllegalStateException("no index file configured");
+        }
+
+        mMirrorIndex.write();
+    }
+
+    /**
+     * <p>
+     *     Drops the members resolved for mirror and mirror creator interfaces defined by the given class loader, or by
+     *     its descendants, along with the implementations generated for them and the wrapped mirrors cached for them.
+     *     If this mirror resolves target classes from the given class loader or its descendants, everything is dropped.
+     * </p>
+     *
+     * Call this when a class loader is discarded, so that this mirror does not keep it from being unloaded. Mirrors
+     * still in use resolve their members again on their next calls.
+     */
+    public void invalidate(ClassLoader classLoader) {
+        if (ClassLoaders.isSelfOrAncestor(classLoader, mClassLoader)) {
+            close();
+            return;
+        }
+
+        for (Map.Entry<Class<?>, InvocationPlanCache> entry : mInvocationPlanCaches.entrySet()) {
+            if (ClassLoaders.isSelfOrAncestor(classLoader, entry.getKey().getClassLoader())) {
+                entry.getValue().clear();
+                mInvocationPlanCaches.remove(entry.getKey());
+                mMirrorDescriptors.remove(entry.getKey());
+            }
+        }
+
+        mMirrorImplementations.keySet().removeIf(mirrorClass -> ClassLoaders.isSelfOrAncestor(classLoader, mirrorClass.getClassLoader()));
+        if (mWrappedMirrorCache != null) {
+            mWrappedMirrorCache.invalidate(classLoader);
+        }
+        if (mMirrorHandleFactory != null) {
+            mMirrorHandleFactory.invalidate(classLoader);
+        }
+    }
+
+    /**
+     * Drops all members resolved by this mirror, all implementations generated for its mirror interfaces, and all cached
+     * wrapped mirrors, so that this mirror no longer references any of the classes it was used with. Mirrors still in use, and mirrors created
+     * afterwards, resolve their members again.
+     */
+    @Override
+    public void close() {
+        for (InvocationPlanCache invocationPlanCache : mInvocationPlanCaches.values()) {
+            invocationPlanCache.clear();
+        }
+
+        mInvocationPlanCaches.clear();
+        mMirrorDescriptors.clear();
+        mMirrorImplementations.clear();
+        if (mWrappedMirrorCache != null) {
+            mWrappedMirrorCache.clear();
+        }
+        if (mMirrorHandleFactory != null) {
+            mMirrorHandleFactory.clear();
+        }
+    }
+
+    private void prepareMirror(Class<?> mirrorClass, List<Throwable> failures) {
+        Class<?> targetClass;
+        try {
+            mMirrorValidator.validateMirrorClass(mirrorClass);
+            targetClass = mMirrorHelper.getMirrorTargetType(mirrorClass, mClassLoader);
+        } catch (ClassNotFoundException | ClassNotMirrorException | MirrorValidationException e) {
+            failures.add(createPreparationFailure(mirrorClass.getName(), e));
+            return;
+        }
+
+        MirrorDescriptor descriptor = getMirrorDescriptor(mirrorClass, targetClass);
+        Set<Method> failedMethods = new HashSet<Method>();
+        for (Method method : mirrorClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            try {
+                descriptor.getInvocationPlan(method);
+            } catch (RuntimeException e) {
+                failures.add(createPreparationFailure(describeMethod(method), e));
+                failedMethods.add(method);
+            }
+
+            prepareMirroredExceptions(method, failures);
+        }
+
+        if (usesImplementations()) {
+            Optional<MirrorImplementation> optionalImplementation = getMirrorImplementation(mirrorClass, targetClass);
+            if (optionalImplementation.isPresent()) {
+                for (Map.Entry<Method, Exception> entry : optionalImplementation.get().getUnresolvedMethods().entrySet()) {
+                    if (!failedMethods.contains(entry.getKey())) {
+                        failures.add(createPreparationFailure(describeMethod(entry.getKey()), entry.getValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    private void prepareMirrorCreator(Class<?> mirrorCreatorClass, List<Throwable> failures) {
+        try {
+            mMirrorValidator.validateMirrorCreatorClass(mirrorCreatorClass);
+        } catch (MirrorValidationException e) {
+            failures.add(createPreparationFailure(mirrorCreatorClass.getName(), e));
+            return;
+        }
+
+        MirrorCreatorInvocationHandler invocationHandler = new MirrorCreatorInvocationHandler(mReflectionHelper, mThrowableWrapper, mMirrorHelper, mMirrorValidator, mClassLoader, getInvocationPlanCache(mirrorCreatorClass), mMirrorMetrics);
+        for (Method method : mirrorCreatorClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            try {
+                invocationHandler.getInvocationPlan(method);
+            } catch (RuntimeException e) {
+                failures.add(createPreparationFailure(describeMethod(method), e));
+            }
+
+            prepareMirroredExceptions(method, failures);
+        }
+    }
+
+    private void prepareMirroredExceptions(Method method, List<Throwable> failures) {
+        for (Class<?> exceptionType : method.getExceptionTypes()) {
+            if (!exceptionType.isAnnotationPresent(MirroredException.class)) {
+                continue;
+            }
+
+            try {
+                mThrowableWrapper.getMirroredThrowableType(exceptionType, mClassLoader);
+            } catch (ClassNotFoundException e) {
+                failures.add(createPreparationFailure(describeMethod(method) + " throws " + exceptionType.getName(), e));
+            }
+        }
+    }
+
+    private static Throwable createPreparationFailure(String member, Throwable cause) {
+        Throwable failure = new MirrorValidationException(member + ": " + cause.getMessage());
+        failure.initCause(cause);
+        return failure;
+    }
+
+    private static String describeMethod(Method method) {
+        return method.getDeclaringClass().getName() + "." + method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
     private <T> T createMirrorProxy(Class<T> mirrorClass, Class<?> targetClass, Object instance) {
-        return mirrorClass.cast(Proxy.newProxyInstance(
-                mirrorClass.getClassLoader(),
-                new Class[] {mirrorClass},
-                new MirrorInvocationHandler(mReflectionHelper, mThrowableWrapper, targetClass, instance, mClassLoader)));
+        if (usesImplementations()) {
+            Optional<MirrorImplementation> optionalImplementation = getMirrorImplementation(mirrorClass, targetClass);
+            if (optionalImplementation.isPresent()) {
+                return mirrorClass.cast(optionalImplementation.get().newInstance(instance));
+            }
+        }
+
+        return MirrorProxies.newProxy(mirrorClass, new MirrorInvocationHandler(getMirrorDescriptor(mirrorClass, targetClass), instance));
+    }
+
+    private MirrorDescriptor getMirrorDescriptor(Class<?> mirrorClass, Class<?> targetClass) {
+        MirrorDescriptor descriptor = mMirrorDescriptors.get(mirrorClass);
+        if (descriptor == null) {
+            descriptor = new MirrorDescriptor(mReflectionHelper, mThrowableWrapper, targetClass, mClassLoader, getInvocationPlanCache(mirrorClass), mMirrorMetrics, mAsyncExecutor);
+
+            MirrorDescriptor existing = mMirrorDescriptors.putIfAbsent(mirrorClass, descriptor);
+            if (existing != null) {
+                descriptor = existing;
+            }
+        }
+
+        return descriptor;
+    }
+
+    private InvocationPlanCache getInvocationPlanCache(Class<?> mirrorClass) {
+        InvocationPlanCache invocationPlanCache = mInvocationPlanCaches.get(mirrorClass);
+        if (invocationPlanCache == null) {
+            invocationPlanCache = new InvocationPlanCache();
+
+            InvocationPlanCache existing = mInvocationPlanCaches.putIfAbsent(mirrorClass, invocationPlanCache);
+            if (existing != null) {
+                invocationPlanCache = existing;
+            }
+        }
+
+        return invocationPlanCache;
+    }
+
+    private boolean usesImplementations() {
+        return mUseCompiledImplementations || mMirrorClassGenerator != null;
+    }
+
+    private Optional<MirrorImplementation> getMirrorImplementation(Class<?> mirrorClass, Class<?> targetClass) {
+        Optional<MirrorImplementation> optionalImplementation = mMirrorImplementations.get(mirrorClass);
+        if (optionalImplementation == null) {
+            optionalImplementation = generateMirrorImplementation(mirrorClass, targetClass);
+
+            Optional<MirrorImplementation> existing = mMirrorImplementations.putIfAbsent(mirrorClass, optionalImplementation);
+            if (existing != null) {
+                optionalImplementation = existing;
+            }
+        }
+
+        return optionalImplementation;
+    }
+
+    private Optional<MirrorImplementation> generateMirrorImplementation(Class<?> mirrorClass, Class<?> targetClass) {
+        if (mUseCompiledImplementations) {
+            Optional<MirrorImplementation> compiledImplementation = CompiledMirrors.find(mirrorClass, targetClass, mMirrorHandleFactory);
+            if (compiledImplementation.isPresent() || mMirrorClassGenerator == null) {
+                return compiledImplementation;
+            }
+        }
+
+        try {
+            return Optional.of(mMirrorClassGenerator.generate(mirrorClass, targetClass));
+        } catch (MirrorClassGenerationException e) {
+            return Optional.empty();
+        }
     }
 
     private <T> T createMirrorCreatorProxy(Class<T> mirrorCreatorClass) {
-        return mirrorCreatorClass.cast(Proxy.newProxyInstance(
-                mirrorCreatorClass.getClassLoader(),
-                new Class[] {mirrorCreatorClass},
-                new MirrorCreatorInvocationHandler(mReflectionHelper, mThrowableWrapper, mMirrorHelper, mMirrorValidator, mClassLoader)));
+        return MirrorProxies.newProxy(mirrorCreatorClass,
+                new MirrorCreatorInvocationHandler(mReflectionHelper, mThrowableWrapper, mMirrorHelper, mMirrorValidator, mClassLoader, getInvocationPlanCache(mirrorCreatorClass), mMirrorMetrics));
     }
 
     public static Mirror createForClassLoader(ClassLoader classLoader) {
-        return new Mirror(classLoader);
+        return builder(classLoader).build();
+    }
+
+    /**
+     * Creates a <code>Mirror</code> which accesses mirrored members using the given engine.
+     *
+     * @param classLoader class loader of the mirrored classes.
+     * @param invocationEngine engine used to access mirrored members, for example {@link com.mirror.engine.MethodHandleInvocationEngine}.
+     * @return a new <code>Mirror</code>.
+     */
+    public static Mirror createForClassLoader(ClassLoader classLoader, InvocationEngine invocationEngine) {
+        return builder(classLoader)
+                .setInvocationEngine(invocationEngine)
+                .build();
+    }
+
+    public static Builder builder(ClassLoader classLoader) {
+        return new Builder(classLoader);
+    }
+
+    /**
+     * Configures and creates a {@link Mirror}.
+     */
+    public static class Builder {
+
+        private final ClassLoader mClassLoader;
+        private InvocationEngine mInvocationEngine;
+        private boolean mGenerateImplementations;
+        private boolean mUseCompiledImplementations;
+        private int mWrappedMirrorCacheSize;
+        private boolean mWritableStackTraces;
+        private MirrorMetrics mMirrorMetrics;
+        private Executor mAsyncExecutor;
+        private Path mIndexFile;
+        private boolean mLazyTargetInitialization;
+
+        private Builder(ClassLoader classLoader) {
+            mClassLoader = classLoader;
+            mInvocationEngine = new ReflectionInvocationEngine();
+            mGenerateImplementations = false;
+            mUseCompiledImplementations = false;
+            mWrappedMirrorCacheSize = 0;
+            mWritableStackTraces = true;
+            mMirrorMetrics = null;
+            mAsyncExecutor = null;
+            mIndexFile = null;
+            mLazyTargetInitialization = false;
+        }
+
+        /**
+         * Sets the engine used to access mirrored members by proxy based mirrors. Defaults to {@link ReflectionInvocationEngine}.
+         */
+        public Builder setInvocationEngine(InvocationEngine invocationEngine) {
+            mInvocationEngine = invocationEngine;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets whether instance mirrors are implemented by classes generated at runtime, instead of {@link Proxy}.
+         *     Generated classes call mirrored members through constant method handles, which allows the JIT to inline
+         *     mirrored calls. Disabled by default.
+         * </p>
+         *
+         * Mirrors which cannot be generated, for example non-public interfaces, or when defining classes is not allowed,
+         * fall back to <code>Proxy</code>. Generated classes access mirrored members through method handles, regardless
+         * of the {@link #setInvocationEngine(InvocationEngine) invocation engine}.
+         */
+        public Builder setGenerateImplementations(boolean generateImplementations) {
+            mGenerateImplementations = generateImplementations;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets whether instance mirrors are implemented by the classes generated at compile time by the
+         *     <code>mirror-processor</code> annotation processor, when present, instead of {@link Proxy}. Disabled by
+         *     default.
+         * </p>
+         *
+         * Compiled implementations take precedence over {@link #setGenerateImplementations(boolean) runtime generated}
+         * ones. They access mirrored members through method handles, regardless of the
+         * {@link #setInvocationEngine(InvocationEngine) invocation engine}.
+         */
+        public Builder setUseCompiledImplementations(boolean useCompiledImplementations) {
+            mUseCompiledImplementations = useCompiledImplementations;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets the maximum number of mirrors cached when wrapping values returned from mirrored members. With the
+         *     cache, wrapping the same target instance into the same mirror type returns the same mirror, instead of
+         *     creating a new one each time.
+         * </p>
+         *
+         * Cached target instances and mirrors are only weakly referenced. Disabled by default, or when set to 0.
+         */
+        public Builder setWrappedMirrorCacheSize(int wrappedMirrorCacheSize) {
+            mWrappedMirrorCacheSize = wrappedMirrorCacheSize;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets whether exceptions which wrap a cause capture their own stack trace: exceptions annotated with
+         *     {@link MirroredException}, and the {@link MirrorInvocationException} and
+         *     {@link MirrorFieldAccessException} thrown when calling a mirror method fails. Enabled by default.
+         * </p>
+         *
+         * Disabling this avoids filling in stack traces on failing mirrored calls. The stack trace of the cause is kept.
+         * See {@link MirroredException#writableStackTrace()} for the requirements on mirrored exception types.
+         */
+        public Builder setWritableStackTraces(boolean writableStackTraces) {
+            mWritableStackTraces = writableStackTraces;
+            return this;
+        }
+
+        /**
+         * Sets a listener notified of mirror creation and invocations, for example {@link InvocationMetrics}. Nothing is
+         * measured without a listener, which is the default.
+         */
+        public Builder setMetrics(MirrorMetrics mirrorMetrics) {
+            mMirrorMetrics = mirrorMetrics;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets the executor which runs mirror methods declared to return <code>CompletableFuture&lt;T&gt;</code>,
+         *     when the mirrored method returns <code>T</code>. The returned future completes with the wrapped result,
+         *     or exceptionally with the translated exception.
+         * </p>
+         *
+         * Defaults to a virtual thread per call on JDKs which support virtual threads, and otherwise to a cached pool of
+         * daemon threads.
+         */
+        public Builder setAsyncExecutor(Executor asyncExecutor) {
+            mAsyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets the file of the index of resolved members. Members listed in the index are resolved directly from
+         *     their declaring class, instead of being searched for. The index is read when the mirror is built, and
+         *     written by {@link Mirror#writeIndex()}. No index is used by default.
+         * </p>
+         *
+         * Entries are validated against the class files of the target classes, and ignored if the classes changed. A
+         * missing or unreadable index file is ignored.
+         */
+        public Builder setIndexFile(Path indexFile) {
+            mIndexFile = indexFile;
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Sets whether mirrored classes are only loaded, without being initialized, when mirrors and mirror creators
+         *     resolve them. Their static initializers then run on the first call to a static member or constructor, or
+         *     when created by other code, instead of when they are first resolved. Disabled by default.
+         * </p>
+         *
+         * This avoids running expensive static initializers of classes which are mirrored, but rarely used.
+         */
+        public Builder setLazyTargetInitialization(boolean lazyTargetInitialization) {
+            mLazyTargetInitialization = lazyTargetInitialization;
+            return this;
+        }
+
+        public Mirror build() {
+            return new Mirror(this);
+        }
     }
 }
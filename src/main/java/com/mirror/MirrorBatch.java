@@ -0,0 +1,179 @@
+package com.mirror;
+
+import com.mirror.generation.CompiledMirrors;
+import com.mirror.invocation.InvocationPlan;
+import com.mirror.invocation.MirrorDescriptor;
+import com.mirror.invocation.MirrorProxies;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     Calls a single mirror method on many target instances, without creating a mirror for each of them.
+ * </p>
+ *
+ * The call is given as a function of the mirror, such as <code>SomeMirror::getName</code> or
+ * <code>mirror -&gt; mirror.getChild(2)</code>. It is applied once to a recording mirror, to find the mirror method
+ * and its arguments, which are then invoked on each target through the resolved invocation plan. Therefore, the call
+ * must invoke exactly one mirror method, and its arguments are evaluated only once.
+ * <p>
+ *     Exceptions thrown by the mirrored method stop the batch, and are thrown by the batch methods as is, including
+ *     checked exceptions declared by the mirror method. The call on each target is reported to the metrics listener
+ *     of the mirror, like any mirror invocation.
+ * </p>
+ * <pre>
+ *     MirrorBatch&lt;SomeMirror&gt; batch = mirror.batch(SomeMirror.class);
+ *     List&lt;String&gt; names = batch.invoke(SomeMirror::getName, hiddenObjects);
+ * </pre>
+ *
+ * @param <T> the mirror type.
+ */
+public class MirrorBatch<T> {
+
+    private final Class<T> mMirrorClass;
+    private final Class<?> mTargetClass;
+    private final MirrorDescriptor mDescriptor;
+
+    MirrorBatch(Class<T> mirrorClass, Class<?> targetClass, MirrorDescriptor descriptor) {
+        mMirrorClass = mirrorClass;
+        mTargetClass = targetClass;
+        mDescriptor = descriptor;
+    }
+
+    /**
+     * @return the results of the call on each target, in iteration order.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> List<R> invoke(Function<? super T, R> call, Iterable<?> targets) {
+        RecordedCall recordedCall = record(call::apply);
+
+        List<R> results = targets instanceof Collection ? new ArrayList<R>(((Collection<?>) targets).size()) : new ArrayList<R>();
+        for (Object target : targets) {
+            results.add((R) recordedCall.invoke(target));
+        }
+
+        return results;
+    }
+
+    /**
+     * Stores the result of the call on <code>targets[i]</code> into <code>results[i]</code>.
+     *
+     * @return the given results array.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R[] invoke(Function<? super T, R> call, Object[] targets, R[] results) {
+        if (results.length < targets.length) {
+            throw new IllegalArgumentException("results array is shorter than targets: " + results.length + " < " + targets.length);
+        }
+
+        RecordedCall recordedCall = record(call::apply);
+        for (int i = 0; i < targets.length; i++) {
+            results[i] = (R) recordedCall.invoke(targets[i]);
+        }
+
+        return results;
+    }
+
+    /**
+     * Calls a mirror method on each target, ignoring results. Meant for methods returning <code>void</code>, and for
+     * field setters.
+     */
+    public void invokeEach(Consumer<? super T> call, Iterable<?> targets) {
+        RecordedCall recordedCall = record(call);
+        for (Object target : targets) {
+            recordedCall.invoke(target);
+        }
+    }
+
+    private RecordedCall record(Consumer<? super T> call) {
+        CallRecorder recorder = new CallRecorder();
+        call.accept(MirrorProxies.newProxy(mMirrorClass, recorder));
+
+        if (recorder.mMethod == null) {
+            throw new IllegalArgumentException("call does not invoke a mirror method");
+        }
+
+        return new RecordedCall(recorder.mMethod, mDescriptor.getInvocationPlan(recorder.mMethod), recorder.mArgs);
+    }
+
+    private class RecordedCall {
+
+        private final Method mMethod;
+        private final InvocationPlan mPlan;
+        private final Object[] mArgs;
+
+        RecordedCall(Method method, InvocationPlan plan, Object[] args) {
+            mMethod = method;
+            mPlan = plan;
+            mArgs = args;
+        }
+
+        Object invoke(Object target) {
+            if (!mTargetClass.isInstance(target)) {
+                throw new IllegalArgumentException("target is not of targetClass type: " + mTargetClass.getName());
+            }
+
+            try {
+                return mDescriptor.invoke(mPlan, mMethod, target, mArgs);
+            } catch (Throwable throwable) {
+                throw CompiledMirrors.rethrow(throwable);
+            }
+        }
+    }
+
+    private static class CallRecorder implements InvocationHandler {
+
+        private Method mMethod;
+        private Object[] mArgs;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                throw new IllegalArgumentException("call must invoke a mirror method, not " + method.getName());
+            }
+            if (mMethod != null) {
+                throw new IllegalArgumentException("call must invoke a single mirror method");
+            }
+
+            mMethod = method;
+            mArgs = args != null ? args : InvocationPlan.NO_ARGUMENTS;
+
+            return defaultValue(method.getReturnType());
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (!type.isPrimitive() || type == void.class) {
+                return null;
+            }
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == char.class) {
+                return '\0';
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            if (type == float.class) {
+                return 0f;
+            }
+            if (type == double.class) {
+                return 0d;
+            }
+            if (type == byte.class) {
+                return (byte) 0;
+            }
+            if (type == short.class) {
+                return (short) 0;
+            }
+
+            return 0;
+        }
+    }
+}
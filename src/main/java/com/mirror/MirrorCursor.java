@@ -0,0 +1,93 @@
+package com.mirror;
+
+import com.mirror.invocation.MirrorDescriptor;
+import com.mirror.invocation.MirrorInvocationHandler;
+import com.mirror.invocation.MirrorProxies;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ *     A single mirror which can be rebound to other target instances, for iterating many targets without creating a
+ *     mirror for each of them.
+ * </p>
+ *
+ * The mirror type is validated, and its target class resolved, once when the cursor is created. Binding a target only
+ * checks that it is an instance of the target class, and replaces the target of the mirror, without allocating.
+ * <p>
+ *     A cursor is not thread safe, and is meant to be used by a single loop. Since the mirror is rebound, it must not be
+ *     kept past the iteration of its target, nor passed to code which could keep it. Cursor mirrors are always proxies,
+ *     even when a generated implementation of the mirror type exists.
+ * </p>
+ * <pre>
+ *     MirrorCursor&lt;SomeMirror&gt; cursor = mirror.cursor(SomeMirror.class);
+ *     for (Object hiddenObject : hiddenObjects) {
+ *         total += cursor.bind(hiddenObject).getCount();
+ *     }
+ * </pre>
+ *
+ * @param <T> the mirror type.
+ */
+public class MirrorCursor<T> {
+
+    private final Class<?> mTargetClass;
+    private final CursorInvocationHandler mInvocationHandler;
+    private final T mMirror;
+
+    MirrorCursor(Class<T> mirrorClass, Class<?> targetClass, MirrorDescriptor descriptor) {
+        mTargetClass = targetClass;
+        mInvocationHandler = new CursorInvocationHandler(descriptor);
+        mMirror = MirrorProxies.newProxy(mirrorClass, mInvocationHandler);
+    }
+
+    /**
+     * Binds the mirror to the given target.
+     *
+     * @return the mirror of this cursor, now mirroring the given target.
+     */
+    public T bind(Object target) {
+        if (!mTargetClass.isInstance(target)) {
+            throw new IllegalArgumentException("target is not of targetClass type: " + mTargetClass.getName());
+        }
+
+        mInvocationHandler.mTarget = target;
+        return mMirror;
+    }
+
+    /**
+     * @return the mirror of this cursor, mirroring the last bound target.
+     */
+    public T get() {
+        return mMirror;
+    }
+
+    /**
+     * @return the last bound target, or <code>null</code> if no target was bound yet.
+     */
+    public Object getTarget() {
+        return mInvocationHandler.mTarget;
+    }
+
+    private static class CursorInvocationHandler extends MirrorInvocationHandler {
+
+        private Object mTarget;
+
+        CursorInvocationHandler(MirrorDescriptor descriptor) {
+            super(descriptor, null);
+        }
+
+        @Override
+        public Object getTargetInstance() {
+            return mTarget;
+        }
+
+        @Override
+        public Object invokeMethod(Method method, Object[] args) throws Throwable {
+            if (mTarget == null) {
+                throw new IllegalStateException("no target bound to cursor");
+            }
+
+            return super.invokeMethod(method, args);
+        }
+    }
+}
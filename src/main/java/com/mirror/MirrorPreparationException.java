@@ -0,0 +1,38 @@
+package com.mirror;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link Mirror#prepare(Class[])} when members of prepared interfaces cannot be resolved. Each failure is
+ * reported in the message, and is available through {@link #getFailures()}.
+ */
+public class MirrorPreparationException extends Exception {
+
+    private final List<Throwable> mFailures;
+
+    public MirrorPreparationException(List<Throwable> failures) {
+        super(createMessage(failures));
+        mFailures = Collections.unmodifiableList(new ArrayList<Throwable>(failures));
+
+        for (Throwable failure : failures) {
+            addSuppressed(failure);
+        }
+    }
+
+    public List<Throwable> getFailures() {
+        return mFailures;
+    }
+
+    private static String createMessage(List<Throwable> failures) {
+        StringBuilder message = new StringBuilder();
+        message.append(failures.size()).append(" mirror member(s) could not be prepared:");
+
+        for (Throwable failure : failures) {
+            message.append(System.lineSeparator()).append("    ").append(failure.getMessage());
+        }
+
+        return message.toString();
+    }
+}
@@ -9,4 +9,15 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface MirroredException {
     String value();
+
+    /**
+     * Whether wrapping exceptions capture their own stack trace. The stack trace of the wrapped exception, which is
+     * the cause, is kept either way.
+     * <p>
+     * When <code>false</code>, wrapping exceptions are created with the constructor
+     * <code>(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace)</code>, passing
+     * <code>false</code> for <code>writableStackTrace</code>, which avoids the cost of filling in the stack trace.
+     * Exceptions without such a constructor are created as usual.
+     */
+    boolean writableStackTrace() default true;
 }
@@ -0,0 +1,8 @@
+package com.mirror.engine;
+
+public interface FieldAccessor {
+
+    Object get(Object instance) throws IllegalAccessException;
+
+    void set(Object instance, Object value) throws IllegalAccessException;
+}
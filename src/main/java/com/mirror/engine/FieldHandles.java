@@ -0,0 +1,153 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ *     Creates getter and setter method handles for fields, honoring a {@link FieldAccessMode}.
+ * </p>
+ *
+ * The handles have the same types as those returned by <code>unreflectGetter</code> and <code>unreflectSetter</code>.
+ * Access modes are implemented with <code>VarHandle.toMethodHandle</code>. Since this library targets Java 8,
+ * the <code>VarHandle</code> API is looked up reflectively, and only once per field.
+ */
+public class FieldHandles {
+
+    private static final VarHandleSupport sVarHandleSupport = VarHandleSupport.create();
+
+    private FieldHandles() {
+    }
+
+    public static boolean isVarHandleSupported() {
+        return sVarHandleSupport != null;
+    }
+
+    public static MethodHandle getter(MethodHandles.Lookup lookup, Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        if (isDeclaredSemanticsSufficient(field, accessMode)) {
+            return lookup.unreflectGetter(field);
+        }
+
+        return requireVarHandleSupport(field, accessMode).toMethodHandle(lookup, field, getterAccessModeName(accessMode));
+    }
+
+    public static MethodHandle setter(MethodHandles.Lookup lookup, Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        if (isDeclaredSemanticsSufficient(field, accessMode)) {
+            return lookup.unreflectSetter(field);
+        }
+
+        if (Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalAccessException("cannot set final field: " + field.getName());
+        }
+
+        return requireVarHandleSupport(field, accessMode).toMethodHandle(lookup, field, setterAccessModeName(accessMode));
+    }
+
+    private static boolean isDeclaredSemanticsSufficient(Field field, FieldAccessMode accessMode) {
+        if (accessMode == FieldAccessMode.DEFAULT) {
+            return true;
+        }
+
+        if (sVarHandleSupport != null) {
+            return false;
+        }
+
+        return accessMode == FieldAccessMode.PLAIN || Modifier.isVolatile(field.getModifiers());
+    }
+
+    private static VarHandleSupport requireVarHandleSupport(Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        if (sVarHandleSupport == null) {
+            throw new IllegalAccessException(String.format("access mode %s for non-volatile field %s requires VarHandle support", accessMode, field.getName()));
+        }
+
+        return sVarHandleSupport;
+    }
+
+    private static String getterAccessModeName(FieldAccessMode accessMode) {
+        switch (accessMode) {
+            case OPAQUE:
+                return "GET_OPAQUE";
+            case ACQUIRE_RELEASE:
+                return "GET_ACQUIRE";
+            case VOLATILE:
+                return "GET_VOLATILE";
+            default:
+                return "GET";
+        }
+    }
+
+    private static String setterAccessModeName(FieldAccessMode accessMode) {
+        switch (accessMode) {
+            case OPAQUE:
+                return "SET_OPAQUE";
+            case ACQUIRE_RELEASE:
+                return "SET_RELEASE";
+            case VOLATILE:
+                return "SET_VOLATILE";
+            default:
+                return "SET";
+        }
+    }
+
+    private static class VarHandleSupport {
+
+        private final Method mPrivateLookupIn;
+        private final Method mUnreflectVarHandle;
+        private final Method mToMethodHandle;
+        private final Class<?> mAccessModeClass;
+
+        private VarHandleSupport(Method privateLookupIn, Method unreflectVarHandle, Method toMethodHandle, Class<?> accessModeClass) {
+            mPrivateLookupIn = privateLookupIn;
+            mUnreflectVarHandle = unreflectVarHandle;
+            mToMethodHandle = toMethodHandle;
+            mAccessModeClass = accessModeClass;
+        }
+
+        static VarHandleSupport create() {
+            try {
+                Class<?> varHandleClass = Class.forName("java.lang.invoke.VarHandle");
+                Class<?> accessModeClass = Class.forName("java.lang.invoke.VarHandle$AccessMode");
+
+                return new VarHandleSupport(
+                        MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class),
+                        MethodHandles.Lookup.class.getMethod("unreflectVarHandle", Field.class),
+                        varHandleClass.getMethod("toMethodHandle", accessModeClass),
+                        accessModeClass);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        MethodHandle toMethodHandle(MethodHandles.Lookup lookup, Field field, String accessModeName) throws IllegalAccessException {
+            try {
+                Object privateLookup = mPrivateLookupIn.invoke(null, field.getDeclaringClass(), lookup);
+                Object varHandle = mUnreflectVarHandle.invoke(privateLookup, field);
+                Object accessMode = accessMode(accessModeName);
+
+                return (MethodHandle) mToMethodHandle.invoke(varHandle, accessMode);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IllegalAccessException) {
+                    throw (IllegalAccessException) e.getCause();
+                }
+
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private Object accessMode(String accessModeName) {
+            for (Object accessMode : mAccessModeClass.getEnumConstants()) {
+                if (((Enum<?>) accessMode).name().equals(accessModeName)) {
+                    return accessMode;
+                }
+            }
+
+            throw new IllegalArgumentException("unknown access mode: " + accessModeName);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ *     An <code>InvocationEngine</code> converts resolved target members into invokers which are used for all later
+ *     accesses to that member. The conversion is done once per member, so engines may perform expensive preparation here.
+ * </p>
+ *
+ * Members passed to the engine were already made accessible.
+ *
+ * @see ReflectionInvocationEngine
+ * @see MethodHandleInvocationEngine
+ */
+public interface InvocationEngine {
+
+    MemberInvoker createMethodInvoker(Method method) throws IllegalAccessException;
+
+    MemberInvoker createConstructorInvoker(Constructor<?> constructor) throws IllegalAccessException;
+
+    FieldAccessor createFieldAccessor(Field field, FieldAccessMode accessMode) throws IllegalAccessException;
+}
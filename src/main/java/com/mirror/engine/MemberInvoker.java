@@ -0,0 +1,16 @@
+package com.mirror.engine;
+
+import java.lang.reflect.InvocationTargetException;
+
+public interface MemberInvoker {
+
+    /**
+     * Invokes the member.
+     *
+     * @param instance the instance to invoke on, or <code>null</code> for static members and constructors.
+     * @param args the arguments, already unwrapped.
+     * @return the result of the invocation, boxed if primitive.
+     * @throws InvocationTargetException if the member itself threw an exception.
+     */
+    Object invoke(Object instance, Object[] args) throws InvocationTargetException, IllegalAccessException, InstantiationException;
+}
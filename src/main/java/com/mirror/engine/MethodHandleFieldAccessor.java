@@ -0,0 +1,46 @@
+package com.mirror.engine;
+
+import java.lang.invoke.MethodHandle;
+
+public class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private final MethodHandle mGetter;
+    private final MethodHandle mSetter;
+    private final String mFieldName;
+
+    /**
+     * @param getter handle of type <code>(Object)Object</code>.
+     * @param setter handle of type <code>(Object, Object)void</code>, or <code>null</code> if the field is final.
+     */
+    public MethodHandleFieldAccessor(MethodHandle getter, MethodHandle setter, String fieldName) {
+        mGetter = getter;
+        mSetter = setter;
+        mFieldName = fieldName;
+    }
+
+    @Override
+    public Object get(Object instance) {
+        try {
+            return (Object) mGetter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws IllegalAccessException {
+        if (mSetter == null) {
+            throw new IllegalAccessException("cannot set final field: " + mFieldName);
+        }
+
+        try {
+            mSetter.invokeExact(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ *     Invocation engine which converts members into {@link MethodHandle}s once, and invokes them with
+ *     <code>invokeExact</code> afterwards.
+ * </p>
+ *
+ * All handles are adapted to a single shape: <code>(Object instance, Object[] args)Object</code> for methods and
+ * constructors, <code>(Object instance)Object</code> for getters and <code>(Object instance, Object value)void</code>
+ * for setters. Static members and constructors ignore the instance. Fields are accessed with the requested
+ * {@link FieldAccessMode}, see {@link FieldHandles}.
+ * <p>
+ *     As with reflection, throwables of methods and constructors are wrapped into an
+ *     <code>InvocationTargetException</code> by their handle, before it is adapted, while arguments which do not match
+ *     the parameter types surface as <code>IllegalArgumentException</code>.
+ * </p>
+ */
+public class MethodHandleInvocationEngine implements InvocationEngine {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle NEW_INVOCATION_TARGET_EXCEPTION = findConstructor(InvocationTargetException.class, Throwable.class);
+
+    private final MethodHandles.Lookup mLookup;
+
+    public MethodHandleInvocationEngine() {
+        mLookup = MethodHandles.lookup();
+    }
+
+    @Override
+    public MemberInvoker createMethodInvoker(Method method) throws IllegalAccessException {
+        MethodHandle methodHandle = mLookup.unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+        }
+
+        return new MethodHandleInvoker(spread(wrapTargetExceptions(methodHandle), method.getParameterTypes().length));
+    }
+
+    @Override
+    public MemberInvoker createConstructorInvoker(Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle methodHandle = mLookup.unreflectConstructor(constructor);
+        methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+
+        return new MethodHandleInvoker(spread(wrapTargetExceptions(methodHandle), constructor.getParameterTypes().length));
+    }
+
+    @Override
+    public FieldAccessor createFieldAccessor(Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        MethodHandle getter = FieldHandles.getter(mLookup, field, accessMode);
+        MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : FieldHandles.setter(mLookup, field, accessMode);
+
+        if (Modifier.isStatic(field.getModifiers())) {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            setter = setter == null ? null : MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+
+        return new MethodHandleFieldAccessor(
+                getter.asType(GETTER_TYPE),
+                setter == null ? null : setter.asType(SETTER_TYPE),
+                field.getName());
+    }
+
+    private MethodHandle spread(MethodHandle methodHandle, int parameterCount) {
+        MethodHandle genericHandle = methodHandle.asType(MethodType.genericMethodType(parameterCount + 1));
+        return genericHandle.asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * Wraps the throwables of the member itself into an <code>InvocationTargetException</code>, so that they can be
+     * told apart from those of the adaptations applied afterwards.
+     */
+    private static MethodHandle wrapTargetExceptions(MethodHandle methodHandle) {
+        MethodHandle throwWrapped = MethodHandles.filterArguments(
+                MethodHandles.throwException(methodHandle.type().returnType(), InvocationTargetException.class),
+                0, NEW_INVOCATION_TARGET_EXCEPTION);
+        MethodHandle handler = MethodHandles.dropArguments(throwWrapped, 1, methodHandle.type().parameterList());
+
+        return MethodHandles.catchException(methodHandle, Throwable.class, handler);
+    }
+
+    private static MethodHandle findConstructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
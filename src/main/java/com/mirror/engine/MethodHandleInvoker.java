@@ -0,0 +1,37 @@
+package com.mirror.engine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+
+public class MethodHandleInvoker implements MemberInvoker {
+
+    private final MethodHandle mMethodHandle;
+
+    /**
+     * @param methodHandle handle of type <code>(Object, Object[])Object</code>, which wraps the throwables of the member
+     *                     into an <code>InvocationTargetException</code>.
+     */
+    public MethodHandleInvoker(MethodHandle methodHandle) {
+        mMethodHandle = methodHandle;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the arguments cannot be converted to the parameter types of the member, or
+     * their number does not match, as with reflection.
+     */
+    @Override
+    public Object invoke(Object instance, Object[] args) throws InvocationTargetException {
+        try {
+            return (Object) mMethodHandle.invokeExact(instance, args);
+        } catch (InvocationTargetException | IllegalArgumentException e) {
+            throw e;
+        } catch (ClassCastException | NullPointerException | WrongMethodTypeException e) {
+            throw new IllegalArgumentException("argument type mismatch", e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mirror.engine;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+public class ReflectionConstructorInvoker implements MemberInvoker {
+
+    private final Constructor<?> mConstructor;
+
+    public ReflectionConstructorInvoker(Constructor<?> constructor) {
+        mConstructor = constructor;
+    }
+
+    @Override
+    public Object invoke(Object instance, Object[] args) throws InvocationTargetException, IllegalAccessException, InstantiationException {
+        return mConstructor.newInstance(args);
+    }
+}
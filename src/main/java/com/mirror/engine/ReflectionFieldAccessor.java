@@ -0,0 +1,22 @@
+package com.mirror.engine;
+
+import java.lang.reflect.Field;
+
+public class ReflectionFieldAccessor implements FieldAccessor {
+
+    private final Field mField;
+
+    public ReflectionFieldAccessor(Field field) {
+        mField = field;
+    }
+
+    @Override
+    public Object get(Object instance) throws IllegalAccessException {
+        return mField.get(instance);
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws IllegalAccessException {
+        mField.set(instance, value);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation engine which uses core reflection (<code>Method.invoke</code>, <code>Field.get</code> and such).
+ * This is the default engine.
+ * <p>
+ *     Core reflection cannot access fields with a specific {@link FieldAccessMode}, so such fields are accessed
+ *     using {@link MethodHandleInvocationEngine}.
+ * </p>
+ */
+public class ReflectionInvocationEngine implements InvocationEngine {
+
+    private final MethodHandleInvocationEngine mAccessModeEngine;
+
+    public ReflectionInvocationEngine() {
+        mAccessModeEngine = new MethodHandleInvocationEngine();
+    }
+
+    @Override
+    public MemberInvoker createMethodInvoker(Method method) {
+        return new ReflectionMethodInvoker(method);
+    }
+
+    @Override
+    public MemberInvoker createConstructorInvoker(Constructor<?> constructor) {
+        return new ReflectionConstructorInvoker(constructor);
+    }
+
+    @Override
+    public FieldAccessor createFieldAccessor(Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        if (accessMode != FieldAccessMode.DEFAULT) {
+            return mAccessModeEngine.createFieldAccessor(field, accessMode);
+        }
+
+        return new ReflectionFieldAccessor(field);
+    }
+}
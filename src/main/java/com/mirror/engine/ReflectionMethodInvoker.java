@@ -0,0 +1,18 @@
+package com.mirror.engine;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ReflectionMethodInvoker implements MemberInvoker {
+
+    private final Method mMethod;
+
+    public ReflectionMethodInvoker(Method method) {
+        mMethod = method;
+    }
+
+    @Override
+    public Object invoke(Object instance, Object[] args) throws InvocationTargetException, IllegalAccessException {
+        return mMethod.invoke(instance, args);
+    }
+}
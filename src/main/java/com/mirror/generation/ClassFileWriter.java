@@ -0,0 +1,319 @@
+package com.mirror.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     A minimal class file writer, supporting just what generated mirror implementations need: a constant pool,
+ *     fields, and methods with straight-line code.
+ * </p>
+ *
+ * Since generated code contains no branches or exception handlers, no <code>StackMapTable</code> is needed.
+ */
+public class ClassFileWriter {
+
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    public static final int ACC_SUPER = 0x0020;
+    public static final int ACC_SYNTHETIC = 0x1000;
+
+    public static final int ALOAD_0 = 0x2a;
+    public static final int ASTORE_0 = 0x4b;
+    public static final int ILOAD = 0x15;
+    public static final int LLOAD = 0x16;
+    public static final int FLOAD = 0x17;
+    public static final int DLOAD = 0x18;
+    public static final int ALOAD = 0x19;
+    public static final int AALOAD = 0x32;
+    public static final int IRETURN = 0xac;
+    public static final int LRETURN = 0xad;
+    public static final int FRETURN = 0xae;
+    public static final int DRETURN = 0xaf;
+    public static final int ARETURN = 0xb0;
+    public static final int RETURN = 0xb1;
+    public static final int GETSTATIC = 0xb2;
+    public static final int PUTSTATIC = 0xb3;
+    public static final int GETFIELD = 0xb4;
+    public static final int INVOKEVIRTUAL = 0xb6;
+    public static final int INVOKESPECIAL = 0xb7;
+    public static final int INVOKESTATIC = 0xb8;
+    public static final int SIPUSH = 0x11;
+    public static final int LDC_W = 0x13;
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int CLASS_FILE_VERSION = 52;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream mConstantPool;
+    private final DataOutputStream mConstantPoolOut;
+    private final Map<String, Integer> mConstantIndices;
+    private int mConstantCount;
+
+    private final List<byte[]> mFields;
+    private final List<byte[]> mMethods;
+
+    private final int mAccessFlags;
+    private final int mThisClass;
+    private final int mSuperClass;
+    private final int[] mInterfaces;
+
+    /**
+     * @param className internal name of the class, e.g. <code>com/package/SomeClass</code>.
+     * @param superClassName internal name of the super class.
+     * @param interfaceNames internal names of implemented interfaces.
+     */
+    public ClassFileWriter(int accessFlags, String className, String superClassName, String... interfaceNames) {
+        mConstantPool = new ByteArrayOutputStream();
+        mConstantPoolOut = new DataOutputStream(mConstantPool);
+        mConstantIndices = new HashMap<String, Integer>();
+        mConstantCount = 1;
+
+        mFields = new ArrayList<byte[]>();
+        mMethods = new ArrayList<byte[]>();
+
+        mAccessFlags = accessFlags;
+        mThisClass = classConstant(className);
+        mSuperClass = classConstant(superClassName);
+        mInterfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            mInterfaces[i] = classConstant(interfaceNames[i]);
+        }
+    }
+
+    public int utf8Constant(String value) {
+        Integer index = mConstantIndices.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            mConstantPoolOut.writeByte(CONSTANT_UTF8);
+            mConstantPoolOut.writeUTF(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return register("U" + value);
+    }
+
+    public int classConstant(String internalName) {
+        return referenceConstant("C" + internalName, CONSTANT_CLASS, utf8Constant(internalName));
+    }
+
+    public int stringConstant(String value) {
+        return referenceConstant("S" + value, CONSTANT_STRING, utf8Constant(value));
+    }
+
+    public int fieldConstant(String owner, String name, String descriptor) {
+        return memberConstant(CONSTANT_FIELDREF, owner, name, descriptor);
+    }
+
+    public int methodConstant(String owner, String name, String descriptor) {
+        return memberConstant(CONSTANT_METHODREF, owner, name, descriptor);
+    }
+
+    public void addField(int accessFlags, String name, String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeShort(accessFlags);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        mFields.add(bytes.toByteArray());
+    }
+
+    public void addMethod(int accessFlags, String name, String descriptor, Code code) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            byte[] instructions = code.toByteArray();
+
+            out.writeShort(accessFlags);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(1);
+
+            out.writeShort(utf8Constant("Code"));
+            out.writeInt(12 + instructions.length);
+            out.writeShort(code.getMaxStack());
+            out.writeShort(code.getMaxLocals());
+            out.writeInt(instructions.length);
+            out.write(instructions);
+            out.writeShort(0);
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        mMethods.add(bytes.toByteArray());
+    }
+
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeInt(CLASS_FILE_MAGIC);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+
+            out.writeShort(mConstantCount);
+            mConstantPool.writeTo(out);
+
+            out.writeShort(mAccessFlags);
+            out.writeShort(mThisClass);
+            out.writeShort(mSuperClass);
+
+            out.writeShort(mInterfaces.length);
+            for (int interfaceIndex : mInterfaces) {
+                out.writeShort(interfaceIndex);
+            }
+
+            writeMembers(out, mFields);
+            writeMembers(out, mMethods);
+
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void writeMembers(DataOutputStream out, List<byte[]> members) throws IOException {
+        out.writeShort(members.size());
+        for (byte[] member : members) {
+            out.write(member);
+        }
+    }
+
+    private int memberConstant(int tag, String owner, String name, String descriptor) {
+        int classIndex = classConstant(owner);
+        int nameAndTypeIndex = nameAndTypeConstant(name, descriptor);
+
+        String key = tag + owner + "." + name + descriptor;
+        Integer index = mConstantIndices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            mConstantPoolOut.writeByte(tag);
+            mConstantPoolOut.writeShort(classIndex);
+            mConstantPoolOut.writeShort(nameAndTypeIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return register(key);
+    }
+
+    private int nameAndTypeConstant(String name, String descriptor) {
+        int nameIndex = utf8Constant(name);
+        int descriptorIndex = utf8Constant(descriptor);
+
+        String key = "N" + name + ":" + descriptor;
+        Integer index = mConstantIndices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            mConstantPoolOut.writeByte(CONSTANT_NAME_AND_TYPE);
+            mConstantPoolOut.writeShort(nameIndex);
+            mConstantPoolOut.writeShort(descriptorIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return register(key);
+    }
+
+    private int referenceConstant(String key, int tag, int referencedIndex) {
+        Integer index = mConstantIndices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            mConstantPoolOut.writeByte(tag);
+            mConstantPoolOut.writeShort(referencedIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return register(key);
+    }
+
+    private int register(String key) {
+        int index = mConstantCount++;
+        mConstantIndices.put(key, index);
+        return index;
+    }
+
+    /**
+     * Straight-line bytecode of a single method.
+     */
+    public static class Code {
+
+        private final ByteArrayOutputStream mBytes;
+        private final int mMaxStack;
+        private final int mMaxLocals;
+
+        public Code(int maxStack, int maxLocals) {
+            mBytes = new ByteArrayOutputStream();
+            mMaxStack = maxStack;
+            mMaxLocals = maxLocals;
+        }
+
+        public Code op(int opcode) {
+            mBytes.write(opcode);
+            return this;
+        }
+
+        public Code op(int opcode, int operand) {
+            mBytes.write(opcode);
+            mBytes.write((operand >> 8) & 0xff);
+            mBytes.write(operand & 0xff);
+            return this;
+        }
+
+        public Code local(int opcode, int index) {
+            mBytes.write(0xc4);
+            return op(opcode, index);
+        }
+
+        public int getMaxStack() {
+            return mMaxStack;
+        }
+
+        public int getMaxLocals() {
+            return mMaxLocals;
+        }
+
+        public byte[] toByteArray() {
+            return mBytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.mirror.generation;
+
+import com.mirror.GetField;
+import com.mirror.SetField;
+import com.mirror.invocation.MirrorFieldAccessException;
+import com.mirror.invocation.MirrorInvocationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ *     Runtime support for mirror implementations generated at compile time by the <code>mirror-processor</code>
+ *     annotation processor.
+ * </p>
+ *
+ * For a mirror interface <code>com.package.SomeMirror</code>, the processor generates the class
+ * <code>com.package.SomeMirror$$MirrorImpl</code>, which extends {@link GeneratedMirror}. Its nested <code>Methods</code>
+ * class lists the mirror methods, and its nested <code>Handles</code> class holds a <code>static final</code> method
+ * handle for each of them, so that the JIT can inline the mirrored calls. Each instance holds the
+ * {@link MirrorHandleFactory} of the <code>Mirror</code> which created it, and passes it to the handles along with the
+ * target instance and the arguments.
+ * <p>
+ *     The handles are created by {@link MirrorHandleFactory#createSharedHandle(Method, Class)}, once for each
+ *     implementation class, when {@link #find(Class, Class, MirrorHandleFactory)} first finds it. They hold no state of
+ *     the factory creating them, and stay with the implementation class, along with the target class they were created
+ *     for.
+ * </p>
+ */
+public final class CompiledMirrors {
+
+    public static final String IMPLEMENTATION_SUFFIX = "$$MirrorImpl";
+    public static final String METHODS_SUFFIX = "$Methods";
+    public static final String METHODS_METHOD = "get";
+    public static final String HANDLES_SUFFIX = "$Handles";
+    public static final String HANDLE_METHOD = "handle";
+
+    private static final MethodHandle CREATE_INVOCATION_EXCEPTION = findExceptionConstructor(MirrorInvocationException.class);
+    private static final MethodHandle CREATE_FIELD_ACCESS_EXCEPTION = findExceptionConstructor(MirrorFieldAccessException.class);
+
+    private static final ClassValue<AtomicReference<CompiledHandles>> sCompiledHandles = new ClassValue<AtomicReference<CompiledHandles>>() {
+        @Override
+        protected AtomicReference<CompiledHandles> computeValue(Class<?> type) {
+            return new AtomicReference<CompiledHandles>();
+        }
+    };
+
+    private CompiledMirrors() {
+    }
+
+    /**
+     * Finds the compiled implementation of the given mirror interface. Its handles are created with the given factory
+     * when the implementation is first found, and instances created through the returned implementation use the given
+     * factory. Methods whose mirrored member cannot be resolved are listed by
+     * {@link MirrorImplementation#getUnresolvedMethods()}, and throw when called, as proxy mirrors do: a new
+     * {@link MirrorFieldAccessException} for field accessors, and a new {@link MirrorInvocationException} otherwise.
+     *
+     * @return the implementation, or empty if there is none, or if its handles were created for another target class.
+     */
+    public static Optional<MirrorImplementation> find(Class<?> mirrorClass, Class<?> targetClass, MirrorHandleFactory mirrorHandleFactory) {
+        Class<?> implementationClass;
+        CompiledHandles compiledHandles;
+        try {
+            implementationClass = Class.forName(mirrorClass.getName() + IMPLEMENTATION_SUFFIX, false, mirrorClass.getClassLoader());
+            if (!mirrorClass.isAssignableFrom(implementationClass) || !GeneratedMirror.class.isAssignableFrom(implementationClass)) {
+                return Optional.empty();
+            }
+
+            compiledHandles = getCompiledHandles(implementationClass, targetClass, mirrorHandleFactory);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        if (compiledHandles.mTargetClass != targetClass) {
+            return Optional.empty();
+        }
+
+        try {
+            MethodHandle constructor = MethodHandles.publicLookup()
+                    .findConstructor(implementationClass, MethodType.methodType(void.class, Object.class, MirrorHandleFactory.class));
+            constructor = MethodHandles.insertArguments(constructor, 1, mirrorHandleFactory)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+
+            return Optional.of(new MirrorImplementation(implementationClass, constructor, compiledHandles.mUnresolvedMethods));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Called from the static initializer of the <code>Handles</code> class of compiled implementations, on the first
+     * call of one of their methods.
+     */
+    public static MethodHandle handle(Class<?> implementationClass, int index) {
+        CompiledHandles compiledHandles = sCompiledHandles.get(implementationClass).get();
+        if (compiledHandles == null) {
+            throw new IllegalStateException("no handles for compiled class: " + implementationClass.getName());
+        }
+
+        return compiledHandles.mHandles[index];
+    }
+
+    private static CompiledHandles getCompiledHandles(Class<?> implementationClass, Class<?> targetClass, MirrorHandleFactory mirrorHandleFactory) throws ReflectiveOperationException {
+        AtomicReference<CompiledHandles> reference = sCompiledHandles.get(implementationClass);
+        CompiledHandles compiledHandles = reference.get();
+        if (compiledHandles == null) {
+            compiledHandles = createCompiledHandles(implementationClass, targetClass, mirrorHandleFactory);
+            if (!reference.compareAndSet(null, compiledHandles)) {
+                compiledHandles = reference.get();
+            }
+        }
+
+        return compiledHandles;
+    }
+
+    private static CompiledHandles createCompiledHandles(Class<?> implementationClass, Class<?> targetClass, MirrorHandleFactory mirrorHandleFactory) throws ReflectiveOperationException {
+        Class<?> methodsClass = Class.forName(implementationClass.getName() + METHODS_SUFFIX, true, implementationClass.getClassLoader());
+        Method[] mirrorMethods = (Method[]) methodsClass.getMethod(METHODS_METHOD).invoke(null);
+
+        MethodHandle[] handles = new MethodHandle[mirrorMethods.length];
+        Map<Method, Exception> unresolvedMethods = new LinkedHashMap<Method, Exception>();
+        for (int i = 0; i < mirrorMethods.length; i++) {
+            try {
+                handles[i] = mirrorHandleFactory.createSharedHandle(mirrorMethods[i], targetClass);
+            } catch (Exception e) {
+                handles[i] = createThrowingHandle(mirrorMethods[i], e);
+                unresolvedMethods.put(mirrorMethods[i], e);
+            }
+        }
+
+        return new CompiledHandles(targetClass, handles, unresolvedMethods);
+    }
+
+    /**
+     * Rethrows a throwable thrown by a mirror method handle. Handles only throw unchecked exceptions, or exceptions
+     * declared by the mirror method, so compiled implementations use this to avoid declaring <code>Throwable</code>.
+     */
+    public static RuntimeException rethrow(Throwable throwable) {
+        throw CompiledMirrors.<RuntimeException>throwUnchecked(throwable);
+    }
+
+    /**
+     * Creates a handle throwing a new exception caused by the given failure on each call.
+     */
+    private static MethodHandle createThrowingHandle(Method mirrorMethod, Exception cause) {
+        MethodType type = MirrorHandleFactory.sharedHandleType(mirrorMethod);
+        boolean isFieldAccessor = mirrorMethod.isAnnotationPresent(GetField.class) || mirrorMethod.isAnnotationPresent(SetField.class);
+        MethodHandle createException = (isFieldAccessor ? CREATE_FIELD_ACCESS_EXCEPTION : CREATE_INVOCATION_EXCEPTION).bindTo(cause);
+        MethodHandle thrower = MethodHandles.foldArguments(
+                MethodHandles.throwException(type.returnType(), RuntimeException.class), createException);
+
+        return MethodHandles.dropArguments(thrower, 0, type.parameterList());
+    }
+
+    private static MethodHandle findExceptionConstructor(Class<? extends RuntimeException> exceptionType) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(exceptionType, MethodType.methodType(void.class, Throwable.class))
+                    .asType(MethodType.methodType(RuntimeException.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T throwUnchecked(Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+
+    private static final class CompiledHandles {
+
+        private final Class<?> mTargetClass;
+        private final MethodHandle[] mHandles;
+        private final Map<Method, Exception> mUnresolvedMethods;
+
+        CompiledHandles(Class<?> targetClass, MethodHandle[] handles, Map<Method, Exception> unresolvedMethods) {
+            mTargetClass = targetClass;
+            mHandles = handles;
+            mUnresolvedMethods = unresolvedMethods;
+        }
+    }
+}
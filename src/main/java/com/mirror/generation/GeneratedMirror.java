@@ -0,0 +1,43 @@
+package com.mirror.generation;
+
+/**
+ * <p>
+ *     Base class of mirror implementations generated by {@link MirrorClassGenerator}.
+ * </p>
+ *
+ * <code>equals</code>, <code>hashCode</code> and <code>toString</code> delegate to the target instance, as they do for
+ * proxy based mirrors.
+ */
+public abstract class GeneratedMirror {
+
+    public static final String TARGET_INSTANCE_FIELD = "mTargetInstance";
+
+    protected final Object mTargetInstance;
+
+    protected GeneratedMirror(Object targetInstance) {
+        mTargetInstance = targetInstance;
+    }
+
+    public final Object getTargetInstance() {
+        return mTargetInstance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof GeneratedMirror) {
+            obj = ((GeneratedMirror) obj).mTargetInstance;
+        }
+
+        return mTargetInstance.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return mTargetInstance.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return mTargetInstance.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.mirror.generation;
+
+/**
+ * Defines generated mirror implementations. Classes are resolved from the mirror interface's class loader first,
+ * and from the library's class loader if not found there.
+ */
+public class GeneratedMirrorClassLoader extends ClassLoader {
+
+    public GeneratedMirrorClassLoader(ClassLoader mirrorClassLoader) {
+        super(mirrorClassLoader);
+    }
+
+    public Class<?> defineMirrorClass(String className, byte[] classBytes) {
+        return defineClass(className, classBytes, 0, classBytes.length);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        return Class.forName(name, false, GeneratedMirror.class.getClassLoader());
+    }
+}
@@ -0,0 +1,39 @@
+package com.mirror.generation;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands the method handles of a generated mirror implementation over to its static initializer.
+ */
+public class GeneratedMirrorHandles {
+
+    public static final String TAKE_METHOD = "take";
+    public static final String TAKE_DESCRIPTOR = "(Ljava/lang/String;)[Ljava/lang/invoke/MethodHandle;";
+
+    private static final Map<String, MethodHandle[]> sPendingHandles = new ConcurrentHashMap<String, MethodHandle[]>();
+
+    private GeneratedMirrorHandles() {
+    }
+
+    static void put(String className, MethodHandle[] handles) {
+        sPendingHandles.put(className, handles);
+    }
+
+    static void remove(String className) {
+        sPendingHandles.remove(className);
+    }
+
+    /**
+     * Called from the static initializer of generated classes.
+     */
+    public static MethodHandle[] take(String className) {
+        MethodHandle[] handles = sPendingHandles.remove(className);
+        if (handles == null) {
+            throw new IllegalStateException("no handles for generated class: " + className);
+        }
+
+        return handles;
+    }
+}
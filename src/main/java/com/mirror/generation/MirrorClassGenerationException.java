@@ -0,0 +1,12 @@
+package com.mirror.generation;
+
+public class MirrorClassGenerationException extends Exception {
+
+    public MirrorClassGenerationException(Throwable cause) {
+        super(cause);
+    }
+
+    public MirrorClassGenerationException(String message) {
+        super(message);
+    }
+}
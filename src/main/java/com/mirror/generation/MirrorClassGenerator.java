@@ -0,0 +1,266 @@
+package com.mirror.generation;
+
+import com.mirror.wrapping.UnwrappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ *     Generates concrete implementation classes of mirror interfaces, as an alternative to {@link java.lang.reflect.Proxy}.
+ * </p>
+ *
+ * For each mirror method, the generated class holds a <code>static final</code> {@link MethodHandle} created by
+ * {@link MirrorHandleFactory}, and implements the method by calling <code>invokeExact</code> on it with the target instance
+ * and the original arguments. Arguments are not boxed, and since the handles are constants, the JIT can inline the entire
+ * call down to the mirrored member.
+ * <p>
+ *     Generation is only possible for public interfaces whose method signatures use public types only. Each generated
+ *     class is defined in its own {@link GeneratedMirrorClassLoader}.
+ * </p>
+ */
+public class MirrorClassGenerator {
+
+    private static final String CLASS_NAME_INFIX = "$$Mirror$";
+    private static final String HANDLE_FIELD_PREFIX = "handle";
+
+    private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String METHOD_HANDLE_DESCRIPTOR = "Ljava/lang/invoke/MethodHandle;";
+    private static final String CONSTRUCTOR_DESCRIPTOR = "(Ljava/lang/Object;)V";
+
+    private static final AtomicInteger sClassCounter = new AtomicInteger();
+
+    private final MirrorHandleFactory mMirrorHandleFactory;
+
+    public MirrorClassGenerator(MirrorHandleFactory mirrorHandleFactory) {
+        mMirrorHandleFactory = mirrorHandleFactory;
+    }
+
+    public MirrorImplementation generate(Class<?> mirrorClass, Class<?> targetClass) throws MirrorClassGenerationException {
+        validateGeneratable(mirrorClass);
+
+        List<Method> methods = getImplementedMethods(mirrorClass);
+        MethodHandle[] handles = createHandles(methods, targetClass);
+
+        String className = mirrorClass.getName() + CLASS_NAME_INFIX + sClassCounter.incrementAndGet();
+        byte[] classBytes = writeClass(className, mirrorClass, methods);
+
+        GeneratedMirrorHandles.put(className, handles);
+        try {
+            GeneratedMirrorClassLoader classLoader = new GeneratedMirrorClassLoader(mirrorClass.getClassLoader());
+            Class<?> implementationClass = classLoader.defineMirrorClass(className, classBytes);
+            Class.forName(className, true, classLoader);
+
+            MethodHandle constructor = MethodHandles.publicLookup()
+                    .findConstructor(implementationClass, MethodType.methodType(void.class, Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+
+            return new MirrorImplementation(implementationClass, constructor);
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            throw new MirrorClassGenerationException(e);
+        } finally {
+            GeneratedMirrorHandles.remove(className);
+        }
+    }
+
+    private void validateGeneratable(Class<?> mirrorClass) throws MirrorClassGenerationException {
+        if (!mirrorClass.isInterface() || !Modifier.isPublic(mirrorClass.getModifiers())) {
+            throw new MirrorClassGenerationException("mirror is not a public interface: " + mirrorClass.getName());
+        }
+    }
+
+    private List<Method> getImplementedMethods(Class<?> mirrorClass) throws MirrorClassGenerationException {
+        Map<String, Method> methods = new LinkedHashMap<String, Method>();
+
+        for (Method method : mirrorClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+            Method existing = methods.put(signature, method);
+            if (existing != null && existing.getReturnType() != method.getReturnType()) {
+                throw new MirrorClassGenerationException("conflicting return types for method: " + signature);
+            }
+
+            if (method.getName().equals("getTargetInstance") && method.getParameterTypes().length == 0) {
+                throw new MirrorClassGenerationException("method clashes with GeneratedMirror: " + method);
+            }
+
+            validatePublic(method.getReturnType(), method);
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                validatePublic(parameterType, method);
+            }
+        }
+
+        return new ArrayList<Method>(methods.values());
+    }
+
+    private void validatePublic(Class<?> type, Method method) throws MirrorClassGenerationException {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+
+        if (!type.isPrimitive() && !Modifier.isPublic(type.getModifiers())) {
+            throw new MirrorClassGenerationException("non-public type " + type.getName() + " in method: " + method);
+        }
+    }
+
+    private MethodHandle[] createHandles(List<Method> methods, Class<?> targetClass) throws MirrorClassGenerationException {
+        MethodHandle[] handles = new MethodHandle[methods.size()];
+
+        for (int i = 0; i < handles.length; i++) {
+            try {
+                handles[i] = mMirrorHandleFactory.createHandle(methods.get(i), targetClass);
+            } catch (ReflectiveOperationException | UnwrappingException | RuntimeException e) {
+                throw new MirrorClassGenerationException(e);
+            }
+        }
+
+        return handles;
+    }
+
+    private byte[] writeClass(String className, Class<?> mirrorClass, List<Method> methods) {
+        String internalName = internalName(className);
+        String superName = internalName(GeneratedMirror.class.getName());
+
+        ClassFileWriter writer = new ClassFileWriter(
+                ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER | ClassFileWriter.ACC_SYNTHETIC,
+                internalName, superName, internalName(mirrorClass.getName()));
+
+        for (int i = 0; i < methods.size(); i++) {
+            writer.addField(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_FINAL,
+                    HANDLE_FIELD_PREFIX + i, METHOD_HANDLE_DESCRIPTOR);
+        }
+
+        writeStaticInitializer(writer, className, internalName, methods.size());
+        writeConstructor(writer, superName);
+
+        for (int i = 0; i < methods.size(); i++) {
+            writeMethod(writer, internalName, superName, HANDLE_FIELD_PREFIX + i, methods.get(i));
+        }
+
+        return writer.toByteArray();
+    }
+
+    private void writeStaticInitializer(ClassFileWriter writer, String className, String internalName, int handleCount) {
+        ClassFileWriter.Code code = new ClassFileWriter.Code(2, 1)
+                .op(ClassFileWriter.LDC_W, writer.stringConstant(className))
+                .op(ClassFileWriter.INVOKESTATIC, writer.methodConstant(internalName(GeneratedMirrorHandles.class.getName()),
+                        GeneratedMirrorHandles.TAKE_METHOD, GeneratedMirrorHandles.TAKE_DESCRIPTOR))
+                .op(ClassFileWriter.ASTORE_0);
+
+        for (int i = 0; i < handleCount; i++) {
+            code.op(ClassFileWriter.ALOAD_0)
+                    .op(ClassFileWriter.SIPUSH, i)
+                    .op(ClassFileWriter.AALOAD)
+                    .op(ClassFileWriter.PUTSTATIC, writer.fieldConstant(internalName, HANDLE_FIELD_PREFIX + i, METHOD_HANDLE_DESCRIPTOR));
+        }
+
+        code.op(ClassFileWriter.RETURN);
+        writer.addMethod(ClassFileWriter.ACC_STATIC, "<clinit>", "()V", code);
+    }
+
+    private void writeConstructor(ClassFileWriter writer, String superName) {
+        ClassFileWriter.Code code = new ClassFileWriter.Code(2, 2)
+                .op(ClassFileWriter.ALOAD_0)
+                .local(ClassFileWriter.ALOAD, 1)
+                .op(ClassFileWriter.INVOKESPECIAL, writer.methodConstant(superName, "<init>", CONSTRUCTOR_DESCRIPTOR))
+                .op(ClassFileWriter.RETURN);
+
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, code);
+    }
+
+    private void writeMethod(ClassFileWriter writer, String internalName, String superName, String handleField, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+
+        int parameterSlots = 0;
+        for (Class<?> parameterType : parameterTypes) {
+            parameterSlots += slotSize(parameterType);
+        }
+
+        ClassFileWriter.Code code = new ClassFileWriter.Code(2 + parameterSlots, 1 + parameterSlots)
+                .op(ClassFileWriter.GETSTATIC, writer.fieldConstant(internalName, handleField, METHOD_HANDLE_DESCRIPTOR))
+                .op(ClassFileWriter.ALOAD_0)
+                .op(ClassFileWriter.GETFIELD, writer.fieldConstant(superName, GeneratedMirror.TARGET_INSTANCE_FIELD, descriptor(Object.class)));
+
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            code.local(loadOpcode(parameterType), slot);
+            slot += slotSize(parameterType);
+        }
+
+        String invokeDescriptor = methodDescriptor(method.getReturnType(), parameterTypes, Object.class);
+        code.op(ClassFileWriter.INVOKEVIRTUAL, writer.methodConstant(METHOD_HANDLE, "invokeExact", invokeDescriptor))
+                .op(returnOpcode(method.getReturnType()));
+
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, method.getName(),
+                methodDescriptor(method.getReturnType(), parameterTypes), code);
+    }
+
+    private static String methodDescriptor(Class<?> returnType, Class<?>[] parameterTypes, Class<?>... leadingParameterTypes) {
+        StringBuilder builder = new StringBuilder("(");
+        for (Class<?> parameterType : leadingParameterTypes) {
+            builder.append(descriptor(parameterType));
+        }
+        for (Class<?> parameterType : parameterTypes) {
+            builder.append(descriptor(parameterType));
+        }
+
+        return builder.append(')').append(descriptor(returnType)).toString();
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type.getName());
+        }
+
+        if (type == void.class) return "V";
+        if (type == boolean.class) return "Z";
+        if (type == byte.class) return "B";
+        if (type == char.class) return "C";
+        if (type == short.class) return "S";
+        if (type == int.class) return "I";
+        if (type == long.class) return "J";
+        if (type == float.class) return "F";
+        if (type == double.class) return "D";
+
+        return "L" + internalName(type.getName()) + ";";
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    private static int slotSize(Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) return ClassFileWriter.LLOAD;
+        if (type == float.class) return ClassFileWriter.FLOAD;
+        if (type == double.class) return ClassFileWriter.DLOAD;
+        if (type.isPrimitive()) return ClassFileWriter.ILOAD;
+
+        return ClassFileWriter.ALOAD;
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == void.class) return ClassFileWriter.RETURN;
+        if (type == long.class) return ClassFileWriter.LRETURN;
+        if (type == float.class) return ClassFileWriter.FRETURN;
+        if (type == double.class) return ClassFileWriter.DRETURN;
+        if (type.isPrimitive()) return ClassFileWriter.IRETURN;
+
+        return ClassFileWriter.ARETURN;
+    }
+}
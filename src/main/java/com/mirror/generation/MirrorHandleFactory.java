@@ -0,0 +1,360 @@
+package com.mirror.generation;
+
+import com.mirror.FieldAccessMode;
+import com.mirror.GetField;
+import com.mirror.SetField;
+import com.mirror.engine.FieldHandles;
+import com.mirror.helper.ClassLoaders;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.invocation.AsyncInvocationPlan;
+import com.mirror.invocation.InvocationPlan;
+import com.mirror.invocation.InvocationPlans;
+import com.mirror.metrics.MirrorMetrics;
+import com.mirror.wrapping.ExceptionTranslator;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.Unwrapper;
+import com.mirror.wrapping.UnwrappingException;
+import com.mirror.wrapping.Wrapper;
+import com.mirror.wrapping.WrappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ *     Creates a single method handle for each mirror method, which performs the entire mirrored call: argument unwrapping,
+ *     access to the target member, return value wrapping and exception translation.
+ * </p>
+ *
+ * A handle created for a mirror method <code>R m(P1 .. Pn)</code> by {@link #createHandle(Method, Class)} has the type
+ * <code>(Object, P1 .. Pn)R</code>, where the first argument is the target instance. If a {@link MirrorMetrics} listener
+ * is given, handles report their invocations to it, as proxy mirrors do.
+ * <p>
+ *     Handles created by {@link #createSharedHandle(Method, Class)} take the factory as an additional first argument,
+ *     and read the wrapper, unwrapper, executor and metrics listener from it on each call, so that they can be shared by
+ *     factories of different <code>Mirror</code>s.
+ * </p>
+ */
+public class MirrorHandleFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodHandle UNWRAP_ARGUMENT = findStatic("unwrapArgument", Object.class, MirrorHandleFactory.class, Type.class, Object.class);
+    private static final MethodHandle WRAP_RESULT = findStatic("wrapResult", Object.class, MirrorHandleFactory.class, Type.class, Object.class);
+    private static final MethodHandle UNWRAP_FIELD_VALUE = findStatic("unwrapFieldValue", Object.class, MirrorHandleFactory.class, Type.class, Object.class);
+    private static final MethodHandle WRAP_FIELD_VALUE = findStatic("wrapFieldValue", Object.class, MirrorHandleFactory.class, Type.class, Object.class);
+    private static final MethodHandle INVOKE_ASYNC = findStatic("invokeAsync", CompletableFuture.class, MirrorHandleFactory.class, MethodHandle.class, Object.class, Object[].class);
+    private static final MethodHandle IS_MEASURED = findStatic("isMeasured", boolean.class, MirrorHandleFactory.class);
+    private static final MethodHandle INVOKE_MEASURED = findStatic("invokeMeasured", Object.class, MirrorHandleFactory.class, Method.class, Class.class, MethodHandle.class, Object.class, Object[].class);
+    private static final MethodHandle TRANSLATE_THROWABLE = findStatic("translateThrowable", Object.class, Method.class, Throwable.class, MirrorHandleFactory.class);
+
+    private final ReflectionHelper mReflectionHelper;
+    private final Wrapper mWrapper;
+    private final Unwrapper mUnwrapper;
+    private final ThrowableWrapper mThrowableWrapper;
+    private final ClassLoader mClassLoader;
+    private final Executor mAsyncExecutor;
+    private final MirrorMetrics mMirrorMetrics;
+    private final ConcurrentMap<Method, ExceptionTranslator> mExceptionTranslators;
+
+    public MirrorHandleFactory(ReflectionHelper reflectionHelper, Wrapper wrapper, Unwrapper unwrapper, ThrowableWrapper throwableWrapper, ClassLoader classLoader) {
+        this(reflectionHelper, wrapper, unwrapper, throwableWrapper, classLoader, null);
+    }
+
+    /**
+     * @param asyncExecutor executor of mirror methods returning <code>CompletableFuture</code>, or <code>null</code> to
+     *                      use {@link AsyncInvocationPlan#defaultExecutor()}.
+     */
+    public MirrorHandleFactory(ReflectionHelper reflectionHelper, Wrapper wrapper, Unwrapper unwrapper, ThrowableWrapper throwableWrapper, ClassLoader classLoader, Executor asyncExecutor) {
+        this(reflectionHelper, wrapper, unwrapper, throwableWrapper, classLoader, asyncExecutor, null);
+    }
+
+    /**
+     * @param asyncExecutor executor of mirror methods returning <code>CompletableFuture</code>, or <code>null</code> to
+     *                      use {@link AsyncInvocationPlan#defaultExecutor()}.
+     * @param mirrorMetrics listener notified of invocations, or <code>null</code> to not measure invocations.
+     */
+    public MirrorHandleFactory(ReflectionHelper reflectionHelper, Wrapper wrapper, Unwrapper unwrapper, ThrowableWrapper throwableWrapper, ClassLoader classLoader, Executor asyncExecutor, MirrorMetrics mirrorMetrics) {
+        mReflectionHelper = reflectionHelper;
+        mWrapper = wrapper;
+        mUnwrapper = unwrapper;
+        mThrowableWrapper = throwableWrapper;
+        mClassLoader = classLoader;
+        mAsyncExecutor = asyncExecutor != null ? asyncExecutor : AsyncInvocationPlan.defaultExecutor();
+        mMirrorMetrics = mirrorMetrics;
+        mExceptionTranslators = new ConcurrentHashMap<Method, ExceptionTranslator>();
+    }
+
+    public ClassLoader getClassLoader() {
+        return mClassLoader;
+    }
+
+    public MethodHandle createHandle(Method mirrorMethod, Class<?> targetClass) throws ReflectiveOperationException, UnwrappingException, MirrorClassGenerationException {
+        return createSharedHandle(mirrorMethod, targetClass).bindTo(this);
+    }
+
+    /**
+     * Creates a handle of type <code>(MirrorHandleFactory, Object, P1 .. Pn)R</code>, which performs the mirrored call
+     * with the factory given as its first argument. The handle holds no state of this factory.
+     */
+    public MethodHandle createSharedHandle(Method mirrorMethod, Class<?> targetClass) throws ReflectiveOperationException, UnwrappingException, MirrorClassGenerationException {
+        return measureInvocations(createMemberHandle(mirrorMethod, targetClass), mirrorMethod, targetClass);
+    }
+
+    /**
+     * @return the type of the handles created by {@link #createSharedHandle(Method, Class)} for the given mirror method.
+     */
+    public static MethodType sharedHandleType(Method mirrorMethod) {
+        return MethodType.methodType(mirrorMethod.getReturnType(), mirrorMethod.getParameterTypes())
+                .insertParameterTypes(0, MirrorHandleFactory.class, Object.class);
+    }
+
+    /**
+     * Drops the exception translators of mirror methods declared by the given class loader, or by its descendants.
+     */
+    public void invalidate(ClassLoader classLoader) {
+        mExceptionTranslators.keySet().removeIf(method -> ClassLoaders.isSelfOrAncestor(classLoader, method.getDeclaringClass().getClassLoader()));
+    }
+
+    /**
+     * Drops all exception translators.
+     */
+    public void clear() {
+        mExceptionTranslators.clear();
+    }
+
+    private MethodHandle createMemberHandle(Method mirrorMethod, Class<?> targetClass) throws ReflectiveOperationException, UnwrappingException, MirrorClassGenerationException {
+        if (mirrorMethod.isAnnotationPresent(GetField.class)) {
+            GetField getField = mirrorMethod.getAnnotation(GetField.class);
+            return createGetFieldHandle(mirrorMethod, getField.value(), getField.mode(), targetClass);
+        }
+
+        if (mirrorMethod.isAnnotationPresent(SetField.class)) {
+            SetField setField = mirrorMethod.getAnnotation(SetField.class);
+            return createSetFieldHandle(mirrorMethod, setField.value(), setField.mode(), targetClass);
+        }
+
+        return createMethodHandle(mirrorMethod, targetClass);
+    }
+
+    private MethodHandle createMethodHandle(Method mirrorMethod, Class<?> targetClass) throws ReflectiveOperationException, UnwrappingException {
+        Method mirroredMethod = mReflectionHelper.findMirrorMethod(mirrorMethod, mirrorMethod.getName(), targetClass);
+
+        MethodHandle handle = LOOKUP.unreflect(mirroredMethod);
+        if (Modifier.isStatic(mirroredMethod.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        handle = MethodHandles.dropArguments(handle, 0, MirrorHandleFactory.class);
+        handle = unwrapArguments(handle, mirrorMethod, UNWRAP_ARGUMENT);
+
+        if (AsyncInvocationPlan.isAsync(mirrorMethod, mirroredMethod)) {
+            handle = wrapReturnValue(handle, AsyncInvocationPlan.getResultType(mirrorMethod), WRAP_RESULT);
+            handle = handle.asType(handle.type().generic().changeParameterType(0, MirrorHandleFactory.class));
+
+            return dispatchAsync(translateExceptions(handle, mirrorMethod), mirrorMethod);
+        }
+
+        handle = wrapReturnValue(handle, mirrorMethod.getGenericReturnType(), WRAP_RESULT);
+        handle = handle.asType(sharedHandleType(mirrorMethod));
+
+        return translateExceptions(handle, mirrorMethod);
+    }
+
+    private MethodHandle createGetFieldHandle(Method mirrorMethod, String fieldName, FieldAccessMode accessMode, Class<?> targetClass) throws ReflectiveOperationException {
+        Field field = mReflectionHelper.findMirrorField(fieldName, targetClass);
+
+        MethodHandle handle = FieldHandles.getter(LOOKUP, field, accessMode);
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        handle = MethodHandles.dropArguments(handle, 0, MirrorHandleFactory.class);
+        handle = MethodHandles.dropArguments(handle, 2, mirrorMethod.getParameterTypes());
+        handle = wrapReturnValue(handle, mirrorMethod.getGenericReturnType(), WRAP_FIELD_VALUE);
+
+        return handle.asType(sharedHandleType(mirrorMethod));
+    }
+
+    private MethodHandle createSetFieldHandle(Method mirrorMethod, String fieldName, FieldAccessMode accessMode, Class<?> targetClass) throws ReflectiveOperationException, MirrorClassGenerationException {
+        if (mirrorMethod.getParameterTypes().length != 1) {
+            throw new MirrorClassGenerationException("field setter must have a single parameter: " + mirrorMethod);
+        }
+
+        Field field = mReflectionHelper.findMirrorField(fieldName, targetClass);
+
+        MethodHandle handle = FieldHandles.setter(LOOKUP, field, accessMode);
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        handle = MethodHandles.dropArguments(handle, 0, MirrorHandleFactory.class);
+        handle = unwrapArguments(handle, mirrorMethod, UNWRAP_FIELD_VALUE);
+
+        return handle.asType(sharedHandleType(mirrorMethod));
+    }
+
+    private MethodHandle unwrapArguments(MethodHandle handle, Method mirrorMethod, MethodHandle unwrapFunction) {
+        Class<?>[] parameterTypes = mirrorMethod.getParameterTypes();
+        Type[] genericParameterTypes = mirrorMethod.getGenericParameterTypes();
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!mUnwrapper.canCarryMirror(parameterTypes[i])) {
+                continue;
+            }
+
+            int position = i + 2;
+            MethodHandle unwrap = MethodHandles.insertArguments(unwrapFunction, 1, genericParameterTypes[i]);
+            MethodHandle filter = unwrap.asType(MethodType.methodType(handle.type().parameterType(position), MirrorHandleFactory.class, parameterTypes[i]));
+            handle = mergeFactoryArgument(MethodHandles.collectArguments(handle, position, filter), position);
+        }
+
+        return handle;
+    }
+
+    private MethodHandle wrapReturnValue(MethodHandle handle, Type returnType, MethodHandle wrapFunction) {
+        if (!mWrapper.requiresWrapping(returnType)) {
+            return handle;
+        }
+
+        MethodHandle wrap = MethodHandles.insertArguments(wrapFunction, 1, returnType);
+        MethodHandle filter = wrap.asType(MethodType.methodType(Object.class, MirrorHandleFactory.class, handle.type().returnType()));
+
+        return mergeFactoryArgument(MethodHandles.collectArguments(filter, 1, handle), 1);
+    }
+
+    private MethodHandle translateExceptions(MethodHandle handle, Method mirrorMethod) {
+        if (mirrorMethod.getExceptionTypes().length == 0) {
+            return handle;
+        }
+
+        MethodHandle translate = TRANSLATE_THROWABLE.bindTo(mirrorMethod);
+        MethodHandle handler = translate.asType(MethodType.methodType(handle.type().returnType(), Throwable.class, MirrorHandleFactory.class));
+
+        return MethodHandles.catchException(handle, Throwable.class, handler);
+    }
+
+    /**
+     * Adapts a handle performing the mirrored call into one which performs it on the executor, and returns a future.
+     */
+    private MethodHandle dispatchAsync(MethodHandle handle, Method mirrorMethod) {
+        int parameterCount = mirrorMethod.getParameterTypes().length;
+        MethodHandle spreader = handle.asSpreader(Object[].class, parameterCount);
+
+        MethodHandle async = MethodHandles.insertArguments(INVOKE_ASYNC, 1, spreader)
+                .asCollector(Object[].class, parameterCount);
+
+        return async.asType(sharedHandleType(mirrorMethod));
+    }
+
+    /**
+     * Adapts a handle so that each of its invocations is reported to the metrics listener of the factory it is called
+     * with, if there is one.
+     */
+    private MethodHandle measureInvocations(MethodHandle handle, Method mirrorMethod, Class<?> targetClass) {
+        int parameterCount = mirrorMethod.getParameterTypes().length;
+        MethodHandle spreader = handle.asType(handle.type().generic().changeParameterType(0, MirrorHandleFactory.class))
+                .asSpreader(Object[].class, parameterCount);
+
+        MethodHandle measured = MethodHandles.insertArguments(INVOKE_MEASURED, 1, mirrorMethod, targetClass, spreader)
+                .asCollector(Object[].class, parameterCount)
+                .asType(handle.type());
+
+        return MethodHandles.guardWithTest(IS_MEASURED, measured, handle);
+    }
+
+    /**
+     * Replaces the factory argument at the given position of a handle by its first argument, which is also the factory.
+     */
+    private static MethodHandle mergeFactoryArgument(MethodHandle handle, int position) {
+        MethodType type = handle.type().dropParameterTypes(position, position + 1);
+
+        int[] reorder = new int[handle.type().parameterCount()];
+        for (int i = 0; i < reorder.length; i++) {
+            reorder[i] = i < position ? i : i == position ? 0 : i - 1;
+        }
+
+        return MethodHandles.permuteArguments(handle, type, reorder);
+    }
+
+    private ExceptionTranslator getExceptionTranslator(Method mirrorMethod) {
+        ExceptionTranslator exceptionTranslator = mExceptionTranslators.get(mirrorMethod);
+        if (exceptionTranslator == null) {
+            exceptionTranslator = mThrowableWrapper.createTranslator(mirrorMethod.getExceptionTypes(), mClassLoader);
+
+            ExceptionTranslator existing = mExceptionTranslators.putIfAbsent(mirrorMethod, exceptionTranslator);
+            if (existing != null) {
+                exceptionTranslator = existing;
+            }
+        }
+
+        return exceptionTranslator;
+    }
+
+    private static Object unwrapArgument(MirrorHandleFactory factory, Type parameterType, Object value) {
+        try {
+            return factory.mUnwrapper.unwrap(value, parameterType);
+        } catch (UnwrappingException e) {
+            throw factory.mThrowableWrapper.createInvocationException(e);
+        }
+    }
+
+    private static Object wrapResult(MirrorHandleFactory factory, Type returnType, Object value) {
+        try {
+            return factory.mWrapper.wrap(value, returnType);
+        } catch (WrappingException e) {
+            throw factory.mThrowableWrapper.createInvocationException(e);
+        }
+    }
+
+    private static Object unwrapFieldValue(MirrorHandleFactory factory, Type fieldType, Object value) {
+        try {
+            return factory.mUnwrapper.unwrap(value, fieldType);
+        } catch (UnwrappingException e) {
+            throw factory.mThrowableWrapper.createFieldAccessException(e);
+        }
+    }
+
+    private static Object wrapFieldValue(MirrorHandleFactory factory, Type returnType, Object value) {
+        try {
+            return factory.mWrapper.wrap(value, returnType);
+        } catch (WrappingException e) {
+            throw factory.mThrowableWrapper.createFieldAccessException(e);
+        }
+    }
+
+    private static CompletableFuture<Object> invokeAsync(MirrorHandleFactory factory, MethodHandle spreader, Object targetInstance, Object[] args) {
+        InvocationPlan plan = (instance, arguments) -> (Object) spreader.invokeExact(factory, instance, arguments);
+        return AsyncInvocationPlan.submit(factory.mAsyncExecutor, plan, targetInstance, args);
+    }
+
+    private static boolean isMeasured(MirrorHandleFactory factory) {
+        return factory.mMirrorMetrics != null;
+    }
+
+    private static Object invokeMeasured(MirrorHandleFactory factory, Method mirrorMethod, Class<?> targetClass, MethodHandle spreader, Object targetInstance, Object[] args) throws Throwable {
+        InvocationPlan plan = (instance, arguments) -> (Object) spreader.invokeExact(factory, instance, arguments);
+        return InvocationPlans.invoke(plan, mirrorMethod, targetInstance, args, factory.mMirrorMetrics, targetClass);
+    }
+
+    private static Object translateThrowable(Method mirrorMethod, Throwable throwable, MirrorHandleFactory factory) throws Throwable {
+        throw factory.getExceptionTranslator(mirrorMethod).translate(throwable);
+    }
+
+    private static MethodHandle findStatic(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findStatic(MirrorHandleFactory.class, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mirror.generation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A generated implementation of a mirror interface, bound to a single target class.
+ */
+public class MirrorImplementation {
+
+    private final Class<?> mImplementationClass;
+    private final MethodHandle mConstructor;
+    private final Map<Method, Exception> mUnresolvedMethods;
+
+    /**
+     * @param constructor handle of type <code>(Object)Object</code>, creating a new implementation instance.
+     */
+    public MirrorImplementation(Class<?> implementationClass, MethodHandle constructor) {
+        this(implementationClass, constructor, Collections.<Method, Exception>emptyMap());
+    }
+
+    /**
+     * @param constructor handle of type <code>(Object)Object</code>, creating a new implementation instance.
+     * @param unresolvedMethods mirror methods whose mirrored member could not be resolved, and which throw when called.
+     */
+    public MirrorImplementation(Class<?> implementationClass, MethodHandle constructor, Map<Method, Exception> unresolvedMethods) {
+        mImplementationClass = implementationClass;
+        mConstructor = constructor;
+        mUnresolvedMethods = Collections.unmodifiableMap(unresolvedMethods);
+    }
+
+    public Class<?> getImplementationClass() {
+        return mImplementationClass;
+    }
+
+    /**
+     * @return the mirror methods whose mirrored member could not be resolved, with the failure of each.
+     */
+    public Map<Method, Exception> getUnresolvedMethods() {
+        return mUnresolvedMethods;
+    }
+
+    public Object newInstance(Object targetInstance) {
+        try {
+            return (Object) mConstructor.invokeExact(targetInstance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
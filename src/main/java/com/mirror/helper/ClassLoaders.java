@@ -0,0 +1,26 @@
+package com.mirror.helper;
+
+public final class ClassLoaders {
+
+    private ClassLoaders() {
+    }
+
+    /**
+     * Whether classes of the given candidate class loader are visible from the other class loader through delegation, so
+     * that the candidate lives at least as long as the other class loader. The bootstrap class loader, represented by
+     * <code>null</code>, is an ancestor of all class loaders.
+     */
+    public static boolean isSelfOrAncestor(ClassLoader candidate, ClassLoader classLoader) {
+        if (candidate == null) {
+            return true;
+        }
+
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current == candidate) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
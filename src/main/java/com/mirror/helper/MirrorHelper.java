@@ -4,6 +4,28 @@ import com.mirror.MirroredClass;
 
 public class MirrorHelper {
 
+    private static final ClassValue<TargetTypeCache> TARGET_TYPES = new ClassValue<TargetTypeCache>() {
+        @Override
+        protected TargetTypeCache computeValue(Class<?> type) {
+            return new TargetTypeCache();
+        }
+    };
+
+    private final boolean mInitializeTargetTypes;
+
+    public MirrorHelper() {
+        this(true);
+    }
+
+    /**
+     * @param initializeTargetTypes whether mirrored classes are initialized when resolved. When <code>false</code>,
+     *                              they are only loaded, and are initialized by the JVM on the first access to one of
+     *                              their static members or constructors.
+     */
+    public MirrorHelper(boolean initializeTargetTypes) {
+        mInitializeTargetTypes = initializeTargetTypes;
+    }
+
     public boolean isMirror(Class<?> type) {
         return type.isAnnotationPresent(MirroredClass.class);
     }
@@ -17,8 +39,22 @@ public class MirrorHelper {
         return mirroredClass.value();
     }
 
+    /**
+     * Resolves the class mirrored by the given mirror type, in the given class loader. Resolved classes are cached per
+     * mirror type and class loader, so the class loader is only queried once for each pair.
+     * <p>
+     * Whether the class is initialized depends on {@link #MirrorHelper(boolean)}.
+     */
     public Class<?> getMirrorTargetType(Class<?> mirrorClass, ClassLoader classLoader) throws ClassNotFoundException {
-        String targetTypeName = getMirroredTypeName(mirrorClass);
-        return Class.forName(targetTypeName, true, classLoader);
+        TargetTypeCache targetTypes = TARGET_TYPES.get(mirrorClass);
+
+        Class<?> targetType = targetTypes.get(classLoader, mInitializeTargetTypes);
+        if (targetType == null) {
+            String targetTypeName = getMirroredTypeName(mirrorClass);
+            targetType = Class.forName(targetTypeName, mInitializeTargetTypes, classLoader);
+            targetTypes.put(classLoader, targetType, mInitializeTargetTypes);
+        }
+
+        return targetType;
     }
 }
@@ -0,0 +1,43 @@
+package com.mirror.helper;
+
+import java.lang.reflect.Type;
+
+/**
+ * The parameters of a mirror method which may receive mirrors, with their generic types, as found by
+ * {@link ReflectionHelper#findMirrorParameters(java.lang.reflect.Method)}.
+ */
+public final class MirrorParameters {
+
+    public static final MirrorParameters NONE = new MirrorParameters(new int[0], new Type[0]);
+
+    private final int[] mIndices;
+    private final Type[] mTypes;
+
+    public MirrorParameters(int[] indices, Type[] types) {
+        if (indices.length != types.length) {
+            throw new IllegalArgumentException("indices and types differ in length");
+        }
+
+        mIndices = indices;
+        mTypes = types;
+    }
+
+    public int size() {
+        return mIndices.length;
+    }
+
+    public boolean isEmpty() {
+        return mIndices.length == 0;
+    }
+
+    /**
+     * @return the position, in the method parameters, of the i-th mirror parameter.
+     */
+    public int getIndex(int i) {
+        return mIndices[i];
+    }
+
+    public Type getType(int i) {
+        return mTypes[i];
+    }
+}
@@ -1,5 +1,11 @@
 package com.mirror.helper;
 
+import com.mirror.FieldAccessMode;
+import com.mirror.engine.FieldAccessor;
+import com.mirror.engine.InvocationEngine;
+import com.mirror.engine.MemberInvoker;
+import com.mirror.engine.ReflectionInvocationEngine;
+import com.mirror.index.MirrorIndex;
 import com.mirror.wrapping.Unwrapper;
 import com.mirror.wrapping.UnwrappingException;
 import com.mirror.wrapping.Wrapper;
@@ -9,28 +15,82 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class ReflectionHelper {
 
     private final Wrapper mWrapper;
     private final Unwrapper mUnwrapper;
-
-    public ReflectionHelper(Wrapper wrapper, Unwrapper unwrapper) {
+    private final InvocationEngine mInvocationEngine;
+    private final MirrorIndex mMirrorIndex;
+
+    /**
+     * @param mirrorIndex index of resolved members, consulted before searching for members and updated with the
+     *                    members found, or <code>null</code>.
+     */
+    public ReflectionHelper(Wrapper wrapper, Unwrapper unwrapper, InvocationEngine invocationEngine, MirrorIndex mirrorIndex) {
         mWrapper = wrapper;
         mUnwrapper = unwrapper;
+        mInvocationEngine = invocationEngine;
+        mMirrorIndex = mirrorIndex;
+    }
+
+    public ReflectionHelper(Wrapper wrapper, Unwrapper unwrapper, InvocationEngine invocationEngine) {
+        this(wrapper, unwrapper, invocationEngine, null);
+    }
+
+    public ReflectionHelper(Wrapper wrapper, Unwrapper unwrapper) {
+        this(wrapper, unwrapper, new ReflectionInvocationEngine());
     }
 
-    public Object[] unwrapParameters(Object... parameters) throws UnwrappingException {
-        List<Object> unwrappedParameters = new ArrayList<Object>();
+    /**
+     * Finds the parameters of a mirror method which may receive mirrors, and therefore need unwrapping. Arguments passed
+     * to other parameters are never changed by unwrapping.
+     *
+     * @return the parameters which need unwrapping.
+     */
+    public MirrorParameters findMirrorParameters(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Type[] genericParameterTypes = method.getGenericParameterTypes();
+
+        int count = 0;
+        int[] indices = new int[parameterTypes.length];
+        Type[] types = new Type[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (mUnwrapper.canCarryMirror(parameterTypes[i])) {
+                indices[count] = i;
+                types[count] = genericParameterTypes.length == parameterTypes.length ? genericParameterTypes[i] : parameterTypes[i];
+                count++;
+            }
+        }
+
+        return count == 0 ? MirrorParameters.NONE : new MirrorParameters(Arrays.copyOf(indices, count), Arrays.copyOf(types, count));
+    }
 
-        for (Object parameter : parameters) {
-            Object unwrapped = mUnwrapper.unwrap(parameter);
-            unwrappedParameters.add(unwrapped);
+    /**
+     * Unwraps the arguments passed to the given parameters, as found by {@link #findMirrorParameters(Method)}. The
+     * given array is returned as is, unless an argument was actually unwrapped.
+     */
+    public Object[] unwrapParameters(MirrorParameters mirrorParameters, Object[] parameters) throws UnwrappingException {
+        Object[] unwrappedParameters = parameters;
+
+        for (int i = 0; i < mirrorParameters.size(); i++) {
+            int index = mirrorParameters.getIndex(i);
+            Object parameter = parameters[index];
+            Object unwrapped = mUnwrapper.unwrap(parameter, mirrorParameters.getType(i));
+
+            if (unwrapped != parameter) {
+                if (unwrappedParameters == parameters) {
+                    unwrappedParameters = parameters.clone();
+                }
+                unwrappedParameters[index] = unwrapped;
+            }
         }
 
-        return unwrappedParameters.toArray();
+        return unwrappedParameters;
     }
 
     public Class<?>[] unwrapParameterTypes(Method method) throws UnwrappingException {
@@ -46,59 +106,116 @@ public class ReflectionHelper {
     }
 
     public Method findMirrorMethod(Method method, String methodName, Class<?> targetClass) throws NoSuchMethodException, UnwrappingException {
+        if (mMirrorIndex != null) {
+            Method indexedMethod = mMirrorIndex.findMethod(method, methodName, targetClass);
+            if (indexedMethod != null) {
+                indexedMethod.setAccessible(true);
+                return indexedMethod;
+            }
+        }
+
         Class<?>[] parameterTypes = unwrapParameterTypes(method);
+
+        Method mirroredMethod;
         try {
-            return targetClass.getDeclaredMethod(methodName, parameterTypes);
+            mirroredMethod = targetClass.getDeclaredMethod(methodName, parameterTypes);
         } catch (NoSuchMethodException e) {
-            return targetClass.getMethod(methodName, parameterTypes);
+            mirroredMethod = targetClass.getMethod(methodName, parameterTypes);
+        }
+
+        mirroredMethod.setAccessible(true);
+        if (mMirrorIndex != null) {
+            mMirrorIndex.putMethod(method, methodName, targetClass, mirroredMethod);
         }
+
+        return mirroredMethod;
+    }
+
+    public MemberInvoker createMethodInvoker(Method method) throws IllegalAccessException {
+        return mInvocationEngine.createMethodInvoker(method);
     }
 
-    public Object invokeMirrorMethod(Method method, Object instance, Class<?> returnType, Object... parameters) throws InvocationTargetException, IllegalAccessException, UnwrappingException, WrappingException {
-        Object[] unwrappedParameters = unwrapParameters(parameters);
+    public Object invokeMirrorMethod(MemberInvoker methodInvoker, MirrorParameters mirrorParameters, Object instance, Type returnType, Object[] parameters) throws InvocationTargetException, IllegalAccessException, InstantiationException, UnwrappingException, WrappingException {
+        Object[] unwrappedParameters = unwrapParameters(mirrorParameters, parameters);
 
-        method.setAccessible(true);
-        Object result = method.invoke(instance, unwrappedParameters);
+        Object result = methodInvoker.invoke(instance, unwrappedParameters);
 
         return mWrapper.wrap(result, returnType);
     }
 
     public Field findMirrorField(String fieldName, Class<?> targetClass) throws NoSuchFieldException {
+        if (mMirrorIndex != null) {
+            Field indexedField = mMirrorIndex.findField(fieldName, targetClass);
+            if (indexedField != null) {
+                indexedField.setAccessible(true);
+                return indexedField;
+            }
+        }
+
+        Field field;
         try {
-            return targetClass.getDeclaredField(fieldName);
+            field = targetClass.getDeclaredField(fieldName);
         } catch (NoSuchFieldException e) {
-            return targetClass.getField(fieldName);
+            field = targetClass.getField(fieldName);
         }
-    }
 
-    public Object getFieldValue(Field field, Object instance, Class<?> returnType) throws IllegalAccessException, WrappingException {
         field.setAccessible(true);
-        Object result = field.get(instance);
+        if (mMirrorIndex != null) {
+            mMirrorIndex.putField(fieldName, targetClass, field);
+        }
 
-        return mWrapper.wrap(result, returnType);
+        return field;
     }
 
-    public void setFieldValue(Field field, Object instance, Object value) throws UnwrappingException, IllegalAccessException {
-        field.setAccessible(true);
+    public FieldAccessor createFieldAccessor(Field field, FieldAccessMode accessMode) throws IllegalAccessException {
+        return mInvocationEngine.createFieldAccessor(field, accessMode);
+    }
 
-        Object unwrappedValue = mUnwrapper.unwrap(value);
-        field.set(instance, unwrappedValue);
+    public Object getFieldValue(FieldAccessor fieldAccessor, Object instance, Type returnType) throws IllegalAccessException, WrappingException {
+        Object result = fieldAccessor.get(instance);
+
+        return mWrapper.wrap(result, returnType);
+    }
+
+    public void setFieldValue(FieldAccessor fieldAccessor, MirrorParameters mirrorParameters, Object instance, Object value) throws UnwrappingException, IllegalAccessException {
+        Object unwrappedValue = mirrorParameters.isEmpty() ? value : mUnwrapper.unwrap(value, mirrorParameters.getType(0));
+        fieldAccessor.set(instance, unwrappedValue);
     }
 
     public Constructor<?> findMirrorConstructor(Method method, Class<?> targetClass) throws UnwrappingException, NoSuchMethodException {
+        if (mMirrorIndex != null) {
+            Constructor<?> indexedConstructor = mMirrorIndex.findConstructor(method, targetClass);
+            if (indexedConstructor != null) {
+                indexedConstructor.setAccessible(true);
+                return indexedConstructor;
+            }
+        }
+
         Class<?>[] parameterTypes = unwrapParameterTypes(method);
+
+        Constructor<?> constructor;
         try {
-            return targetClass.getDeclaredConstructor(parameterTypes);
+            constructor = targetClass.getDeclaredConstructor(parameterTypes);
         } catch (NoSuchMethodException e) {
-            return targetClass.getConstructor(parameterTypes);
+            constructor = targetClass.getConstructor(parameterTypes);
+        }
+
+        constructor.setAccessible(true);
+        if (mMirrorIndex != null) {
+            mMirrorIndex.putConstructor(method, targetClass, constructor);
         }
+
+        return constructor;
+    }
+
+    public MemberInvoker createConstructorInvoker(Constructor<?> constructor) throws IllegalAccessException {
+        return mInvocationEngine.createConstructorInvoker(constructor);
     }
 
-    public Object invokeMirrorConstructor(Constructor<?> constructor, Class<?> returnType, Object... parameters) throws UnwrappingException, IllegalAccessException, InvocationTargetException, InstantiationException, WrappingException {
-        Object[] unwrappedParameters = unwrapParameters(parameters);
+    public Object invokeMirrorConstructor(MemberInvoker constructorInvoker, MirrorParameters mirrorParameters, Class<?> returnType, Object[] parameters) throws UnwrappingException, IllegalAccessException, InvocationTargetException, InstantiationException, WrappingException {
+        Object[] unwrappedParameters = unwrapParameters(mirrorParameters, parameters);
 
-        constructor.setAccessible(true);
-        Object result = constructor.newInstance(unwrappedParameters);
+        Object result = constructorInvoker.invoke(null, unwrappedParameters);
 
         return mWrapper.wrap(result, returnType);
     }
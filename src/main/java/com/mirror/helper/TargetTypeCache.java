@@ -0,0 +1,83 @@
+package com.mirror.helper;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Caches the classes resolved for a mirror type, per class loader.
+ * <p>
+ * Entries are attached to the mirror type through a {@link ClassValue}, and hold both the class loader and the
+ * resolved class weakly, so that neither is kept from unloading by the cache. Lookups do not lock.
+ * <p>
+ * Each entry records whether its class was initialized when resolved, so that classes resolved without initialization
+ * are resolved again by lookups which require it.
+ */
+final class TargetTypeCache {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Object mLock = new Object();
+    private volatile Entry[] mEntries = NO_ENTRIES;
+
+    Class<?> get(ClassLoader classLoader, boolean initialized) {
+        for (Entry entry : mEntries) {
+            if (entry.isFor(classLoader) && (entry.mInitialized || !initialized)) {
+                Class<?> type = entry.mType.get();
+                if (type != null) {
+                    return type;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    void put(ClassLoader classLoader, Class<?> type, boolean initialized) {
+        synchronized (mLock) {
+            Entry[] entries = mEntries;
+            Entry[] newEntries = new Entry[entries.length + 1];
+
+            int count = 0;
+            for (Entry entry : entries) {
+                if (entry.isLive() && !entry.isFor(classLoader)) {
+                    newEntries[count++] = entry;
+                }
+            }
+            newEntries[count++] = new Entry(classLoader, type, initialized);
+
+            if (count < newEntries.length) {
+                Entry[] trimmed = new Entry[count];
+                System.arraycopy(newEntries, 0, trimmed, 0, count);
+                newEntries = trimmed;
+            }
+
+            mEntries = newEntries;
+        }
+    }
+
+    private static final class Entry {
+
+        private final boolean mBootstrap;
+        private final WeakReference<ClassLoader> mClassLoader;
+        private final WeakReference<Class<?>> mType;
+        private final boolean mInitialized;
+
+        Entry(ClassLoader classLoader, Class<?> type, boolean initialized) {
+            mBootstrap = classLoader == null;
+            mClassLoader = new WeakReference<>(classLoader);
+            mType = new WeakReference<>(type);
+            mInitialized = initialized;
+        }
+
+        boolean isFor(ClassLoader classLoader) {
+            if (classLoader == null) {
+                return mBootstrap;
+            }
+
+            return mClassLoader.get() == classLoader;
+        }
+
+        boolean isLive() {
+            return mType.get() != null && (mBootstrap || mClassLoader.get() != null);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.mirror.index;
+
+import com.mirror.helper.MirrorHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ *     Keeps the members resolved for mirror methods, so that they can be written to a file, and resolved directly
+ *     from it after a restart.
+ * </p>
+ *
+ * Each entry records the target class, the class declaring the resolved member, and the member's name, parameter
+ * types and modifiers. A member is then looked up directly in that class, instead of searching the declared and public
+ * members of the target class, and without resolving the target types of mirror parameters.
+ * <p>
+ *     Entries whose member is no longer declared with the recorded parameter types and modifiers are ignored and resolved
+ *     again. Entries of inherited members are also validated against the size and modification time of the file the
+ *     target class was loaded from, read once per class, so that they are resolved again once the target class may
+ *     declare the member itself.
+ * </p>
+ */
+public class MirrorIndex {
+
+    private static final int MAGIC = 0x4D495258;
+    private static final int VERSION = 2;
+
+    private static final byte KIND_METHOD = 0;
+    private static final byte KIND_FIELD = 1;
+    private static final byte KIND_CONSTRUCTOR = 2;
+
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    private static final long NO_HASH = 0;
+
+    private final Path mFile;
+    private final MirrorHelper mMirrorHelper;
+    private final ClassValue<Long> mClassHashes;
+    private final Map<String, Entry> mEntries;
+
+    public MirrorIndex(Path file, MirrorHelper mirrorHelper) {
+        this(file, mirrorHelper, null);
+    }
+
+    /**
+     * @param classHasher hashes target classes to validate entries of inherited members, or <code>null</code> to hash
+     *                    their class files.
+     */
+    MirrorIndex(Path file, MirrorHelper mirrorHelper, ToLongFunction<Class<?>> classHasher) {
+        mFile = file;
+        mMirrorHelper = mirrorHelper;
+        mClassHashes = new ClassValue<Long>() {
+            @Override
+            protected Long computeValue(Class<?> type) {
+                return classHasher != null ? classHasher.applyAsLong(type) : hashClassFile(type);
+            }
+        };
+        mEntries = new ConcurrentHashMap<String, Entry>();
+    }
+
+    /**
+     * Reads the entries of the index file, if it exists. A file which cannot be read, or was written by another version,
+     * is ignored.
+     * <p>
+     *     The file is read with <code>java.io</code>, which is loaded by the time mirrors are created, so that reading
+     *     the index does not load file channels and attribute views on startup.
+     * </p>
+     */
+    public void read() {
+        File file = mFile.toFile();
+        if (!file.isFile()) {
+            // nothing indexed yet
+            return;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(readFile(file));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return;
+            }
+
+            int count = Entry.readLength(buffer);
+            for (int i = 0; i < count; i++) {
+                Entry entry = Entry.read(buffer);
+                mEntries.put(entry.mKey, entry);
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            mEntries.clear();
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        try (InputStream in = new FileInputStream(file)) {
+            int length = 0;
+            while (length < bytes.length) {
+                int read = in.read(bytes, length, bytes.length - length);
+                if (read < 0) {
+                    throw new EOFException(file.toString());
+                }
+                length += read;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Writes all entries to the index file, replacing it.
+     */
+    public void write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            Entry[] entries = mEntries.values().toArray(new Entry[0]);
+            out.writeInt(entries.length);
+            for (Entry entry : entries) {
+                entry.write(out);
+            }
+        }
+
+        Path parent = mFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(parent, mFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, bytes.toByteArray());
+            Files.move(temporaryFile, mFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    public int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * @return the indexed method mirrored by the given mirror method, or <code>null</code> if it is not indexed, or
+     * the entry is stale.
+     */
+    public Method findMethod(Method mirrorMethod, String methodName, Class<?> targetClass) {
+        return (Method) find(KIND_METHOD, methodKey(mirrorMethod, methodName, targetClass), targetClass);
+    }
+
+    public void putMethod(Method mirrorMethod, String methodName, Class<?> targetClass, Method method) {
+        put(KIND_METHOD, methodKey(mirrorMethod, methodName, targetClass), targetClass, method, method.getParameterTypes());
+    }
+
+    public Field findField(String fieldName, Class<?> targetClass) {
+        return (Field) find(KIND_FIELD, fieldKey(fieldName, targetClass), targetClass);
+    }
+
+    public void putField(String fieldName, Class<?> targetClass, Field field) {
+        put(KIND_FIELD, fieldKey(fieldName, targetClass), targetClass, field, new Class<?>[0]);
+    }
+
+    public Constructor<?> findConstructor(Method creatorMethod, Class<?> targetClass) {
+        return (Constructor<?>) find(KIND_CONSTRUCTOR, methodKey(creatorMethod, CONSTRUCTOR_NAME, targetClass), targetClass);
+    }
+
+    public void putConstructor(Method creatorMethod, Class<?> targetClass, Constructor<?> constructor) {
+        put(KIND_CONSTRUCTOR, methodKey(creatorMethod, CONSTRUCTOR_NAME, targetClass), targetClass, constructor, constructor.getParameterTypes());
+    }
+
+    private Member find(byte kind, String key, Class<?> targetClass) {
+        Entry entry = mEntries.get(key);
+        if (entry == null || entry.mKind != kind) {
+            return null;
+        }
+
+        Member member = null;
+        Class<?> declaringClass = entry.findDeclaringClass(targetClass);
+        if (declaringClass != null && entry.mTargetHash == hash(targetClass, declaringClass)) {
+            member = entry.resolve(declaringClass);
+        }
+
+        if (member == null) {
+            mEntries.remove(key, entry);
+        }
+
+        return member;
+    }
+
+    private void put(byte kind, String key, Class<?> targetClass, Member member, Class<?>[] parameterTypes) {
+        long targetHash = hash(targetClass, member.getDeclaringClass());
+        if (targetHash == NO_HASH && member.getDeclaringClass() != targetClass) {
+            return;
+        }
+
+        String[] parameterTypeNames = new String[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypeNames[i] = parameterTypes[i].getName();
+        }
+
+        mEntries.put(key, new Entry(kind, key, targetHash, member.getDeclaringClass().getName(),
+                member.getName(), parameterTypeNames, member.getModifiers()));
+    }
+
+    /**
+     * Builds the key of a mirror method from the names of the types its parameters are unwrapped to, which are read from
+     * the {@link com.mirror.MirroredClass} annotations of mirror parameters without loading the mirrored classes.
+     */
+    private String methodKey(Method mirrorMethod, String methodName, Class<?> targetClass) {
+        StringBuilder key = new StringBuilder(targetClass.getName()).append('#').append(methodName).append('(');
+
+        Class<?>[] parameterTypes = mirrorMethod.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(unwrappedTypeName(parameterTypes[i]));
+        }
+
+        return key.append(')').toString();
+    }
+
+    private static String fieldKey(String fieldName, Class<?> targetClass) {
+        return targetClass.getName() + '.' + fieldName;
+    }
+
+    private String unwrappedTypeName(Class<?> type) {
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                return type.getName();
+            }
+
+            String componentName = unwrappedTypeName(componentType);
+            return componentType.isArray() ? '[' + componentName : "[L" + componentName + ';';
+        }
+
+        return mMirrorHelper.isMirror(type) ? mMirrorHelper.getMirroredTypeName(type) : type.getName();
+    }
+
+    /**
+     * A member declared by the target class is looked up with the same name and parameter types as when it was first
+     * resolved, so it needs no validation. A member inherited by the target class is no longer the one found if the
+     * target class starts declaring it, which is detected from its class file.
+     *
+     * @return the hash of the class file of the target class if it does not declare the member, or 0.
+     */
+    private long hash(Class<?> targetClass, Class<?> declaringClass) {
+        return declaringClass == targetClass ? NO_HASH : mClassHashes.get(targetClass);
+    }
+
+    /**
+     * Hashes the size and modification time of the file the given class was loaded from: its class file, or the jar
+     * containing it. Only the attributes of that one file are read, so that validating entries costs less than the
+     * lookups they save.
+     *
+     * @return the hash, or 0 if the class was not loaded from a file.
+     */
+    static long hashClassFile(Class<?> type) {
+        try {
+            CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+            URL location = codeSource != null ? codeSource.getLocation() : null;
+            if (location == null || !"file".equals(location.getProtocol())) {
+                return NO_HASH;
+            }
+
+            File file = new File(location.toURI());
+            if (location.getPath().endsWith("/")) {
+                file = new File(file, type.getName().replace('.', '/') + ".class");
+            }
+
+            long lastModified = file.lastModified();
+            if (lastModified == 0) {
+                return NO_HASH;
+            }
+
+            long hash = file.length() * 31 + lastModified;
+            return hash == NO_HASH ? 1 : hash;
+        } catch (URISyntaxException | RuntimeException e) {
+            return NO_HASH;
+        }
+    }
+
+    private static final class Entry {
+
+        private final byte mKind;
+        private final String mKey;
+        private final long mTargetHash;
+        private final String mDeclaringClassName;
+        private final String mName;
+        private final String[] mParameterTypeNames;
+        private final int mModifiers;
+
+        Entry(byte kind, String key, long targetHash, String declaringClassName, String name, String[] parameterTypeNames, int modifiers) {
+            mKind = kind;
+            mKey = key;
+            mTargetHash = targetHash;
+            mDeclaringClassName = declaringClassName;
+            mName = name;
+            mParameterTypeNames = parameterTypeNames;
+            mModifiers = modifiers;
+        }
+
+        /**
+         * Looks up the member in the given class, which is the class found by {@link #findDeclaringClass(Class)}.
+         */
+        Member resolve(Class<?> declaringClass) {
+            Member member;
+            try {
+                switch (mKind) {
+                    case KIND_METHOD:
+                        member = declaringClass.getDeclaredMethod(mName, loadParameterTypes(declaringClass.getClassLoader()));
+                        break;
+                    case KIND_CONSTRUCTOR:
+                        member = declaringClass.getDeclaredConstructor(loadParameterTypes(declaringClass.getClassLoader()));
+                        break;
+                    default:
+                        member = declaringClass.getDeclaredField(mName);
+                        break;
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+
+            return member.getModifiers() == mModifiers ? member : null;
+        }
+
+        /**
+         * @return the class declaring the member among the target class, its superclasses and the interfaces they
+         * implement, or <code>null</code> if there is none.
+         */
+        Class<?> findDeclaringClass(Class<?> type) {
+            if (type == null || type.getName().equals(mDeclaringClassName)) {
+                return type;
+            }
+
+            Class<?> declaringClass = findDeclaringClass(type.getSuperclass());
+            for (int i = 0; declaringClass == null && i < type.getInterfaces().length; i++) {
+                declaringClass = findDeclaringClass(type.getInterfaces()[i]);
+            }
+
+            return declaringClass;
+        }
+
+        private Class<?>[] loadParameterTypes(ClassLoader classLoader) throws ClassNotFoundException {
+            Class<?>[] parameterTypes = new Class<?>[mParameterTypeNames.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = loadType(mParameterTypeNames[i], classLoader);
+            }
+
+            return parameterTypes;
+        }
+
+        private static Class<?> loadType(String name, ClassLoader classLoader) throws ClassNotFoundException {
+            switch (name) {
+                case "boolean":
+                    return boolean.class;
+                case "byte":
+                    return byte.class;
+                case "char":
+                    return char.class;
+                case "short":
+                    return short.class;
+                case "int":
+                    return int.class;
+                case "long":
+                    return long.class;
+                case "float":
+                    return float.class;
+                case "double":
+                    return double.class;
+                default:
+                    return Class.forName(name, false, classLoader);
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(mKind);
+            writeString(out, mKey);
+            out.writeLong(mTargetHash);
+            writeString(out, mDeclaringClassName);
+            writeString(out, mName);
+            out.writeShort(mParameterTypeNames.length);
+            for (String parameterTypeName : mParameterTypeNames) {
+                writeString(out, parameterTypeName);
+            }
+            out.writeInt(mModifiers);
+        }
+
+        static Entry read(ByteBuffer buffer) {
+            byte kind = buffer.get();
+            if (kind != KIND_METHOD && kind != KIND_FIELD && kind != KIND_CONSTRUCTOR) {
+                throw new IllegalArgumentException("unknown entry kind: " + kind);
+            }
+
+            String key = readString(buffer);
+            long targetHash = buffer.getLong();
+            String declaringClassName = readString(buffer);
+            String name = readString(buffer);
+            String[] parameterTypeNames = new String[checkLength(buffer, buffer.getShort() & 0xFFFF)];
+            for (int i = 0; i < parameterTypeNames.length; i++) {
+                parameterTypeNames[i] = readString(buffer);
+            }
+            int modifiers = buffer.getInt();
+
+            return new Entry(kind, key, targetHash, declaringClassName, name, parameterTypeNames, modifiers);
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            byte[] bytes = new byte[readLength(buffer)];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads a length, checking it against the remaining bytes before anything is allocated for it. Each counted
+         * element takes at least one byte, so a longer length can only come from a corrupt file.
+         */
+        static int readLength(ByteBuffer buffer) {
+            return checkLength(buffer, buffer.getInt());
+        }
+
+        private static int checkLength(ByteBuffer buffer, int length) {
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("invalid length: " + length);
+            }
+
+            return length;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.mirror.invocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ *     Invokes a mirror method declared to return <code>CompletableFuture&lt;T&gt;</code>, for a mirrored method which
+ *     returns <code>T</code>, on an {@link Executor}.
+ * </p>
+ *
+ * The returned future completes with the wrapped result of the mirrored call, or exceptionally with the exception it
+ * would have thrown, after translation.
+ */
+public class AsyncInvocationPlan implements InvocationPlan {
+
+    private final InvocationPlan mPlan;
+    private final Executor mExecutor;
+
+    /**
+     * @param plan performs the mirrored call, wrapping its result into the future's result type.
+     * @param executor runs the mirrored calls.
+     */
+    public AsyncInvocationPlan(InvocationPlan plan, Executor executor) {
+        mPlan = plan;
+        mExecutor = executor;
+    }
+
+    @Override
+    public Object invoke(Object targetInstance, Object[] args) {
+        return submit(mExecutor, mPlan, targetInstance, args);
+    }
+
+    /**
+     * Runs the given plan on the executor.
+     *
+     * @return a future completed with the result of the plan, or exceptionally with the exception it threw, or with the
+     * <code>RejectedExecutionException</code> of an executor which did not accept the call.
+     */
+    public static CompletableFuture<Object> submit(Executor executor, InvocationPlan plan, Object targetInstance, Object[] args) {
+        CompletableFuture<Object> future = new CompletableFuture<Object>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(plan.invoke(targetInstance, args));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Whether calls to the given mirror method are dispatched on an executor: it returns <code>CompletableFuture</code>,
+     * while the mirrored method does not return a <code>CompletionStage</code> itself.
+     */
+    public static boolean isAsync(Method mirrorMethod, Method mirroredMethod) {
+        return mirrorMethod.getReturnType() == CompletableFuture.class
+                && !CompletionStage.class.isAssignableFrom(mirroredMethod.getReturnType());
+    }
+
+    /**
+     * @return the type of the result of the future returned by the given asynchronous mirror method.
+     */
+    public static Type getResultType(Method mirrorMethod) {
+        Type returnType = mirrorMethod.getGenericReturnType();
+        if (!(returnType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+
+        Type resultType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (resultType instanceof WildcardType) {
+            return ((WildcardType) resultType).getUpperBounds()[0];
+        }
+
+        return resultType;
+    }
+
+    /**
+     * Returns the executor used when none is configured: a virtual thread per task on JDKs which support virtual threads,
+     * and otherwise a cached pool of daemon threads, since mirrored calls may block.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    private static class DefaultExecutorHolder {
+
+        static final Executor EXECUTOR = createDefaultExecutor();
+
+        private static Executor createDefaultExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return Executors.newCachedThreadPool(new DaemonThreadFactory());
+            }
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mirror-async-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            // not inherited from the submitting thread, which would keep a plugin class loader alive
+            thread.setContextClassLoader(AsyncInvocationPlan.class.getClassLoader());
+            return thread;
+        }
+    }
+}
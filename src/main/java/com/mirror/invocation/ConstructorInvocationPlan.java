@@ -0,0 +1,40 @@
+package com.mirror.invocation;
+
+import com.mirror.engine.MemberInvoker;
+import com.mirror.helper.MirrorParameters;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.wrapping.ExceptionTranslator;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.UnwrappingException;
+import com.mirror.wrapping.WrappingException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ConstructorInvocationPlan implements InvocationPlan {
+
+    private final ReflectionHelper mReflectionHelper;
+    private final MemberInvoker mConstructorInvoker;
+    private final MirrorParameters mMirrorParameters;
+    private final Class<?> mMirrorClass;
+    private final ExceptionTranslator mExceptionTranslator;
+
+    public ConstructorInvocationPlan(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, MemberInvoker constructorInvoker, Method creatorMethod, ClassLoader classLoader) {
+        mReflectionHelper = reflectionHelper;
+        mConstructorInvoker = constructorInvoker;
+        mMirrorParameters = reflectionHelper.findMirrorParameters(creatorMethod);
+        mMirrorClass = creatorMethod.getReturnType();
+        mExceptionTranslator = throwableWrapper.createTranslator(creatorMethod.getExceptionTypes(), classLoader);
+    }
+
+    @Override
+    public Object invoke(Object targetInstance, Object[] args) throws Throwable {
+        try {
+            return mReflectionHelper.invokeMirrorConstructor(mConstructorInvoker, mMirrorParameters, mMirrorClass, args);
+        } catch (UnwrappingException | WrappingException | IllegalAccessException | InstantiationException e) {
+            throw new MirrorCreationByProxyException(e);
+        } catch (InvocationTargetException e) {
+            throw mExceptionTranslator.translate(e.getCause());
+        }
+    }
+}
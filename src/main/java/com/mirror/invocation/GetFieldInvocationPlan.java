@@ -0,0 +1,37 @@
+package com.mirror.invocation;
+
+import com.mirror.engine.FieldAccessor;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.WrappingException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+public class GetFieldInvocationPlan implements InvocationPlan {
+
+    private final ReflectionHelper mReflectionHelper;
+    private final ThrowableWrapper mThrowableWrapper;
+    private final FieldAccessor mFieldAccessor;
+    private final boolean mIsStatic;
+    private final Type mReturnType;
+
+    public GetFieldInvocationPlan(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Field field, FieldAccessor fieldAccessor, Type returnType) {
+        mReflectionHelper = reflectionHelper;
+        mThrowableWrapper = throwableWrapper;
+        mFieldAccessor = fieldAccessor;
+        mIsStatic = Modifier.isStatic(field.getModifiers());
+        mReturnType = returnType;
+    }
+
+    @Override
+    public Object invoke(Object targetInstance, Object[] args) {
+        try {
+            Object instance = mIsStatic ? null : targetInstance;
+            return mReflectionHelper.getFieldValue(mFieldAccessor, instance, mReturnType);
+        } catch (IllegalAccessException | WrappingException e) {
+            throw mThrowableWrapper.createFieldAccessException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.mirror.invocation;
+
+public interface InvocationPlan {
+
+    /**
+     * Passed as the arguments of methods without parameters, instead of allocating an empty array for each call.
+     */
+    Object[] NO_ARGUMENTS = new Object[0];
+
+    Object invoke(Object targetInstance, Object[] args) throws Throwable;
+}
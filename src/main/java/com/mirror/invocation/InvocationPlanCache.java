@@ -0,0 +1,34 @@
+package com.mirror.invocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InvocationPlanCache {
+
+    private final Map<Method, InvocationPlan> mPlans;
+
+    public InvocationPlanCache() {
+        mPlans = new ConcurrentHashMap<Method, InvocationPlan>();
+    }
+
+    public InvocationPlan get(Method method) {
+        return mPlans.get(method);
+    }
+
+    public InvocationPlan putIfAbsent(Method method, InvocationPlan plan) {
+        InvocationPlan existing = mPlans.putIfAbsent(method, plan);
+        return existing != null ? existing : plan;
+    }
+
+    /**
+     * Drops all plans. Mirrors using this cache resolve their members again on their next calls.
+     */
+    public void clear() {
+        mPlans.clear();
+    }
+
+    public int size() {
+        return mPlans.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.mirror.invocation;
+
+import com.mirror.metrics.MirrorMetrics;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Plan lookup and invocation shared by all invocation paths, so that they report the same events to
+ * {@link MirrorMetrics}.
+ */
+public final class InvocationPlans {
+
+    private InvocationPlans() {
+    }
+
+    /**
+     * Returns the cached plan of the given method, creating it on first use.
+     *
+     * @param mirrorMetrics listener notified of plan cache hits and misses, or <code>null</code>.
+     * @param targetClass the target class reported on misses, or <code>null</code> if there is none.
+     */
+    public static InvocationPlan get(InvocationPlanCache invocationPlanCache, Method method, Function<Method, InvocationPlan> planFactory, MirrorMetrics mirrorMetrics, Class<?> targetClass) {
+        InvocationPlan plan = invocationPlanCache.get(method);
+        if (plan == null) {
+            Object started = mirrorMetrics != null ? mirrorMetrics.onPlanResolutionStarted(method, targetClass) : null;
+            long start = mirrorMetrics != null ? System.nanoTime() : 0;
+            plan = invocationPlanCache.putIfAbsent(method, planFactory.apply(method));
+            if (mirrorMetrics != null) {
+                mirrorMetrics.onPlanCacheMiss(method, targetClass, System.nanoTime() - start, started);
+            }
+        } else if (mirrorMetrics != null) {
+            mirrorMetrics.onPlanCacheHit(method);
+        }
+
+        return plan;
+    }
+
+    /**
+     * Invokes the plan of the given method.
+     *
+     * @param mirrorMetrics listener notified of the invocation, or <code>null</code>.
+     * @param targetClass the target class reported with the invocation, or <code>null</code> if there is none.
+     */
+    public static Object invoke(InvocationPlan plan, Method method, Object instance, Object[] args, MirrorMetrics mirrorMetrics, Class<?> targetClass) throws Throwable {
+        if (mirrorMetrics == null) {
+            return plan.invoke(instance, args);
+        }
+
+        Object started = mirrorMetrics.onInvocationStarted(method, targetClass);
+        long start = System.nanoTime();
+        Throwable thrown = null;
+        try {
+            return plan.invoke(instance, args);
+        } catch (Throwable throwable) {
+            thrown = throwable;
+            throw throwable;
+        } finally {
+            mirrorMetrics.onInvocation(method, targetClass, System.nanoTime() - start, thrown, started);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mirror.invocation;
+
+import com.mirror.engine.MemberInvoker;
+import com.mirror.helper.MirrorParameters;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.wrapping.ExceptionTranslator;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.UnwrappingException;
+import com.mirror.wrapping.WrappingException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+public class MethodInvocationPlan implements InvocationPlan {
+
+    private final ReflectionHelper mReflectionHelper;
+    private final ThrowableWrapper mThrowableWrapper;
+    private final MemberInvoker mMethodInvoker;
+    private final MirrorParameters mMirrorParameters;
+    private final boolean mIsStatic;
+    private final Type mReturnType;
+    private final ExceptionTranslator mExceptionTranslator;
+
+    public MethodInvocationPlan(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Method mirroredMethod, MemberInvoker methodInvoker, Method mirrorMethod, ClassLoader classLoader) {
+        this(reflectionHelper, throwableWrapper, mirroredMethod, methodInvoker, mirrorMethod, mirrorMethod.getGenericReturnType(), classLoader);
+    }
+
+    /**
+     * @param returnType the type the result of the mirrored method is wrapped into.
+     */
+    public MethodInvocationPlan(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Method mirroredMethod, MemberInvoker methodInvoker, Method mirrorMethod, Type returnType, ClassLoader classLoader) {
+        mReflectionHelper = reflectionHelper;
+        mThrowableWrapper = throwableWrapper;
+        mMethodInvoker = methodInvoker;
+        mMirrorParameters = reflectionHelper.findMirrorParameters(mirrorMethod);
+        mIsStatic = Modifier.isStatic(mirroredMethod.getModifiers());
+        mReturnType = returnType;
+        mExceptionTranslator = throwableWrapper.createTranslator(mirrorMethod.getExceptionTypes(), classLoader);
+    }
+
+    @Override
+    public Object invoke(Object targetInstance, Object[] args) throws Throwable {
+        try {
+            Object instance = mIsStatic ? null : targetInstance;
+            return mReflectionHelper.invokeMirrorMethod(mMethodInvoker, mMirrorParameters, instance, mReturnType, args);
+        } catch (IllegalAccessException | InstantiationException | UnwrappingException | WrappingException e) {
+            throw mThrowableWrapper.createInvocationException(e);
+        } catch (InvocationTargetException e) {
+            throw mExceptionTranslator.translate(e.getCause());
+        }
+    }
+}
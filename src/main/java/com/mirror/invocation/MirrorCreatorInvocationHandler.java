@@ -4,15 +4,13 @@ import com.mirror.MirrorCreator;
 import com.mirror.validation.MirrorValidator;
 import com.mirror.helper.MirrorHelper;
 import com.mirror.helper.ReflectionHelper;
+import com.mirror.metrics.MirrorMetrics;
 import com.mirror.wrapping.ThrowableWrapper;
 import com.mirror.wrapping.UnwrappingException;
-import com.mirror.wrapping.WrappingException;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Optional;
 
 public class MirrorCreatorInvocationHandler implements InvocationHandler {
 
@@ -21,52 +19,59 @@ public class MirrorCreatorInvocationHandler implements InvocationHandler {
     private final MirrorHelper mMirrorHelper;
     private final MirrorValidator mMirrorValidator;
     private final ClassLoader mClassLoader;
+    private final InvocationPlanCache mInvocationPlanCache;
+    private final MirrorMetrics mMirrorMetrics;
 
-    public MirrorCreatorInvocationHandler(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, MirrorHelper mirrorHelper, MirrorValidator mirrorValidator, ClassLoader classLoader) {
+    public MirrorCreatorInvocationHandler(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, MirrorHelper mirrorHelper, MirrorValidator mirrorValidator, ClassLoader classLoader, InvocationPlanCache invocationPlanCache) {
+        this(reflectionHelper, throwableWrapper, mirrorHelper, mirrorValidator, classLoader, invocationPlanCache, null);
+    }
+
+    /**
+     * @param mirrorMetrics listener notified of invocations, or <code>null</code> to not measure invocations.
+     */
+    public MirrorCreatorInvocationHandler(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, MirrorHelper mirrorHelper, MirrorValidator mirrorValidator, ClassLoader classLoader, InvocationPlanCache invocationPlanCache, MirrorMetrics mirrorMetrics) {
         mReflectionHelper = reflectionHelper;
         mThrowableWrapper = throwableWrapper;
         mMirrorHelper = mirrorHelper;
         mMirrorValidator = mirrorValidator;
         mClassLoader = classLoader;
+        mInvocationPlanCache = invocationPlanCache;
+        mMirrorMetrics = mirrorMetrics;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         if (args == null) {
-            args = new Object[0];
+            args = InvocationPlan.NO_ARGUMENTS;
         }
 
+        return InvocationPlans.invoke(getInvocationPlan(method), method, null, args, mMirrorMetrics, null);
+    }
+
+    /**
+     * Returns the plan used to invoke the given method, resolving it on first use.
+     */
+    public InvocationPlan getInvocationPlan(Method method) {
+        return InvocationPlans.get(mInvocationPlanCache, method, this::createPlan, mMirrorMetrics, null);
+    }
+
+    private InvocationPlan createPlan(Method method) {
         if (method.isAnnotationPresent(MirrorCreator.class)) {
-            return createMirror(method.getReturnType(), method, args);
+            return createConstructorPlan(method.getReturnType(), method);
         }
 
         throw new MirrorCreationByProxyException(String.format("method %s has no invocation", method.getName()));
     }
 
-    private Object createMirror(Class<?> mirrorClass, Method method, Object[] args) throws Throwable {
+    private InvocationPlan createConstructorPlan(Class<?> mirrorClass, Method method) {
         try {
             mMirrorValidator.validateMirrorClass(mirrorClass);
             Class<?> targetClass = mMirrorHelper.getMirrorTargetType(mirrorClass, mClassLoader);
 
-            return invokeConstructor(mirrorClass, targetClass, method, args);
-        } catch (ClassNotFoundException e) {
-            throw new MirrorCreationByProxyException(e);
-        }
-    }
-
-    private Object invokeConstructor(Class<?> mirrorClass, Class<?> targetClass, Method method, Object[] args) throws Throwable {
-        try {
             Constructor<?> constructor = mReflectionHelper.findMirrorConstructor(method, targetClass);
-            return mReflectionHelper.invokeMirrorConstructor(constructor, mirrorClass, args);
-        } catch (UnwrappingException | WrappingException | IllegalAccessException | InstantiationException | NoSuchMethodException e) {
+            return new ConstructorInvocationPlan(mReflectionHelper, mThrowableWrapper, mReflectionHelper.createConstructorInvoker(constructor), method, mClassLoader);
+        } catch (ClassNotFoundException | UnwrappingException | IllegalAccessException | NoSuchMethodException e) {
             throw new MirrorCreationByProxyException(e);
-        } catch (InvocationTargetException e) {
-            Optional<Throwable> optionalThrowable = mThrowableWrapper.tryWrapThrowable(e.getCause(), method.getExceptionTypes(), mClassLoader);
-            if (optionalThrowable.isPresent()) {
-                throw optionalThrowable.get();
-            }
-
-            throw e.getCause();
         }
     }
 }
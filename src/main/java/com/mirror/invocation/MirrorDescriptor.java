@@ -0,0 +1,123 @@
+package com.mirror.invocation;
+
+import com.mirror.FieldAccessMode;
+import com.mirror.GetField;
+import com.mirror.SetField;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.metrics.MirrorMetrics;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.UnwrappingException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ *     The state shared by all proxy mirrors of a mirror interface: how their target class is accessed, and the plans
+ *     resolved for their methods.
+ * </p>
+ *
+ * Descriptors are immutable, apart from their plan cache, and are created once per mirror interface, so that each
+ * {@link MirrorInvocationHandler} only holds its descriptor and its target instance.
+ */
+public class MirrorDescriptor {
+
+    private final ReflectionHelper mReflectionHelper;
+    private final ThrowableWrapper mThrowableWrapper;
+    private final Class<?> mTargetClass;
+    private final ClassLoader mClassLoader;
+    private final InvocationPlanCache mInvocationPlanCache;
+    private final MirrorMetrics mMirrorMetrics;
+    private final Executor mAsyncExecutor;
+
+    /**
+     * @param mirrorMetrics listener notified of invocations, or <code>null</code> to not measure invocations.
+     * @param asyncExecutor executor of mirror methods returning <code>CompletableFuture</code>, or <code>null</code> to
+     *                      use {@link AsyncInvocationPlan#defaultExecutor()}.
+     */
+    public MirrorDescriptor(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Class<?> targetClass, ClassLoader classLoader, InvocationPlanCache invocationPlanCache, MirrorMetrics mirrorMetrics, Executor asyncExecutor) {
+        mReflectionHelper = reflectionHelper;
+        mThrowableWrapper = throwableWrapper;
+        mTargetClass = targetClass;
+        mClassLoader = classLoader;
+        mInvocationPlanCache = invocationPlanCache;
+        mMirrorMetrics = mirrorMetrics;
+        mAsyncExecutor = asyncExecutor;
+    }
+
+    public Class<?> getTargetClass() {
+        return mTargetClass;
+    }
+
+    /**
+     * Returns the plan used to invoke the given method, resolving it on first use.
+     */
+    public InvocationPlan getInvocationPlan(Method method) {
+        return InvocationPlans.get(mInvocationPlanCache, method, this::createPlan, mMirrorMetrics, mTargetClass);
+    }
+
+    /**
+     * Invokes the given method on a target instance, notifying the metrics listener if there is one.
+     */
+    public Object invoke(Method method, Object instance, Object[] args) throws Throwable {
+        return invoke(getInvocationPlan(method), method, instance, args);
+    }
+
+    /**
+     * Invokes an already resolved plan of the given method on a target instance, notifying the metrics listener if
+     * there is one.
+     */
+    public Object invoke(InvocationPlan plan, Method method, Object instance, Object[] args) throws Throwable {
+        return InvocationPlans.invoke(plan, method, instance, args, mMirrorMetrics, mTargetClass);
+    }
+
+    private InvocationPlan createPlan(Method method) {
+        if (method.isAnnotationPresent(GetField.class)) {
+            GetField getField = method.getAnnotation(GetField.class);
+            return createGetFieldPlan(getField.value(), getField.mode(), method.getGenericReturnType());
+        }
+
+        if (method.isAnnotationPresent(SetField.class)) {
+            SetField setField = method.getAnnotation(SetField.class);
+            return createSetFieldPlan(setField.value(), setField.mode(), method);
+        }
+
+        return createMethodPlan(method);
+    }
+
+    private InvocationPlan createGetFieldPlan(String fieldName, FieldAccessMode accessMode, Type fieldReturnType) {
+        try {
+            Field field = mReflectionHelper.findMirrorField(fieldName, mTargetClass);
+            return new GetFieldInvocationPlan(mReflectionHelper, mThrowableWrapper, field, mReflectionHelper.createFieldAccessor(field, accessMode), fieldReturnType);
+        } catch (ReflectiveOperationException e) {
+            throw new MirrorFieldAccessException(e);
+        }
+    }
+
+    private InvocationPlan createSetFieldPlan(String fieldName, FieldAccessMode accessMode, Method setterMethod) {
+        try {
+            Field field = mReflectionHelper.findMirrorField(fieldName, mTargetClass);
+            return new SetFieldInvocationPlan(mReflectionHelper, mThrowableWrapper, field, mReflectionHelper.createFieldAccessor(field, accessMode), setterMethod);
+        } catch (ReflectiveOperationException e) {
+            throw new MirrorFieldAccessException(e);
+        }
+    }
+
+    private InvocationPlan createMethodPlan(Method method) {
+        try {
+            String mirroredMethodName = method.getName();
+            Method mirroredMethod = mReflectionHelper.findMirrorMethod(method, mirroredMethodName, mTargetClass);
+
+            if (AsyncInvocationPlan.isAsync(method, mirroredMethod)) {
+                InvocationPlan plan = new MethodInvocationPlan(mReflectionHelper, mThrowableWrapper, mirroredMethod, mReflectionHelper.createMethodInvoker(mirroredMethod), method, AsyncInvocationPlan.getResultType(method), mClassLoader);
+                return new AsyncInvocationPlan(plan, mAsyncExecutor != null ? mAsyncExecutor : AsyncInvocationPlan.defaultExecutor());
+            }
+
+            return new MethodInvocationPlan(mReflectionHelper, mThrowableWrapper, mirroredMethod, mReflectionHelper.createMethodInvoker(mirroredMethod), method, mClassLoader);
+        } catch (NoSuchMethodException | IllegalAccessException | UnwrappingException e) {
+            throw new MirrorInvocationException(e);
+        }
+    }
+}
@@ -6,6 +6,13 @@ public class MirrorInvocationException extends RuntimeException {
         super(cause);
     }
 
+    /**
+     * @param writableStackTrace whether to capture the stack trace of this exception, in addition to that of its cause.
+     */
+    public MirrorInvocationException(Throwable cause, boolean writableStackTrace) {
+        super(cause == null ? null : cause.toString(), cause, true, writableStackTrace);
+    }
+
     public MirrorInvocationException(String message) {
         super(message);
     }
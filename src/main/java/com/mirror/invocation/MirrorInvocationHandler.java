@@ -1,29 +1,38 @@
 package com.mirror.invocation;
 
-import com.mirror.GetField;
-import com.mirror.SetField;
 import com.mirror.helper.ReflectionHelper;
 import com.mirror.wrapping.ThrowableWrapper;
-import com.mirror.wrapping.UnwrappingException;
-import com.mirror.wrapping.WrappingException;
 
-import java.lang.reflect.*;
-import java.util.Optional;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 
+/**
+ * Invocation handler of proxy mirrors. Only holds the target instance, and the {@link MirrorDescriptor} shared by all
+ * mirrors of the same mirror interface.
+ */
 public class MirrorInvocationHandler implements InvocationHandler {
 
-    private final ReflectionHelper mReflectionHelper;
-    private final ThrowableWrapper mThrowableWrapper;
-    private final Class<?> mTargetClass;
+    private final MirrorDescriptor mDescriptor;
     private final Object mTargetInstance;
-    private final ClassLoader mClassLoader;
 
-    public MirrorInvocationHandler(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Class<?> targetClass, Object targetInstance, ClassLoader classLoader) {
-        mReflectionHelper = reflectionHelper;
-        mThrowableWrapper = throwableWrapper;
-        mTargetClass = targetClass;
+    public MirrorInvocationHandler(MirrorDescriptor descriptor, Object targetInstance) {
+        mDescriptor = descriptor;
         mTargetInstance = targetInstance;
-        mClassLoader = classLoader;
+    }
+
+    /**
+     * Creates a handler with its own descriptor, which resolves and caches plans for this handler only.
+     *
+     * @deprecated use {@link #MirrorInvocationHandler(MirrorDescriptor, Object)} with a descriptor shared by the
+     * handlers of the same mirror interface.
+     */
+    @Deprecated
+    public MirrorInvocationHandler(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Class<?> targetClass, Object targetInstance, ClassLoader classLoader) {
+        this(new MirrorDescriptor(reflectionHelper, throwableWrapper, targetClass, classLoader, new InvocationPlanCache(), null, null), targetInstance);
+    }
+
+    public MirrorDescriptor getDescriptor() {
+        return mDescriptor;
     }
 
     public Object getTargetInstance() {
@@ -32,66 +41,21 @@ public class MirrorInvocationHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (args == null) {
-            args = new Object[0];
-        }
-
-        if (method.isAnnotationPresent(GetField.class)) {
-            GetField getField = method.getAnnotation(GetField.class);
-            return getFieldValue(getField.value(), method.getReturnType());
-        }
-
-        if (method.isAnnotationPresent(SetField.class)) {
-            if (args.length != 1) {
-                throw new MirrorFieldAccessException("Cannot set field with no argument");
-            }
-
-            SetField setField = method.getAnnotation(SetField.class);
-            setFieldValue(setField.value(), args[0]);
-            return null;
-        }
-
         return invokeMethod(method, args);
     }
 
-    private Object getFieldValue(String fieldName, Class<?> fieldReturnType) {
-        try {
-            Field field = mReflectionHelper.findMirrorField(fieldName, mTargetClass);
-
-            Object instance = Modifier.isStatic(field.getModifiers()) ? null : mTargetInstance;
-            return mReflectionHelper.getFieldValue(field, instance, fieldReturnType);
-        } catch (ReflectiveOperationException | WrappingException e) {
-            throw new MirrorFieldAccessException(e);
-        }
-    }
-
-    private void setFieldValue(String fieldName, Object value) {
-        try {
-            Field field = mReflectionHelper.findMirrorField(fieldName, mTargetClass);
-
-            Object instance = Modifier.isStatic(field.getModifiers()) ? null : mTargetInstance;
-            mReflectionHelper.setFieldValue(field, instance, value);
-        } catch (ReflectiveOperationException | UnwrappingException e) {
-            throw new MirrorFieldAccessException(e);
-        }
-    }
-
+    /**
+     * Invokes the mirrored method of the given mirror method on the instance returned by {@link #getTargetInstance()},
+     * through its cached plan.
+     */
     public Object invokeMethod(Method method, Object[] args) throws Throwable {
-        try {
-            String mirroredMethodName = method.getName();
-            Method mirroredMethod = mReflectionHelper.findMirrorMethod(method, mirroredMethodName, mTargetClass);
-
-            Object instance = Modifier.isStatic(mirroredMethod.getModifiers()) ? null : mTargetInstance;
-            return mReflectionHelper.invokeMirrorMethod(mirroredMethod, instance, method.getReturnType(), args);
-        } catch (NoSuchMethodException | IllegalAccessException | UnwrappingException | WrappingException e) {
-            throw new MirrorInvocationException(e);
-        } catch (InvocationTargetException e) {
-            Optional<Throwable> optionalThrowable = mThrowableWrapper.tryWrapThrowable(e.getCause(), method.getExceptionTypes(), mClassLoader);
-            if (optionalThrowable.isPresent()) {
-                throw optionalThrowable.get();
-            }
+        return mDescriptor.invoke(method, getTargetInstance(), args != null ? args : InvocationPlan.NO_ARGUMENTS);
+    }
 
-            throw e.getCause();
-        }
+    /**
+     * Returns the plan used to invoke the given method, resolving it on first use.
+     */
+    public InvocationPlan getInvocationPlan(Method method) {
+        return mDescriptor.getInvocationPlan(method);
     }
 }
@@ -0,0 +1,74 @@
+package com.mirror.invocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * <p>
+ *     Creates proxies implementing a single interface, through the constructor of the proxy class, which is resolved
+ *     once per interface.
+ * </p>
+ *
+ * This avoids the lookups and checks of {@link Proxy#newProxyInstance(ClassLoader, Class[], InvocationHandler)} on each
+ * proxy. Constructors are attached to the interface through a {@link ClassValue}, and only reference the proxy class,
+ * which is defined by the interface's class loader, so they do not keep any class loader from being unloaded.
+ */
+public final class MirrorProxies {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+    private static final MethodHandle NEW_PROXY_INSTANCE;
+
+    static {
+        try {
+            NEW_PROXY_INSTANCE = LOOKUP.findStatic(Proxy.class, "newProxyInstance",
+                    MethodType.methodType(Object.class, ClassLoader.class, Class[].class, InvocationHandler.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<MethodHandle> sConstructors = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findConstructor(type);
+        }
+    };
+
+    private MirrorProxies() {
+    }
+
+    public static <T> T newProxy(Class<T> interfaceClass, InvocationHandler invocationHandler) {
+        try {
+            return interfaceClass.cast((Object) sConstructors.get(interfaceClass).invokeExact(invocationHandler));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    /**
+     * @return the constructor of the proxy class, or, if it cannot be accessed, a handle creating proxies through
+     * <code>Proxy.newProxyInstance</code>.
+     */
+    @SuppressWarnings("deprecation")
+    private static MethodHandle findConstructor(Class<?> interfaceClass) {
+        Class<?>[] interfaces = {interfaceClass};
+
+        try {
+            Class<?> proxyClass = Proxy.getProxyClass(interfaceClass.getClassLoader(), interfaces);
+            Constructor<?> constructor = proxyClass.getConstructor(InvocationHandler.class);
+            constructor.setAccessible(true);
+
+            return LOOKUP.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | IllegalArgumentException | SecurityException e) {
+            return MethodHandles.insertArguments(NEW_PROXY_INSTANCE, 0, interfaceClass.getClassLoader(), interfaces);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mirror.invocation;
+
+import com.mirror.engine.FieldAccessor;
+import com.mirror.helper.MirrorParameters;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.UnwrappingException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public class SetFieldInvocationPlan implements InvocationPlan {
+
+    private final ReflectionHelper mReflectionHelper;
+    private final ThrowableWrapper mThrowableWrapper;
+    private final FieldAccessor mFieldAccessor;
+    private final MirrorParameters mMirrorParameters;
+    private final boolean mIsStatic;
+
+    public SetFieldInvocationPlan(ReflectionHelper reflectionHelper, ThrowableWrapper throwableWrapper, Field field, FieldAccessor fieldAccessor, Method setterMethod) {
+        mReflectionHelper = reflectionHelper;
+        mThrowableWrapper = throwableWrapper;
+        mFieldAccessor = fieldAccessor;
+        mMirrorParameters = reflectionHelper.findMirrorParameters(setterMethod);
+        mIsStatic = Modifier.isStatic(field.getModifiers());
+    }
+
+    @Override
+    public Object invoke(Object targetInstance, Object[] args) {
+        if (args.length != 1) {
+            throw new MirrorFieldAccessException("Cannot set field with no argument");
+        }
+
+        try {
+            Object instance = mIsStatic ? null : targetInstance;
+            mReflectionHelper.setFieldValue(mFieldAccessor, mMirrorParameters, instance, args[0]);
+            return null;
+        } catch (IllegalAccessException | UnwrappingException e) {
+            throw mThrowableWrapper.createFieldAccessException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.mirror.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     A {@link MirrorMetrics} which keeps counters, and a {@link LatencyHistogram} of invocations for each mirror method.
+ * </p>
+ *
+ * Recording does not lock, apart from the first invocation of each mirror method.
+ */
+public class InvocationMetrics implements MirrorMetrics {
+
+    private final Map<Method, MethodMetrics> mMethodMetrics;
+    private final LongAdder mPlanCacheHits;
+    private final LongAdder mPlanCacheMisses;
+    private final LongAdder mMirrorsCreated;
+    private final LongAdder mValuesWrapped;
+    private final LongAdder mWrappedMirrorCacheHits;
+    private final LongAdder mExceptionsTranslated;
+
+    public InvocationMetrics() {
+        mMethodMetrics = new ConcurrentHashMap<Method, MethodMetrics>();
+        mPlanCacheHits = new LongAdder();
+        mPlanCacheMisses = new LongAdder();
+        mMirrorsCreated = new LongAdder();
+        mValuesWrapped = new LongAdder();
+        mWrappedMirrorCacheHits = new LongAdder();
+        mExceptionsTranslated = new LongAdder();
+    }
+
+    @Override
+    public void onInvocation(Method mirrorMethod, Class<?> targetClass, long durationNanos, Throwable thrown) {
+        MethodMetrics methodMetrics = mMethodMetrics.get(mirrorMethod);
+        if (methodMetrics == null) {
+            methodMetrics = mMethodMetrics.computeIfAbsent(mirrorMethod, method -> new MethodMetrics());
+        }
+
+        methodMetrics.record(durationNanos, thrown != null);
+    }
+
+    @Override
+    public void onPlanCacheHit(Method mirrorMethod) {
+        mPlanCacheHits.increment();
+    }
+
+    @Override
+    public void onPlanCacheMiss(Method mirrorMethod, Class<?> targetClass, long durationNanos) {
+        mPlanCacheMisses.increment();
+    }
+
+    @Override
+    public void onMirrorCreated(Class<?> mirrorClass, Class<?> targetClass, long durationNanos) {
+        mMirrorsCreated.increment();
+    }
+
+    @Override
+    public void onValueWrapped(Class<?> mirrorClass, boolean cached) {
+        mValuesWrapped.increment();
+        if (cached) {
+            mWrappedMirrorCacheHits.increment();
+        }
+    }
+
+    @Override
+    public void onExceptionTranslated(Class<? extends Throwable> throwableType, Class<? extends Throwable> translatedType) {
+        mExceptionsTranslated.increment();
+    }
+
+    /**
+     * @return the metrics of each mirror method invoked so far.
+     */
+    public Map<Method, MethodMetrics> getMethodMetrics() {
+        return Collections.unmodifiableMap(mMethodMetrics);
+    }
+
+    public long getPlanCacheHits() {
+        return mPlanCacheHits.sum();
+    }
+
+    public long getPlanCacheMisses() {
+        return mPlanCacheMisses.sum();
+    }
+
+    /**
+     * @return the ratio of plan lookups found in the cache, or 0 if there were none.
+     */
+    public double getPlanCacheHitRatio() {
+        long hits = getPlanCacheHits();
+        long total = hits + getPlanCacheMisses();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getMirrorsCreated() {
+        return mMirrorsCreated.sum();
+    }
+
+    public long getValuesWrapped() {
+        return mValuesWrapped.sum();
+    }
+
+    public long getWrappedMirrorCacheHits() {
+        return mWrappedMirrorCacheHits.sum();
+    }
+
+    public long getExceptionsTranslated() {
+        return mExceptionsTranslated.sum();
+    }
+
+    public static class MethodMetrics {
+
+        private final LongAdder mInvocations;
+        private final LongAdder mFailures;
+        private final LatencyHistogram mLatency;
+
+        MethodMetrics() {
+            mInvocations = new LongAdder();
+            mFailures = new LongAdder();
+            mLatency = new LatencyHistogram();
+        }
+
+        void record(long durationNanos, boolean failed) {
+            mInvocations.increment();
+            if (failed) {
+                mFailures.increment();
+            }
+            mLatency.record(durationNanos);
+        }
+
+        public long getInvocations() {
+            return mInvocations.sum();
+        }
+
+        /**
+         * @return the number of invocations which threw.
+         */
+        public long getFailures() {
+            return mFailures.sum();
+        }
+
+        /**
+         * @return the histogram of invocation durations, in nanoseconds.
+         */
+        public LatencyHistogram getLatency() {
+            return mLatency;
+        }
+    }
+}
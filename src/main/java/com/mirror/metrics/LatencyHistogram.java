@@ -0,0 +1,98 @@
+package com.mirror.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ *     A histogram of durations in nanoseconds, with a bounded relative error, in the style of HdrHistogram.
+ * </p>
+ *
+ * Each power of two range is split into {@value #SUB_BUCKET_COUNT} linear buckets, so that a recorded value is
+ * reported with an error of at most 1/{@value #SUB_BUCKET_COUNT} of its magnitude. Recording is lock-free, and does not
+ * allocate. Reads are not atomic with respect to concurrent recording.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray mCounts;
+
+    public LatencyHistogram() {
+        mCounts = new AtomicLongArray(BUCKET_COUNT);
+    }
+
+    public void record(long value) {
+        mCounts.incrementAndGet(bucketIndex(Math.max(value, 0)));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += mCounts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the lowest value equivalent to the value at the given percentile, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = mCounts.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketLowestValue(i);
+            }
+        }
+
+        return bucketLowestValue(BUCKET_COUNT - 1);
+    }
+
+    public long getMaxValue() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (mCounts.get(i) > 0) {
+                return bucketLowestValue(i);
+            }
+        }
+
+        return 0;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
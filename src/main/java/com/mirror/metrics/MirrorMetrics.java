@@ -0,0 +1,147 @@
+package com.mirror.metrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ *     Listener notified of what mirrors do at runtime. Registered with {@link com.mirror.Mirror.Builder#setMetrics(MirrorMetrics)}.
+ * </p>
+ *
+ * All methods do nothing by default, so implementations only override what they record. Methods are called on the
+ * threads using the mirrors, possibly concurrently, and should return quickly. When no listener is registered, mirrors
+ * do not measure anything.
+ * <p>
+ *     Invocations are reported for all mirrors, whether they are proxies, cursors, batches, or implemented by generated
+ *     or compiled classes, and for mirror creators. Plan cache hits and misses are only reported by proxies, cursors,
+ *     batches and mirror creators, since generated and compiled classes resolve their members when they are created.
+ * </p>
+ * <p>
+ *     Invocations, plan resolutions, mirror creations and exception translations are also announced when they start.
+ *     The value returned then is passed back when the operation is reported, so that listeners such as event recorders
+ *     can time operations themselves. Mirror creations and plan resolutions which fail are not reported, and exception
+ *     translations are only reported when the throwable is wrapped.
+ * </p>
+ *
+ * @see InvocationMetrics
+ */
+public interface MirrorMetrics {
+
+    /**
+     * Called after a mirror method was invoked, through a proxy, or through a generated or compiled implementation.
+     *
+     * @param targetClass the mirrored class, or <code>null</code> for mirror creator methods.
+     * @param durationNanos time taken by the invocation, including unwrapping, wrapping and exception translation.
+     * @param thrown the throwable thrown by the invocation, or <code>null</code> if it returned normally.
+     */
+    default void onInvocation(Method mirrorMethod, Class<?> targetClass, long durationNanos, Throwable thrown) {
+    }
+
+    /**
+     * Called before a mirror method is invoked.
+     *
+     * @return the value passed to {@link #onInvocation(Method, Class, long, Throwable, Object)}, or <code>null</code>.
+     */
+    default Object onInvocationStarted(Method mirrorMethod, Class<?> targetClass) {
+        return null;
+    }
+
+    /**
+     * Called after a mirror method was invoked, with the value returned when it started. Calls
+     * {@link #onInvocation(Method, Class, long, Throwable)} by default.
+     */
+    default void onInvocation(Method mirrorMethod, Class<?> targetClass, long durationNanos, Throwable thrown, Object started) {
+        onInvocation(mirrorMethod, targetClass, durationNanos, thrown);
+    }
+
+    /**
+     * Called when the invocation plan of a mirror method was found in the plan cache.
+     */
+    default void onPlanCacheHit(Method mirrorMethod) {
+    }
+
+    /**
+     * Called when the invocation plan of a mirror method had to be resolved, which includes looking up the mirrored
+     * member.
+     *
+     * @param targetClass the mirrored class, or <code>null</code> for mirror creator methods.
+     * @param durationNanos time taken to resolve the plan.
+     */
+    default void onPlanCacheMiss(Method mirrorMethod, Class<?> targetClass, long durationNanos) {
+    }
+
+    /**
+     * Called before the invocation plan of a mirror method is resolved, after it was not found in the plan cache.
+     *
+     * @return the value passed to {@link #onPlanCacheMiss(Method, Class, long, Object)}, or <code>null</code>.
+     */
+    default Object onPlanResolutionStarted(Method mirrorMethod, Class<?> targetClass) {
+        return null;
+    }
+
+    /**
+     * Called when the invocation plan of a mirror method was resolved, with the value returned when its resolution
+     * started. Calls {@link #onPlanCacheMiss(Method, Class, long)} by default.
+     */
+    default void onPlanCacheMiss(Method mirrorMethod, Class<?> targetClass, long durationNanos, Object started) {
+        onPlanCacheMiss(mirrorMethod, targetClass, durationNanos);
+    }
+
+    /**
+     * Called when a mirror, or a mirror creator, was created.
+     *
+     * @param targetClass the mirrored class, or <code>null</code> for mirror creators.
+     * @param durationNanos time taken to create the mirror.
+     */
+    default void onMirrorCreated(Class<?> mirrorClass, Class<?> targetClass, long durationNanos) {
+    }
+
+    /**
+     * Called before a mirror, or a mirror creator, is created.
+     *
+     * @return the value passed to {@link #onMirrorCreated(Class, Class, long, Object)}, or <code>null</code>.
+     */
+    default Object onMirrorCreationStarted(Class<?> mirrorClass) {
+        return null;
+    }
+
+    /**
+     * Called when a mirror, or a mirror creator, was created, with the value returned when its creation started. Calls
+     * {@link #onMirrorCreated(Class, Class, long)} by default.
+     */
+    default void onMirrorCreated(Class<?> mirrorClass, Class<?> targetClass, long durationNanos, Object started) {
+        onMirrorCreated(mirrorClass, targetClass, durationNanos);
+    }
+
+    /**
+     * Called when a value passed from a mirrored member was wrapped into a mirror.
+     *
+     * @param cached whether the mirror was taken from the wrapped mirror cache, instead of being created.
+     */
+    default void onValueWrapped(Class<?> mirrorClass, boolean cached) {
+    }
+
+    /**
+     * Called when a throwable thrown by a mirrored member was wrapped into a {@link com.mirror.MirroredException} type.
+     */
+    default void onExceptionTranslated(Class<? extends Throwable> throwableType, Class<? extends Throwable> translatedType) {
+    }
+
+    /**
+     * Called before a throwable thrown by a mirrored member is translated, whether or not it is then wrapped.
+     *
+     * @return the value passed to {@link #onExceptionTranslated(Class, Class, long, Object)}, or <code>null</code>.
+     */
+    default Object onExceptionTranslationStarted(Class<? extends Throwable> throwableType) {
+        return null;
+    }
+
+    /**
+     * Called when a throwable thrown by a mirrored member was wrapped, with the value returned when its translation
+     * started. Calls {@link #onExceptionTranslated(Class, Class)} by default.
+     *
+     * @param durationNanos time taken to translate the throwable, including the creation of the wrapping exception.
+     */
+    default void onExceptionTranslated(Class<? extends Throwable> throwableType, Class<? extends Throwable> translatedType, long durationNanos, Object started) {
+        onExceptionTranslated(throwableType, translatedType);
+    }
+}
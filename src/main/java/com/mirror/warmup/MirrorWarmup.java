@@ -0,0 +1,242 @@
+package com.mirror.warmup;
+
+import com.mirror.Mirror;
+import com.mirror.MirrorCreator;
+import com.mirror.MirrorPreparationException;
+import com.mirror.MirroredClass;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     Finds the mirror and mirror creator interfaces of packages, and prepares them with
+ *     {@link Mirror#prepare(Class[])} in parallel, so that their target classes are loaded and initialized, and their
+ *     members resolved, before the first mirror is used.
+ * </p>
+ *
+ * For example, at startup:
+ * <pre>
+ *     Mirror mirror = Mirror.createForClassLoader(classLoaderForHiddenClasses);
+ *     MirrorWarmupReport report = MirrorWarmup.warmUp(mirror, getClass().getClassLoader(), "com.package.mirrors");
+ * </pre>
+ *
+ * Packages are scanned in directories and jar files of the class loader, including their subpackages. Class files are
+ * only loaded when they reference {@link MirroredClass} or {@link MirrorCreator}.
+ */
+public final class MirrorWarmup {
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final byte[] MIRRORED_CLASS_DESCRIPTOR = descriptor(MirroredClass.class);
+    private static final byte[] MIRROR_CREATOR_DESCRIPTOR = descriptor(MirrorCreator.class);
+
+    private MirrorWarmup() {
+    }
+
+    /**
+     * Prepares the interfaces of the given packages on the common fork-join pool.
+     *
+     * @see #warmUp(Mirror, ClassLoader, ForkJoinPool, String...)
+     */
+    public static MirrorWarmupReport warmUp(Mirror mirror, ClassLoader interfaceClassLoader, String... packageNames) throws IOException {
+        return warmUp(mirror, interfaceClassLoader, ForkJoinPool.commonPool(), packageNames);
+    }
+
+    /**
+     * Prepares the interfaces of the given packages on the given pool, each in its own task.
+     *
+     * @param mirror the mirror to prepare.
+     * @param interfaceClassLoader the class loader of the mirror interfaces, which is scanned.
+     * @return the time spent on each interface, and the failures of interfaces which could not be prepared.
+     * @throws IOException if the packages cannot be listed.
+     */
+    public static MirrorWarmupReport warmUp(Mirror mirror, ClassLoader interfaceClassLoader, ForkJoinPool pool, String... packageNames) throws IOException {
+        long start = System.nanoTime();
+
+        Set<String> classNames = new TreeSet<String>();
+        for (String packageName : packageNames) {
+            classNames.addAll(findClassNames(interfaceClassLoader, packageName));
+        }
+
+        List<ForkJoinTask<MirrorWarmupReport.Entry>> tasks = new ArrayList<ForkJoinTask<MirrorWarmupReport.Entry>>(classNames.size());
+        for (String className : classNames) {
+            tasks.add(pool.submit(() -> prepare(mirror, interfaceClassLoader, className)));
+        }
+
+        List<MirrorWarmupReport.Entry> entries = new ArrayList<MirrorWarmupReport.Entry>();
+        for (ForkJoinTask<MirrorWarmupReport.Entry> task : tasks) {
+            MirrorWarmupReport.Entry entry = task.join();
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+
+        return new MirrorWarmupReport(entries, System.nanoTime() - start);
+    }
+
+    private static MirrorWarmupReport.Entry prepare(Mirror mirror, ClassLoader classLoader, String className) {
+        long start = System.nanoTime();
+
+        Class<?> type;
+        try {
+            if (!referencesMirrorAnnotations(classLoader, className)) {
+                return null;
+            }
+
+            type = Class.forName(className, false, classLoader);
+        } catch (IOException | ClassNotFoundException | LinkageError e) {
+            return new MirrorWarmupReport.Entry(className, null, System.nanoTime() - start, e);
+        }
+
+        if (!isMirrorInterface(type)) {
+            return null;
+        }
+
+        try {
+            mirror.prepare(type);
+            return new MirrorWarmupReport.Entry(className, type, System.nanoTime() - start, null);
+        } catch (MirrorPreparationException | RuntimeException | LinkageError e) {
+            return new MirrorWarmupReport.Entry(className, type, System.nanoTime() - start, e);
+        }
+    }
+
+    private static boolean isMirrorInterface(Class<?> type) {
+        if (!type.isInterface()) {
+            return false;
+        }
+
+        if (type.isAnnotationPresent(MirroredClass.class)) {
+            return true;
+        }
+
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(MirrorCreator.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the class file refers to either annotation, so that unrelated classes are not loaded.
+     */
+    private static boolean referencesMirrorAnnotations(ClassLoader classLoader, String className) throws IOException {
+        byte[] classBytes;
+        try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + CLASS_SUFFIX)) {
+            if (in == null) {
+                return false;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+            classBytes = out.toByteArray();
+        }
+
+        return contains(classBytes, MIRRORED_CLASS_DESCRIPTOR) || contains(classBytes, MIRROR_CREATOR_DESCRIPTOR);
+    }
+
+    private static List<String> findClassNames(ClassLoader classLoader, String packageName) throws IOException {
+        String packagePath = packageName.replace('.', '/');
+        List<String> classNames = new ArrayList<String>();
+
+        Enumeration<URL> resources = classLoader.getResources(packagePath);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+
+            if ("file".equals(resource.getProtocol())) {
+                findClassNamesInDirectory(toPath(resource), packageName, classNames);
+            } else if ("jar".equals(resource.getProtocol())) {
+                findClassNamesInJar(resource, packagePath, classNames);
+            }
+        }
+
+        return classNames;
+    }
+
+    private static void findClassNamesInDirectory(Path directory, String packageName, List<String> classNames) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.forEach(file -> {
+                String relativePath = directory.relativize(file).toString();
+                if (relativePath.endsWith(CLASS_SUFFIX)) {
+                    String relativeName = relativePath.substring(0, relativePath.length() - CLASS_SUFFIX.length())
+                            .replace(file.getFileSystem().getSeparator(), ".");
+                    classNames.add(packageName.isEmpty() ? relativeName : packageName + "." + relativeName);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void findClassNamesInJar(URL resource, String packagePath, List<String> classNames) throws IOException {
+        URLConnection connection = resource.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            return;
+        }
+
+        JarURLConnection jarConnection = (JarURLConnection) connection;
+        jarConnection.setUseCaches(false);
+
+        String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        try (JarFile jarFile = jarConnection.getJarFile()) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                String name = entry.getName();
+                if (name.startsWith(prefix) && name.endsWith(CLASS_SUFFIX) && !entry.isDirectory()) {
+                    classNames.add(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+                }
+            }
+        }
+    }
+
+    private static Path toPath(URL resource) throws IOException {
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static byte[] descriptor(Class<?> type) {
+        return ("L" + type.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean contains(byte[] bytes, byte[] sequence) {
+        outer:
+        for (int i = 0; i <= bytes.length - sequence.length; i++) {
+            for (int j = 0; j < sequence.length; j++) {
+                if (bytes[i + j] != sequence[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+}
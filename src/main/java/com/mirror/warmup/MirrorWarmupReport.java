@@ -0,0 +1,105 @@
+package com.mirror.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of {@link MirrorWarmup}: the time spent preparing each interface found, and the failures of interfaces
+ * which could not be prepared.
+ */
+public class MirrorWarmupReport {
+
+    private final List<Entry> mEntries;
+    private final long mDurationNanos;
+
+    MirrorWarmupReport(List<Entry> entries, long durationNanos) {
+        mEntries = Collections.unmodifiableList(new ArrayList<Entry>(entries));
+        mDurationNanos = durationNanos;
+    }
+
+    /**
+     * @return an entry for each interface found, in the order of their names.
+     */
+    public List<Entry> getEntries() {
+        return mEntries;
+    }
+
+    public List<Entry> getFailedEntries() {
+        List<Entry> failedEntries = new ArrayList<Entry>();
+        for (Entry entry : mEntries) {
+            if (entry.getFailure() != null) {
+                failedEntries.add(entry);
+            }
+        }
+
+        return failedEntries;
+    }
+
+    /**
+     * @return the wall clock time of the whole warmup, including scanning.
+     */
+    public long getDurationNanos() {
+        return mDurationNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(mEntries.size()).append(" mirror interface(s) prepared in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(mDurationNanos)).append(" ms");
+
+        for (Entry entry : mEntries) {
+            builder.append(System.lineSeparator()).append("    ").append(entry);
+        }
+
+        return builder.toString();
+    }
+
+    public static class Entry {
+
+        private final String mClassName;
+        private final Class<?> mInterfaceClass;
+        private final long mDurationNanos;
+        private final Throwable mFailure;
+
+        Entry(String className, Class<?> interfaceClass, long durationNanos, Throwable failure) {
+            mClassName = className;
+            mInterfaceClass = interfaceClass;
+            mDurationNanos = durationNanos;
+            mFailure = failure;
+        }
+
+        public String getClassName() {
+            return mClassName;
+        }
+
+        /**
+         * @return the interface, or <code>null</code> if its class could not be loaded.
+         */
+        public Class<?> getInterfaceClass() {
+            return mInterfaceClass;
+        }
+
+        /**
+         * @return the time spent reading, loading and preparing the interface.
+         */
+        public long getDurationNanos() {
+            return mDurationNanos;
+        }
+
+        /**
+         * @return why the interface could not be prepared, or <code>null</code> if it was.
+         */
+        public Throwable getFailure() {
+            return mFailure;
+        }
+
+        @Override
+        public String toString() {
+            String duration = TimeUnit.NANOSECONDS.toMicros(mDurationNanos) + " us";
+            return mFailure == null ? mClassName + ": " + duration : mClassName + ": " + duration + ", failed: " + mFailure.getMessage();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mirror.wrapping;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only {@link java.util.List} view of an array returned by a mirrored member, which wraps each element only when
+ * it is accessed.
+ */
+class ArrayListView extends AbstractList<Object> implements RandomAccess {
+
+    private final Object mArray;
+    private final Function<Object, Object> mConverter;
+
+    /**
+     * @param converter converter of elements, or <code>null</code> to return elements as is.
+     */
+    ArrayListView(Object array, Function<Object, Object> converter) {
+        mArray = array;
+        mConverter = converter;
+    }
+
+    @Override
+    public Object get(int index) {
+        Object element = mArray instanceof Object[] ? ((Object[]) mArray)[index] : Array.get(mArray, index);
+        if (mConverter == null) {
+            return element;
+        }
+
+        return mConverter.apply(element);
+    }
+
+    @Override
+    public int size() {
+        return Array.getLength(mArray);
+    }
+}
@@ -0,0 +1,30 @@
+package com.mirror.wrapping;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * A read-only view of a collection, which converts each element only when it is iterated.
+ */
+class CollectionView extends AbstractCollection<Object> {
+
+    private final Collection<Object> mCollection;
+    private final Function<Object, Object> mConverter;
+
+    CollectionView(Collection<Object> collection, Function<Object, Object> converter) {
+        mCollection = collection;
+        mConverter = converter;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new IteratorView(mCollection.iterator(), mConverter);
+    }
+
+    @Override
+    public int size() {
+        return mCollection.size();
+    }
+}
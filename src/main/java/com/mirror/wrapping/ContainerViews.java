@@ -0,0 +1,117 @@
+package com.mirror.wrapping;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     Creates lazy views of containers declared with a generic type, such as <code>List&lt;SomeMirror&gt;</code>,
+ *     which convert elements only when they are accessed, instead of copying the container.
+ * </p>
+ *
+ * Supported containers are {@link Iterable}, {@link Collection}, {@link List}, {@link Set}, {@link Map},
+ * {@link Optional}, {@link Iterator} and {@link Stream}. Views are read-only, and reflect later changes of the
+ * viewed container. Optionals and streams are converted with <code>map</code>, which is lazy for streams as well.
+ */
+final class ContainerViews {
+
+    private ContainerViews() {
+    }
+
+    static boolean isContainer(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+
+        Class<?> rawType = GenericTypes.erasure(type);
+        return rawType == Iterable.class || rawType == Collection.class || rawType == List.class
+                || rawType == Set.class || rawType == Map.class || rawType == Optional.class
+                || rawType == Iterator.class || rawType == Stream.class;
+    }
+
+    /**
+     * Whether a container of the given type may need conversion, according to the given element predicate.
+     */
+    static boolean anyElementType(ParameterizedType type, Predicate<Type> predicate) {
+        for (int i = 0; i < type.getActualTypeArguments().length; i++) {
+            if (predicate.test(GenericTypes.typeArgument(type, i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a view of the container, converting elements with the converter returned for their declared type.
+     *
+     * @param converters returns the converter for an element type, or <code>null</code> if elements of that type are
+     *                   never changed.
+     * @return the view, or the container itself if it does not need converting, or does not match its declared type.
+     */
+    @SuppressWarnings("unchecked")
+    static Object view(Object container, ParameterizedType type, Function<Type, Function<Object, Object>> converters) {
+        Class<?> rawType = GenericTypes.erasure(type);
+
+        if (rawType == Map.class) {
+            if (!(container instanceof Map)) {
+                return container;
+            }
+
+            Function<Object, Object> keyConverter = converters.apply(GenericTypes.typeArgument(type, 0));
+            Function<Object, Object> valueConverter = converters.apply(GenericTypes.typeArgument(type, 1));
+            if (keyConverter == null && valueConverter == null) {
+                return container;
+            }
+
+            return new MapView((Map<Object, Object>) container, keyConverter, valueConverter);
+        }
+
+        Function<Object, Object> converter = converters.apply(GenericTypes.typeArgument(type, 0));
+        if (converter == null) {
+            return container;
+        }
+
+        if (rawType == List.class && container instanceof List) {
+            List<Object> list = (List<Object>) container;
+            return list instanceof RandomAccess ? new ListView.RandomAccessListView(list, converter) : new ListView(list, converter);
+        }
+
+        if (rawType == Set.class && container instanceof Set) {
+            return new SetView((Set<Object>) container, converter);
+        }
+
+        if ((rawType == Collection.class || rawType == Iterable.class) && container instanceof Collection) {
+            return new CollectionView((Collection<Object>) container, converter);
+        }
+
+        if (rawType == Iterable.class && container instanceof Iterable) {
+            Iterable<Object> iterable = (Iterable<Object>) container;
+            return (Iterable<Object>) () -> new IteratorView(iterable.iterator(), converter);
+        }
+
+        if (rawType == Iterator.class && container instanceof Iterator) {
+            return new IteratorView((Iterator<Object>) container, converter);
+        }
+
+        if (rawType == Optional.class && container instanceof Optional) {
+            return ((Optional<Object>) container).map(converter);
+        }
+
+        if (rawType == Stream.class && container instanceof Stream) {
+            return ((Stream<Object>) container).map(converter);
+        }
+
+        return container;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mirror.wrapping;
+
+import com.mirror.MirroredException;
+import com.mirror.metrics.MirrorMetrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     Translates the throwables thrown by a mirrored member into the exceptions declared by its mirror method.
+ * </p>
+ *
+ * Throwables of a declared type are thrown as is. Throwables of the type mirrored by a declared {@link MirroredException}
+ * are wrapped into that exception. The outcome is resolved once for each thrown class, so that translating a throwable
+ * afterwards is a lookup, plus a constructor call when it is wrapped.
+ */
+public class ExceptionTranslator {
+
+    private final ThrowableWrapper mThrowableWrapper;
+    private final Class<?>[] mExceptionTypes;
+    private final ClassLoader mClassLoader;
+    private final ConcurrentMap<Class<?>, Function<Throwable, Throwable>> mTranslations;
+    private final MirrorMetrics mMirrorMetrics;
+
+    public ExceptionTranslator(ThrowableWrapper throwableWrapper, Class<?>[] exceptionTypes, ClassLoader classLoader) {
+        this(throwableWrapper, exceptionTypes, classLoader, null);
+    }
+
+    /**
+     * @param mirrorMetrics listener notified of wrapped throwables, or <code>null</code>.
+     */
+    public ExceptionTranslator(ThrowableWrapper throwableWrapper, Class<?>[] exceptionTypes, ClassLoader classLoader, MirrorMetrics mirrorMetrics) {
+        mThrowableWrapper = throwableWrapper;
+        mMirrorMetrics = mirrorMetrics;
+        mExceptionTypes = exceptionTypes;
+        mClassLoader = classLoader;
+        mTranslations = new ConcurrentHashMap<Class<?>, Function<Throwable, Throwable>>();
+    }
+
+    /**
+     * @return the throwable to throw in place of the given one: either a wrapping exception, or the throwable itself.
+     * @throws ClassNotFoundException if the type mirrored by a declared exception cannot be found.
+     */
+    public Throwable translate(Throwable throwable) throws ClassNotFoundException {
+        Object started = mMirrorMetrics != null ? mMirrorMetrics.onExceptionTranslationStarted(throwable.getClass()) : null;
+        long start = mMirrorMetrics != null ? System.nanoTime() : 0;
+
+        Function<Throwable, Throwable> translation = mTranslations.get(throwable.getClass());
+        if (translation == null) {
+            translation = resolveTranslation(throwable.getClass());
+            mTranslations.putIfAbsent(throwable.getClass(), translation);
+        }
+
+        Throwable translated = translation.apply(throwable);
+        if (mMirrorMetrics != null && translated != throwable) {
+            mMirrorMetrics.onExceptionTranslated(throwable.getClass(), translated.getClass(), System.nanoTime() - start, started);
+        }
+
+        return translated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Throwable, Throwable> resolveTranslation(Class<?> throwableClass) throws ClassNotFoundException {
+        for (Class<?> exceptionType : mExceptionTypes) {
+            if (exceptionType.isAssignableFrom(throwableClass)) {
+                return Function.identity();
+            }
+
+            if (exceptionType.isAnnotationPresent(MirroredException.class)) {
+                Class<?> throwableType = mThrowableWrapper.getMirroredThrowableType(exceptionType, mClassLoader);
+
+                if (throwableType.isAssignableFrom(throwableClass)) {
+                    return mThrowableWrapper.getWrapperFactory((Class<? extends Throwable>) exceptionType);
+                }
+            }
+        }
+
+        return Function.identity();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mirror.wrapping;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+final class GenericTypes {
+
+    private GenericTypes() {
+    }
+
+    static Class<?> erasure(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+
+        if (type instanceof GenericArrayType) {
+            Class<?> componentType = erasure(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(componentType, 0).getClass();
+        }
+
+        if (type instanceof WildcardType) {
+            return erasure(((WildcardType) type).getUpperBounds()[0]);
+        }
+
+        if (type instanceof TypeVariable) {
+            return erasure(((TypeVariable<?>) type).getBounds()[0]);
+        }
+
+        return Object.class;
+    }
+
+    static Type typeArgument(ParameterizedType type, int index) {
+        Type argument = type.getActualTypeArguments()[index];
+        if (argument instanceof WildcardType) {
+            return ((WildcardType) argument).getUpperBounds()[0];
+        }
+
+        return argument;
+    }
+}
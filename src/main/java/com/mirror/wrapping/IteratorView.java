@@ -0,0 +1,28 @@
+package com.mirror.wrapping;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * A read-only view of an iterator, which converts each element when it is returned.
+ */
+class IteratorView implements Iterator<Object> {
+
+    private final Iterator<Object> mIterator;
+    private final Function<Object, Object> mConverter;
+
+    IteratorView(Iterator<Object> iterator, Function<Object, Object> converter) {
+        mIterator = iterator;
+        mConverter = converter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return mIterator.hasNext();
+    }
+
+    @Override
+    public Object next() {
+        return mConverter.apply(mIterator.next());
+    }
+}
@@ -0,0 +1,37 @@
+package com.mirror.wrapping;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only view of a list, which converts each element only when it is accessed.
+ */
+class ListView extends AbstractList<Object> {
+
+    private final List<Object> mList;
+    private final Function<Object, Object> mConverter;
+
+    ListView(List<Object> list, Function<Object, Object> converter) {
+        mList = list;
+        mConverter = converter;
+    }
+
+    @Override
+    public Object get(int index) {
+        return mConverter.apply(mList.get(index));
+    }
+
+    @Override
+    public int size() {
+        return mList.size();
+    }
+
+    static class RandomAccessListView extends ListView implements RandomAccess {
+
+        RandomAccessListView(List<Object> list, Function<Object, Object> converter) {
+            super(list, converter);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mirror.wrapping;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     A read-only view of a map, which converts keys and values only when they are accessed.
+ * </p>
+ *
+ * When only values are converted, {@link #get(Object)} and {@link #containsKey(Object)} use the viewed map directly.
+ * When keys are converted as well, they search the entries, since a converted key cannot be looked up in the viewed map.
+ */
+class MapView extends AbstractMap<Object, Object> {
+
+    private final Map<Object, Object> mMap;
+    private final Function<Object, Object> mKeyConverter;
+    private final Function<Object, Object> mValueConverter;
+    private Set<Entry<Object, Object>> mEntrySet;
+
+    /**
+     * @param keyConverter converter of keys, or <code>null</code> to keep keys as is.
+     * @param valueConverter converter of values, or <code>null</code> to keep values as is.
+     */
+    MapView(Map<Object, Object> map, Function<Object, Object> keyConverter, Function<Object, Object> valueConverter) {
+        mMap = map;
+        mKeyConverter = keyConverter;
+        mValueConverter = valueConverter;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (mKeyConverter != null) {
+            return super.get(key);
+        }
+
+        return convert(mValueConverter, mMap.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (mKeyConverter != null) {
+            return super.containsKey(key);
+        }
+
+        return mMap.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return mMap.size();
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        if (mEntrySet == null) {
+            mEntrySet = new EntrySet();
+        }
+
+        return mEntrySet;
+    }
+
+    private static Object convert(Function<Object, Object> converter, Object value) {
+        return converter == null || value == null ? value : converter.apply(value);
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Object, Object>> {
+
+        @Override
+        public Iterator<Entry<Object, Object>> iterator() {
+            Iterator<Entry<Object, Object>> iterator = mMap.entrySet().iterator();
+
+            return new Iterator<Entry<Object, Object>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<Object, Object> next() {
+                    Entry<Object, Object> entry = iterator.next();
+                    return new SimpleImmutableEntry<Object, Object>(
+                            convert(mKeyConverter, entry.getKey()), convert(mValueConverter, entry.getValue()));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return mMap.size();
+        }
+    }
+}
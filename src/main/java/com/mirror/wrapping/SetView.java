@@ -0,0 +1,31 @@
+package com.mirror.wrapping;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A read-only view of a set, which converts each element only when it is iterated. Converted elements are expected to
+ * remain distinct, as mirrors of distinct targets are.
+ */
+class SetView extends AbstractSet<Object> {
+
+    private final Set<Object> mSet;
+    private final Function<Object, Object> mConverter;
+
+    SetView(Set<Object> set, Function<Object, Object> converter) {
+        mSet = set;
+        mConverter = converter;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new IteratorView(mSet.iterator(), mConverter);
+    }
+
+    @Override
+    public int size() {
+        return mSet.size();
+    }
+}
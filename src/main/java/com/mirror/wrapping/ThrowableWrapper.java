@@ -1,13 +1,46 @@
 package com.mirror.wrapping;
 
 import com.mirror.MirroredException;
+import com.mirror.invocation.MirrorFieldAccessException;
+import com.mirror.invocation.MirrorInvocationException;
+import com.mirror.metrics.MirrorMetrics;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
 import java.util.Optional;
+import java.util.function.Function;
 
 public class ThrowableWrapper {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Function<Throwable, Throwable>> sWrapperFactories = new WrapperFactories(true);
+    private static final ClassValue<Function<Throwable, Throwable>> sStacklessWrapperFactories = new WrapperFactories(false);
+
+    private final boolean mWritableStackTraces;
+    private final MirrorMetrics mMirrorMetrics;
+
+    public ThrowableWrapper() {
+        this(true);
+    }
+
+    public ThrowableWrapper(boolean writableStackTraces) {
+        this(writableStackTraces, null);
+    }
+
+    /**
+     * @param writableStackTraces whether exceptions created to wrap a cause capture their own stack trace. When
+     *                            <code>false</code>, this applies to all {@link MirroredException} types, as well as to
+     *                            the invocation and field access exceptions created through this wrapper.
+     * @param mirrorMetrics listener notified of translated exceptions, or <code>null</code>.
+     */
+    public ThrowableWrapper(boolean writableStackTraces, MirrorMetrics mirrorMetrics) {
+        mWritableStackTraces = writableStackTraces;
+        mMirrorMetrics = mirrorMetrics;
+    }
+
     public Optional<Throwable> tryWrapThrowable(Throwable throwable, Class[] exceptionTypes, ClassLoader classLoader) throws Throwable {
         for (Class<?> exceptionType : exceptionTypes) {
             if (exceptionType.isInstance(throwable)) {
@@ -15,8 +48,7 @@ public class ThrowableWrapper {
             }
 
             if (exceptionType.isAnnotationPresent(MirroredException.class)) {
-                MirroredException mirroredException = exceptionType.getAnnotation(MirroredException.class);
-                Class<?> throwableType = Class.forName(mirroredException.value(), true, classLoader);
+                Class<?> throwableType = getMirroredThrowableType(exceptionType, classLoader);
 
                 if (throwableType.isInstance(throwable)) {
                     return Optional.of(wrapThrowable(throwable, (Class<? extends Throwable>) exceptionType));
@@ -27,56 +59,128 @@ public class ThrowableWrapper {
         return Optional.empty();
     }
 
+    /**
+     * Creates a translator for the exceptions declared by a mirror method, which caches what
+     * {@link #tryWrapThrowable(Throwable, Class[], ClassLoader)} resolves for each thrown class.
+     */
+    public ExceptionTranslator createTranslator(Class<?>[] exceptionTypes, ClassLoader classLoader) {
+        return new ExceptionTranslator(this, exceptionTypes, classLoader, mMirrorMetrics);
+    }
+
+    /**
+     * Resolves the exception type mirrored by an exception annotated with {@link MirroredException}.
+     */
+    public Class<?> getMirroredThrowableType(Class<?> exceptionType, ClassLoader classLoader) throws ClassNotFoundException {
+        MirroredException mirroredException = exceptionType.getAnnotation(MirroredException.class);
+        return Class.forName(mirroredException.value(), true, classLoader);
+    }
+
     public Throwable wrapThrowable(Throwable throwable, Class<? extends Throwable> destType) {
+        return getWrapperFactory(destType).apply(throwable);
+    }
+
+    /**
+     * @return a function wrapping throwables into the given type. Its constructor is looked up once per type.
+     */
+    public Function<Throwable, Throwable> getWrapperFactory(Class<? extends Throwable> destType) {
+        return mWritableStackTraces ? sWrapperFactories.get(destType) : sStacklessWrapperFactories.get(destType);
+    }
+
+    public MirrorInvocationException createInvocationException(Throwable cause) {
+        return new MirrorInvocationException(cause, mWritableStackTraces);
+    }
+
+    public MirrorFieldAccessException createFieldAccessException(Throwable cause) {
+        return new MirrorFieldAccessException(cause, mWritableStackTraces);
+    }
+
+    private static Function<Throwable, Throwable> createWrapperFactory(Class<? extends Throwable> destType, boolean writableStackTrace) {
         try {
-            Optional<Throwable> optionalThrowable = tryWrapThrowableWithCauseConstructor(destType, throwable);
-            if (optionalThrowable.isPresent()) {
-                return optionalThrowable.get();
+            MirroredException mirroredException = destType.getAnnotation(MirroredException.class);
+            if (!writableStackTrace || (mirroredException != null && !mirroredException.writableStackTrace())) {
+                Constructor<? extends Throwable> stacklessConstructor = findConstructor(destType, String.class, Throwable.class, boolean.class, boolean.class);
+                if (stacklessConstructor != null) {
+                    MethodHandle constructor = LOOKUP.unreflectConstructor(stacklessConstructor)
+                            .asType(MethodType.methodType(Throwable.class, String.class, Throwable.class, boolean.class, boolean.class));
+
+                    return throwable -> {
+                        try {
+                            return (Throwable) constructor.invokeExact(throwable.toString(), throwable, true, false);
+                        } catch (Throwable e) {
+                            throw initWrappingException(new ThrowableWrappingException(e), throwable);
+                        }
+                    };
+                }
             }
 
-            optionalThrowable = tryWrapThrowableWithDefaultConstructor(destType, throwable);
-            if (optionalThrowable.isPresent()) {
-                return optionalThrowable.get();
+            Constructor<? extends Throwable> causeConstructor = findConstructor(destType, Throwable.class);
+            if (causeConstructor != null) {
+                MethodHandle constructor = LOOKUP.unreflectConstructor(causeConstructor)
+                        .asType(MethodType.methodType(Throwable.class, Throwable.class));
+
+                return throwable -> {
+                    try {
+                        return (Throwable) constructor.invokeExact(throwable);
+                    } catch (Throwable e) {
+                        throw initWrappingException(new ThrowableWrappingException(e), throwable);
+                    }
+                };
             }
 
-            throw initWrappingException(new ThrowableWrappingException("cannot wrap exception to type: " + destType.getName()), throwable);
-        } catch (ReflectiveOperationException e) {
-            throw initWrappingException(new ThrowableWrappingException(e), throwable);
+            Constructor<? extends Throwable> defaultConstructor = findConstructor(destType);
+            if (defaultConstructor != null) {
+                MethodHandle constructor = LOOKUP.unreflectConstructor(defaultConstructor)
+                        .asType(MethodType.methodType(Throwable.class));
+
+                return throwable -> {
+                    try {
+                        Throwable wrapper = (Throwable) constructor.invokeExact();
+                        wrapper.initCause(throwable);
+
+                        return wrapper;
+                    } catch (Throwable e) {
+                        throw initWrappingException(new ThrowableWrappingException(e), throwable);
+                    }
+                };
+            }
+
+            return throwable -> {
+                throw initWrappingException(new ThrowableWrappingException("cannot wrap exception to type: " + destType.getName()), throwable);
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return throwable -> {
+                throw initWrappingException(new ThrowableWrappingException(e), throwable);
+            };
         }
     }
 
-    private Optional<Throwable> tryWrapThrowableWithCauseConstructor(Class<? extends Throwable> destType, Throwable throwable) throws ReflectiveOperationException {
+    private static Constructor<? extends Throwable> findConstructor(Class<? extends Throwable> destType, Class<?>... parameterTypes) {
         try {
-            Constructor<? extends Throwable> constructor = destType.getDeclaredConstructor(Throwable.class);
-
-            if (!Modifier.isPublic(constructor.getModifiers())) {
-                constructor.setAccessible(true);
-            }
+            Constructor<? extends Throwable> constructor = destType.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
 
-            return Optional.of(constructor.newInstance(throwable));
+            return constructor;
         } catch (NoSuchMethodException e) {
-            return Optional.empty();
+            return null;
         }
     }
 
-    private Optional<Throwable> tryWrapThrowableWithDefaultConstructor(Class<? extends Throwable> destType, Throwable throwable) throws ReflectiveOperationException {
-        try {
-            Constructor<? extends Throwable> constructor = destType.getDeclaredConstructor();
+    private static class WrapperFactories extends ClassValue<Function<Throwable, Throwable>> {
 
-            if (!Modifier.isPublic(constructor.getModifiers())) {
-                constructor.setAccessible(true);
-            }
+        private final boolean mWritableStackTrace;
 
-            Throwable wrapper = constructor.newInstance();
-            wrapper.initCause(throwable);
+        WrapperFactories(boolean writableStackTrace) {
+            mWritableStackTrace = writableStackTrace;
+        }
 
-            return Optional.of(wrapper);
-        } catch (NoSuchMethodException e) {
-            return Optional.empty();
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Function<Throwable, Throwable> computeValue(Class<?> type) {
+            return createWrapperFactory((Class<? extends Throwable>) type, mWritableStackTrace);
         }
     }
 
-    private ThrowableWrappingException initWrappingException(ThrowableWrappingException wrappingException, Throwable originalThrowable) {
+    private static ThrowableWrappingException initWrappingException(ThrowableWrappingException wrappingException, Throwable originalThrowable) {
         wrappingException.addSuppressed(originalThrowable);
         return wrappingException;
     }
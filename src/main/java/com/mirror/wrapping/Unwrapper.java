@@ -1,11 +1,16 @@
 package com.mirror.wrapping;
 
+import com.mirror.generation.GeneratedMirror;
+import com.mirror.invocation.MirrorInvocationException;
 import com.mirror.invocation.MirrorInvocationHandler;
 import com.mirror.helper.MirrorHelper;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.function.Function;
 
 public class Unwrapper {
 
@@ -29,6 +34,56 @@ public class Unwrapper {
         return unwrapObject(object);
     }
 
+    /**
+     * Unwraps a value passed as the given declared type. Containers of mirrors, such as <code>List&lt;SomeMirror&gt;</code>,
+     * are not copied, but passed as read-only views which unwrap elements when they are accessed.
+     */
+    public Object unwrap(Object object, Type type) throws UnwrappingException {
+        if (object != null && ContainerViews.isContainer(type)) {
+            return ContainerViews.view(object, (ParameterizedType) type, this::elementUnwrapper);
+        }
+
+        return unwrap(object);
+    }
+
+    /**
+     * @return a function unwrapping elements declared as the given type, or <code>null</code> if they need no unwrapping.
+     */
+    private Function<Object, Object> elementUnwrapper(Type elementType) {
+        if (!containsMirrors(elementType)) {
+            return null;
+        }
+
+        return element -> {
+            try {
+                return unwrap(element, elementType);
+            } catch (UnwrappingException e) {
+                throw new MirrorInvocationException(e);
+            }
+        };
+    }
+
+    /**
+     * Whether container elements declared as the given type are mirrors, or arrays or containers of mirrors. Unlike
+     * parameters, container elements are only unwrapped when declared as a mirror type.
+     */
+    private boolean containsMirrors(Type elementType) {
+        if (ContainerViews.isContainer(elementType)) {
+            return ContainerViews.anyElementType((ParameterizedType) elementType, this::containsMirrors);
+        }
+
+        Class<?> elementClass = GenericTypes.erasure(elementType);
+        while (elementClass.isArray()) {
+            elementClass = elementClass.getComponentType();
+        }
+
+        return mMirrorHelper.isMirror(elementClass);
+    }
+
+    /**
+     * Unwraps the elements of an array. The array itself is returned when none of its elements is a mirror, and its
+     * type can be passed where the unwrapped array type is expected.
+     */
     public Object unwrapArray(Object array) throws UnwrappingException {
         Class<?> componentType = array.getClass().getComponentType();
         if (componentType.isPrimitive()) {
@@ -37,18 +92,33 @@ public class Unwrapper {
 
         Object[] arrayObjects = (Object[]) array;
 
-        Class<?> unwrappedComponent = unwrapObjectType(componentType);
-        Object[] unwrappedArrayObjects = (Object[]) Array.newInstance(unwrappedComponent, arrayObjects.length);
+        Class<?> unwrappedComponent = unwrapType(componentType);
+        Object[] unwrappedArrayObjects = null;
+
+        if (!unwrappedComponent.isAssignableFrom(componentType)) {
+            unwrappedArrayObjects = (Object[]) Array.newInstance(unwrappedComponent, arrayObjects.length);
+        }
 
         for (int i = 0; i < arrayObjects.length; i++) {
             Object unwrappedObject = unwrap(arrayObjects[i]);
-            unwrappedArrayObjects[i] = unwrappedObject;
+
+            if (unwrappedArrayObjects == null && unwrappedObject != arrayObjects[i]) {
+                unwrappedArrayObjects = (Object[]) Array.newInstance(unwrappedComponent, arrayObjects.length);
+                System.arraycopy(arrayObjects, 0, unwrappedArrayObjects, 0, i);
+            }
+            if (unwrappedArrayObjects != null) {
+                unwrappedArrayObjects[i] = unwrappedObject;
+            }
         }
 
-        return unwrappedArrayObjects;
+        return unwrappedArrayObjects != null ? unwrappedArrayObjects : array;
     }
 
     public Object unwrapObject(Object object) {
+        if (object instanceof GeneratedMirror) {
+            return ((GeneratedMirror) object).getTargetInstance();
+        }
+
         if (Proxy.isProxyClass(object.getClass())) {
             InvocationHandler invocationHandler = Proxy.getInvocationHandler(object);
 
@@ -60,6 +130,22 @@ public class Unwrapper {
         return object;
     }
 
+    /**
+     * Whether a value declared as the given type may be a mirror, or an array containing mirrors. Values of other types
+     * are never changed by {@link #unwrap(Object)}.
+     */
+    public boolean canCarryMirror(Class<?> type) {
+        if (type.isPrimitive()) {
+            return false;
+        }
+
+        if (type.isArray()) {
+            return canCarryMirror(type.getComponentType());
+        }
+
+        return type.isInterface() || type.isAssignableFrom(Proxy.class) || type.isAssignableFrom(GeneratedMirror.class);
+    }
+
     public Class<?> unwrapType(Class<?> type) throws UnwrappingException {
         if (type.isPrimitive()) {
             return type;
@@ -92,7 +178,6 @@ public class Unwrapper {
     }
 
     private Class<?> getMirrorType(Class<?> type) throws ClassNotFoundException {
-        String typeName = mMirrorHelper.getMirroredTypeName(type);
-        return Class.forName(typeName, true, mClassLoader);
+        return mMirrorHelper.getMirrorTargetType(type, mClassLoader);
     }
 }
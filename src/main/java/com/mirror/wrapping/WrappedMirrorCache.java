@@ -0,0 +1,250 @@
+package com.mirror.wrapping;
+
+import com.mirror.helper.ClassLoaders;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ *     Caches the mirrors created when wrapping values, by target instance identity and mirror type, so that wrapping the
+ *     same instance again returns the same mirror.
+ * </p>
+ *
+ * Target instances, mirrors and mirror types are held weakly, so the cache keeps none of them alive. The cache is
+ * split into segments, each holding up to an equal share of the maximum size. A full segment first drops entries whose
+ * target, mirror or mirror type was collected, and is emptied if that is not enough.
+ * <p>
+ * Lookups do not lock. Segments lock only to add, remove and evict entries, and a lookup racing with them may miss an
+ * entry, which <code>putIfAbsent</code> then finds under the lock.
+ */
+public class WrappedMirrorCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] mSegments;
+
+    public WrappedMirrorCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+
+        int segmentMaximumSize = (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+
+        mSegments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < mSegments.length; i++) {
+            mSegments[i] = new Segment(segmentMaximumSize);
+        }
+    }
+
+    public Object get(Object targetInstance, Class<?> mirrorClass) {
+        int hash = hash(targetInstance, mirrorClass);
+        return segmentFor(hash).get(targetInstance, mirrorClass, hash);
+    }
+
+    /**
+     * Caches the mirror, unless a live mirror is already cached for the target instance and mirror type.
+     *
+     * @return the cached mirror.
+     */
+    public Object putIfAbsent(Object targetInstance, Class<?> mirrorClass, Object mirror) {
+        int hash = hash(targetInstance, mirrorClass);
+        return segmentFor(hash).putIfAbsent(targetInstance, mirrorClass, mirror, hash);
+    }
+
+    /**
+     * Removes all cached mirrors.
+     */
+    public void clear() {
+        for (Segment segment : mSegments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Removes the cached mirrors whose mirror type is defined by the given class loader, or by its descendants.
+     */
+    public void invalidate(ClassLoader classLoader) {
+        for (Segment segment : mSegments) {
+            segment.invalidate(classLoader);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : mSegments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        return mSegments[(hash >>> 28) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static int hash(Object targetInstance, Class<?> mirrorClass) {
+        int hash = System.identityHashCode(targetInstance) * 31 + System.identityHashCode(mirrorClass);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static class Segment {
+
+        private final int mMaximumSize;
+        private final ReferenceQueue<Object> mQueue;
+        private final AtomicReferenceArray<Entry> mTable;
+        private int mCount;
+
+        Segment(int maximumSize) {
+            mMaximumSize = maximumSize;
+            mQueue = new ReferenceQueue<Object>();
+            mTable = new AtomicReferenceArray<Entry>(tableSizeFor(maximumSize));
+        }
+
+        Object get(Object targetInstance, Class<?> mirrorClass, int hash) {
+            for (Entry entry = mTable.get(indexFor(hash)); entry != null; entry = entry.mNext) {
+                if (entry.matches(targetInstance, mirrorClass, hash)) {
+                    return entry.mMirror.get();
+                }
+            }
+
+            return null;
+        }
+
+        synchronized Object putIfAbsent(Object targetInstance, Class<?> mirrorClass, Object mirror, int hash) {
+            expungeStaleEntries();
+
+            int index = indexFor(hash);
+            for (Entry entry = mTable.get(index); entry != null; entry = entry.mNext) {
+                if (entry.matches(targetInstance, mirrorClass, hash)) {
+                    Object existing = entry.mMirror.get();
+                    if (existing != null) {
+                        return existing;
+                    }
+
+                    entry.mMirror = new WeakReference<Object>(mirror);
+                    return mirror;
+                }
+            }
+
+            if (mCount >= mMaximumSize) {
+                evict();
+            }
+
+            mTable.set(index, new Entry(targetInstance, mirrorClass, mirror, hash, mTable.get(index), mQueue));
+            mCount++;
+
+            return mirror;
+        }
+
+        synchronized int size() {
+            expungeStaleEntries();
+            return mCount;
+        }
+
+        synchronized void clear() {
+            expungeStaleEntries();
+            clearTable();
+        }
+
+        synchronized void invalidate(ClassLoader classLoader) {
+            expungeStaleEntries();
+
+            for (int i = 0; i < mTable.length(); i++) {
+                Entry previous = null;
+                for (Entry entry = mTable.get(i); entry != null; entry = entry.mNext) {
+                    Class<?> mirrorClass = entry.mMirrorClass.get();
+                    if (mirrorClass == null || ClassLoaders.isSelfOrAncestor(classLoader, mirrorClass.getClassLoader())) {
+                        unlink(i, previous, entry);
+                    } else {
+                        previous = entry;
+                    }
+                }
+            }
+        }
+
+        private void evict() {
+            for (int i = 0; i < mTable.length(); i++) {
+                Entry previous = null;
+                for (Entry entry = mTable.get(i); entry != null; entry = entry.mNext) {
+                    if (entry.mMirror.get() == null || entry.mMirrorClass.get() == null) {
+                        unlink(i, previous, entry);
+                    } else {
+                        previous = entry;
+                    }
+                }
+            }
+
+            if (mCount >= mMaximumSize) {
+                clearTable();
+            }
+        }
+
+        private void clearTable() {
+            for (int i = 0; i < mTable.length(); i++) {
+                mTable.set(i, null);
+            }
+            mCount = 0;
+        }
+
+        private void expungeStaleEntries() {
+            for (Reference<?> reference; (reference = mQueue.poll()) != null; ) {
+                Entry stale = (Entry) reference;
+                int index = indexFor(stale.mHash);
+
+                Entry previous = null;
+                for (Entry entry = mTable.get(index); entry != null; entry = entry.mNext) {
+                    if (entry == stale) {
+                        unlink(index, previous, entry);
+                        break;
+                    }
+                    previous = entry;
+                }
+            }
+        }
+
+        private void unlink(int index, Entry previous, Entry entry) {
+            if (previous == null) {
+                mTable.set(index, entry.mNext);
+            } else {
+                previous.mNext = entry.mNext;
+            }
+            mCount--;
+        }
+
+        private int indexFor(int hash) {
+            return hash & (mTable.length() - 1);
+        }
+
+        private static int tableSizeFor(int maximumSize) {
+            int size = 1;
+            while (size < maximumSize) {
+                size <<= 1;
+            }
+
+            return size;
+        }
+    }
+
+    private static class Entry extends WeakReference<Object> {
+
+        private final WeakReference<Class<?>> mMirrorClass;
+        private final int mHash;
+        private volatile WeakReference<Object> mMirror;
+        private volatile Entry mNext;
+
+        Entry(Object targetInstance, Class<?> mirrorClass, Object mirror, int hash, Entry next, ReferenceQueue<Object> queue) {
+            super(targetInstance, queue);
+            mMirrorClass = new WeakReference<Class<?>>(mirrorClass);
+            mHash = hash;
+            mMirror = new WeakReference<Object>(mirror);
+            mNext = next;
+        }
+
+        boolean matches(Object targetInstance, Class<?> mirrorClass, int hash) {
+            return mHash == hash && mMirrorClass.get() == mirrorClass && get() == targetInstance;
+        }
+    }
+}
@@ -3,33 +3,118 @@ package com.mirror.wrapping;
 import com.mirror.Mirror;
 import com.mirror.MirrorCreationException;
 import com.mirror.helper.MirrorHelper;
+import com.mirror.invocation.MirrorInvocationException;
+import com.mirror.metrics.MirrorMetrics;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 public class Wrapper {
 
     private MirrorHelper mMirrorHelper;
     private Mirror mMirror;
+    private WrappedMirrorCache mWrappedMirrorCache;
+    private MirrorMetrics mMirrorMetrics;
 
     public Wrapper(MirrorHelper mirrorHelper, Mirror mirror) {
+        this(mirrorHelper, mirror, null);
+    }
+
+    /**
+     * @param wrappedMirrorCache cache of created mirrors, or <code>null</code> to create a new mirror each time a value is wrapped.
+     */
+    public Wrapper(MirrorHelper mirrorHelper, Mirror mirror, WrappedMirrorCache wrappedMirrorCache) {
+        this(mirrorHelper, mirror, wrappedMirrorCache, null);
+    }
+
+    /**
+     * @param mirrorMetrics listener notified of wrapped values, or <code>null</code>.
+     */
+    public Wrapper(MirrorHelper mirrorHelper, Mirror mirror, WrappedMirrorCache wrappedMirrorCache, MirrorMetrics mirrorMetrics) {
         mMirrorHelper = mirrorHelper;
         mMirror = mirror;
+        mWrappedMirrorCache = wrappedMirrorCache;
+        mMirrorMetrics = mirrorMetrics;
     }
 
-    public Object wrap(Object object, Class<?> wrappingTarget) throws WrappingException {
+    public Object wrap(Object object, Type wrappingTarget) throws WrappingException {
         if (object == null) {
             return null;
         }
 
+        if (isArrayView(wrappingTarget) && object.getClass().isArray()) {
+            return new ArrayListView(object, elementWrapper(GenericTypes.typeArgument((ParameterizedType) wrappingTarget, 0)));
+        }
+
+        if (ContainerViews.isContainer(wrappingTarget)) {
+            return ContainerViews.view(object, (ParameterizedType) wrappingTarget, this::elementWrapper);
+        }
+
+        Class<?> wrappingClass = GenericTypes.erasure(wrappingTarget);
         if (object.getClass().isArray()) {
-            if (!wrappingTarget.isArray()) {
+            if (!wrappingClass.isArray()) {
                 throw new IllegalArgumentException("cannot wrap array to non-array type");
             }
 
-            return wrapArray(object, wrappingTarget.getComponentType());
+            return wrapArray(object, wrappingClass.getComponentType());
+        }
+
+        return wrapObject(object, wrappingClass);
+    }
+
+    /**
+     * Whether values returned as the given type are ever changed by {@link #wrap(Object, Type)}: mirror types, arrays of
+     * mirror types, containers of mirror types, and list views of arrays.
+     */
+    public boolean requiresWrapping(Type wrappingTarget) {
+        if (isArrayView(wrappingTarget)) {
+            return true;
+        }
+
+        if (ContainerViews.isContainer(wrappingTarget)) {
+            return ContainerViews.anyElementType((ParameterizedType) wrappingTarget, this::requiresWrapping);
+        }
+
+        Class<?> wrappingClass = GenericTypes.erasure(wrappingTarget);
+        if (wrappingClass.isArray()) {
+            return requiresWrapping(wrappingClass.getComponentType());
+        }
+
+        return mMirrorHelper.isMirror(wrappingClass);
+    }
+
+    /**
+     * Arrays returned as <code>List&lt;E&gt;</code> (or <code>Collection&lt;E&gt;</code>, <code>Iterable&lt;E&gt;</code>)
+     * are not copied, but returned as a view which wraps elements into <code>E</code> when they are accessed.
+     */
+    private static boolean isArrayView(Type wrappingTarget) {
+        if (!(wrappingTarget instanceof ParameterizedType)) {
+            return false;
         }
 
-        return wrapObject(object, wrappingTarget);
+        Type rawType = ((ParameterizedType) wrappingTarget).getRawType();
+        return rawType == List.class || rawType == Collection.class || rawType == Iterable.class;
+    }
+
+    /**
+     * @return a function wrapping elements declared as the given type, or <code>null</code> if they need no wrapping.
+     */
+    private Function<Object, Object> elementWrapper(Type elementType) {
+        if (!requiresWrapping(elementType)) {
+            return null;
+        }
+
+        return element -> {
+            try {
+                return wrap(element, elementType);
+            } catch (WrappingException e) {
+                throw new MirrorInvocationException(e);
+            }
+        };
     }
 
     public Object wrapArray(Object array, Class<?> wrappingTarget) throws WrappingException {
@@ -39,7 +124,8 @@ public class Wrapper {
         }
 
         Object[] arrayObjects = (Object[]) array;
-        Object[] wrappedArrayObjects = (Object[]) Array.newInstance(componentType, arrayObjects.length);
+        Class<?> wrappedComponentType = requiresWrapping(wrappingTarget) ? wrappingTarget : componentType;
+        Object[] wrappedArrayObjects = (Object[]) Array.newInstance(wrappedComponentType, arrayObjects.length);
 
         for (int i = 0; i < arrayObjects.length; i++) {
             Object wrapped = wrap(arrayObjects[i], wrappingTarget);
@@ -62,6 +148,23 @@ public class Wrapper {
     }
 
     private Object createMirror(Object object, Class<?> mirrorClass) throws MirrorCreationException {
-        return mMirror.mirror(mirrorClass, object);
+        if (mWrappedMirrorCache == null) {
+            if (mMirrorMetrics != null) {
+                mMirrorMetrics.onValueWrapped(mirrorClass, false);
+            }
+
+            return mMirror.mirror(mirrorClass, object);
+        }
+
+        Object mirror = mWrappedMirrorCache.get(object, mirrorClass);
+        if (mMirrorMetrics != null) {
+            mMirrorMetrics.onValueWrapped(mirrorClass, mirror != null);
+        }
+
+        if (mirror == null) {
+            mirror = mWrappedMirrorCache.putIfAbsent(object, mirrorClass, mMirror.mirror(mirrorClass, object));
+        }
+
+        return mirror;
     }
 }
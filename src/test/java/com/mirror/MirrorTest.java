@@ -0,0 +1,409 @@
+package com.mirror;
+
+import com.mirror.invocation.MirrorInvocationHandler;
+import com.mirror.metrics.InvocationMetrics;
+import com.mirror.metrics.MirrorMetrics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MirrorTest {
+
+    private static volatile boolean sLazyTargetInitialized;
+
+    private Mirror mMirror;
+
+    @Before
+    public void setUp() throws Exception {
+        mMirror = Mirror.createForClassLoader(this.getClass().getClassLoader());
+    }
+
+    @Test
+    public void prepare_validInterfaces_preparedMirrorsWork() throws Exception {
+        mMirror.prepare(TargetMirror.class, TargetMirrorCreator.class);
+
+        TargetMirror targetMirror = mMirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+        targetMirror.setCount(targetMirror.getCount() + 1);
+
+        assertEquals(6, targetMirror.increment(0));
+    }
+
+    @Test
+    public void prepare_missingMembers_reportsAllFailures() throws Exception {
+        try {
+            mMirror.prepare(BrokenTargetMirror.class, BrokenTargetMirrorCreator.class);
+            fail("expected MirrorPreparationException");
+        } catch (MirrorPreparationException e) {
+            assertEquals(3, e.getFailures().size());
+        }
+    }
+
+    @Test
+    public void mirror_sameMirrorType_proxiesShareDescriptor() throws Exception {
+        TargetMirrorCreator creator = mMirror.createMirrorCreator(TargetMirrorCreator.class);
+
+        MirrorInvocationHandler first = (MirrorInvocationHandler) Proxy.getInvocationHandler(creator.create(1));
+        MirrorInvocationHandler second = (MirrorInvocationHandler) Proxy.getInvocationHandler(creator.create(2));
+
+        assertSame(first.getDescriptor(), second.getDescriptor());
+    }
+
+    @Test
+    public void mirror_arrayReturnedAsList_wrapsElementsOnAccess() throws Exception {
+        TargetMirror targetMirror = mMirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+
+        List<TargetMirror> pair = targetMirror.pair();
+
+        assertEquals(2, pair.size());
+        assertEquals(5, pair.get(1).getCount());
+    }
+
+    @Test
+    public void mirror_genericContainersReturned_wrapsElementsOnAccess() throws Exception {
+        TargetMirror targetMirror = mMirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+
+        List<TargetMirror> list = targetMirror.asList();
+        Map<String, TargetMirror> map = targetMirror.asMap();
+        Optional<TargetMirror> optional = targetMirror.asOptional();
+
+        assertEquals(5, list.get(0).getCount());
+        assertEquals(5, map.get("self").getCount());
+        assertEquals(5, optional.get().getCount());
+    }
+
+    @Test
+    public void mirror_listOfMirrorsPassed_unwrapsElementsOnAccess() throws Exception {
+        TargetMirrorCreator creator = mMirror.createMirrorCreator(TargetMirrorCreator.class);
+        TargetMirror targetMirror = creator.create(5);
+
+        int result = targetMirror.sum(Arrays.asList(creator.create(1), creator.create(2)));
+
+        assertEquals(8, result);
+    }
+
+    @Test
+    public void mirror_withMetrics_reportsInvocations() throws Exception {
+        InvocationMetrics METRICS = new InvocationMetrics();
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(METRICS)
+                .build();
+
+        TargetMirror targetMirror = mirror.createMirrorCreator(TargetMirrorCreator.class).create(5);
+        targetMirror.increment(1);
+        targetMirror.increment(2);
+
+        Method INCREMENT = TargetMirror.class.getMethod("increment", int.class);
+        assertEquals(2, METRICS.getMethodMetrics().get(INCREMENT).getInvocations());
+        assertEquals(2, METRICS.getMethodMetrics().get(INCREMENT).getLatency().getCount());
+        assertEquals(2, METRICS.getMirrorsCreated());
+        assertEquals(1, METRICS.getPlanCacheHits());
+    }
+
+    @Test
+    public void mirror_withMetrics_passesStartedValuesBack() throws Exception {
+        Object STARTED = new Object();
+        List<Object> reported = new ArrayList<Object>();
+        MirrorMetrics METRICS = new MirrorMetrics() {
+            @Override
+            public Object onInvocationStarted(Method mirrorMethod, Class<?> targetClass) {
+                return STARTED;
+            }
+
+            @Override
+            public void onInvocation(Method mirrorMethod, Class<?> targetClass, long durationNanos, Throwable thrown, Object started) {
+                reported.add(started);
+            }
+
+            @Override
+            public Object onMirrorCreationStarted(Class<?> mirrorClass) {
+                return STARTED;
+            }
+
+            @Override
+            public void onMirrorCreated(Class<?> mirrorClass, Class<?> targetClass, long durationNanos, Object started) {
+                reported.add(started);
+            }
+        };
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(METRICS)
+                .build();
+
+        mirror.createMirrorCreator(TargetMirrorCreator.class).create(5).increment(1);
+
+        assertEquals(Arrays.asList(STARTED, STARTED, STARTED, STARTED), reported);
+    }
+
+    @Test
+    public void batch_invokeOnTargets_returnsResultOfEachTarget() throws Exception {
+        List<Target> TARGETS = Arrays.asList(new Target(1), new Target(2), new Target(3));
+
+        List<Integer> results = mMirror.batch(TargetMirror.class).invoke(targetMirror -> targetMirror.increment(10), TARGETS);
+
+        assertEquals(Arrays.asList(11, 12, 13), results);
+    }
+
+    @Test
+    public void batch_withMetrics_reportsInvocationOnEachTarget() throws Exception {
+        InvocationMetrics METRICS = new InvocationMetrics();
+        List<Target> TARGETS = Arrays.asList(new Target(1), new Target(2), new Target(3));
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setMetrics(METRICS)
+                .build();
+
+        mirror.batch(TargetMirror.class).invoke(targetMirror -> targetMirror.increment(10), TARGETS);
+
+        Method INCREMENT = TargetMirror.class.getMethod("increment", int.class);
+        assertEquals(3, METRICS.getMethodMetrics().get(INCREMENT).getInvocations());
+    }
+
+    @Test
+    public void batch_invokeEachSetter_setsFieldOfEachTarget() throws Exception {
+        Target[] TARGETS = {new Target(1), new Target(2)};
+        MirrorBatch<TargetMirror> batch = mMirror.batch(TargetMirror.class);
+
+        batch.invokeEach(targetMirror -> targetMirror.setCount(7), Arrays.asList(TARGETS));
+        Integer[] results = batch.invoke(TargetMirror::getCount, TARGETS, new Integer[TARGETS.length]);
+
+        assertArrayEquals(new Integer[] {7, 7}, results);
+    }
+
+    @Test
+    public void cursor_bindEachTarget_mirrorsBoundTarget() throws Exception {
+        Target[] TARGETS = {new Target(1), new Target(2)};
+        MirrorCursor<TargetMirror> cursor = mMirror.cursor(TargetMirror.class);
+
+        int total = 0;
+        for (Target target : TARGETS) {
+            TargetMirror targetMirror = cursor.bind(target);
+            targetMirror.setCount(targetMirror.getCount() * 10);
+            total += targetMirror.getCount();
+        }
+
+        assertSame(cursor.get(), cursor.bind(TARGETS[0]));
+        assertEquals(30, total);
+        assertEquals(10, TARGETS[0].mCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cursor_bindWrongType_throwsIllegalArgumentException() throws Exception {
+        mMirror.cursor(TargetMirror.class).bind(new Object());
+    }
+
+    @Test
+    public void cursor_invokeMethodThroughHandler_invokesOnBoundTarget() throws Throwable {
+        Method METHOD = TargetMirror.class.getDeclaredMethod("increment", int.class);
+        MirrorCursor<TargetMirror> cursor = mMirror.cursor(TargetMirror.class);
+        MirrorInvocationHandler handler = (MirrorInvocationHandler) Proxy.getInvocationHandler(cursor.bind(new Target(5)));
+
+        assertEquals(7, handler.invokeMethod(METHOD, new Object[] {2}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cursor_invokeMethodWithoutTarget_throwsIllegalStateException() throws Throwable {
+        Method METHOD = TargetMirror.class.getDeclaredMethod("increment", int.class);
+        MirrorInvocationHandler handler = (MirrorInvocationHandler) Proxy.getInvocationHandler(mMirror.cursor(TargetMirror.class).get());
+
+        handler.invokeMethod(METHOD, new Object[] {2});
+    }
+
+    @Test
+    public void mirror_futureReturned_invokesOnExecutorAndWrapsResult() throws Exception {
+        AtomicInteger EXECUTED = new AtomicInteger();
+        Executor EXECUTOR = command -> {
+            EXECUTED.incrementAndGet();
+            command.run();
+        };
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setAsyncExecutor(EXECUTOR)
+                .build();
+
+        TargetMirror targetMirror = mirror.mirror(TargetMirror.class, new Target(5));
+        CompletableFuture<TargetMirror> copy = targetMirror.copy(8);
+
+        assertEquals(8, copy.get().getCount());
+        assertEquals(1, EXECUTED.get());
+    }
+
+    @Test
+    public void mirror_futureReturnedAndTargetThrows_completesExceptionally() throws Exception {
+        TargetMirror targetMirror = mMirror.mirror(TargetMirror.class, new Target(5));
+
+        try {
+            targetMirror.failAsync().get();
+            fail("expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void mirror_futureReturnedAndExecutorRejects_completesExceptionally() throws Exception {
+        Executor EXECUTOR = command -> {
+            throw new RejectedExecutionException();
+        };
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setAsyncExecutor(EXECUTOR)
+                .build();
+
+        CompletableFuture<TargetMirror> copy = mirror.mirror(TargetMirror.class, new Target(5)).copy(8);
+
+        try {
+            copy.get();
+            fail("expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void prepare_lazyTargetInitialization_initializesTargetOnConstruction() throws Exception {
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader())
+                .setLazyTargetInitialization(true)
+                .build();
+
+        mirror.prepare(LazyTargetMirror.class, LazyTargetMirrorCreator.class);
+        assertFalse(sLazyTargetInitialized);
+
+        LazyTargetMirror lazyTargetMirror = mirror.createMirrorCreator(LazyTargetMirrorCreator.class).create();
+        assertTrue(sLazyTargetInitialized);
+        assertEquals(4, lazyTargetMirror.twice(2));
+    }
+
+    private static class LazyTarget {
+
+        static {
+            sLazyTargetInitialized = true;
+        }
+
+        private int twice(int value) {
+            return value * 2;
+        }
+    }
+
+    @MirroredClass("com.mirror.MirrorTest$LazyTarget")
+    private interface LazyTargetMirror {
+
+        int twice(int value);
+    }
+
+    private interface LazyTargetMirrorCreator {
+
+        @MirrorCreator
+        LazyTargetMirror create();
+    }
+
+    private static class Target {
+
+        private int mCount;
+
+        private Target(int count) {
+            mCount = count;
+        }
+
+        private int increment(int amount) {
+            return mCount + amount;
+        }
+
+        private Target[] pair() {
+            return new Target[] {this, this};
+        }
+
+        private List<Target> asList() {
+            return Collections.singletonList(this);
+        }
+
+        private Map<String, Target> asMap() {
+            return Collections.singletonMap("self", this);
+        }
+
+        private Optional<Target> asOptional() {
+            return Optional.of(this);
+        }
+
+        private Target copy(int count) {
+            return new Target(count);
+        }
+
+        private void failAsync() {
+            throw new IllegalStateException();
+        }
+
+        private int sum(List<Target> others) {
+            int sum = mCount;
+            for (Target other : others) {
+                sum += other.mCount;
+            }
+
+            return sum;
+        }
+    }
+
+    @MirroredClass("com.mirror.MirrorTest$Target")
+    private interface TargetMirror {
+
+        @GetField("mCount")
+        int getCount();
+
+        @SetField("mCount")
+        void setCount(int count);
+
+        int increment(int amount);
+
+        List<TargetMirror> pair();
+
+        List<TargetMirror> asList();
+
+        Map<String, TargetMirror> asMap();
+
+        Optional<TargetMirror> asOptional();
+
+        int sum(List<TargetMirror> others);
+
+        CompletableFuture<TargetMirror> copy(int count);
+
+        CompletableFuture<Void> failAsync();
+    }
+
+    private interface TargetMirrorCreator {
+
+        @MirrorCreator
+        TargetMirror create(int count);
+    }
+
+    @MirroredClass("com.mirror.MirrorTest$Target")
+    private interface BrokenTargetMirror {
+
+        @GetField("mMissing")
+        int getMissing();
+
+        int increment(int amount);
+
+        void missing();
+    }
+
+    private interface BrokenTargetMirrorCreator {
+
+        @MirrorCreator
+        TargetMirror create(String name);
+    }
+}
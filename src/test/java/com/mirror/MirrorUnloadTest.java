@@ -0,0 +1,226 @@
+package com.mirror;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MirrorUnloadTest {
+
+    private static final String PLUGIN_CLASS_NAME = "com.mirror.MirrorUnloadTest$Plugin";
+    private static final String PLUGIN_MIRROR_CLASS_NAME = "com.mirror.MirrorUnloadTest$PluginMirror";
+    private static final String PLUGIN_MIRROR_CREATOR_CLASS_NAME = "com.mirror.MirrorUnloadTest$PluginMirrorCreator";
+    private static final String PLUGIN_EXCEPTION_CLASS_NAME = "com.mirror.MirrorUnloadTest$PluginException";
+
+    @Test
+    public void close_pluginClassLoaderDiscarded_classLoaderIsCollected() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            WeakReference<ClassLoader> classLoaderReference = usePlugin(false);
+
+            awaitCollection(classLoaderReference);
+            assertNull(classLoaderReference.get());
+        }
+    }
+
+    @Test
+    public void close_generatedImplementations_classLoaderIsCollected() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            WeakReference<ClassLoader> classLoaderReference = usePlugin(true);
+
+            awaitCollection(classLoaderReference);
+            assertNull(classLoaderReference.get());
+        }
+    }
+
+    @Test
+    public void invalidate_mirrorInterfacesOfDiscardedClassLoader_classLoaderIsCollected() throws Exception {
+        Mirror mirror = Mirror.builder(MirrorUnloadTest.class.getClassLoader())
+                .setWrappedMirrorCacheSize(16)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            WeakReference<ClassLoader> classLoaderReference = usePluginInterfaces(mirror);
+
+            awaitCollection(classLoaderReference);
+            assertNull(classLoaderReference.get());
+        }
+
+        mirror.close();
+    }
+
+    @Test
+    public void invalidate_generatedImplementationsOfDiscardedClassLoader_classLoaderIsCollected() throws Exception {
+        Mirror mirror = Mirror.builder(MirrorUnloadTest.class.getClassLoader())
+                .setGenerateImplementations(true)
+                .setWrappedMirrorCacheSize(16)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            WeakReference<ClassLoader> classLoaderReference = usePluginInterfaces(mirror);
+
+            awaitCollection(classLoaderReference);
+            assertNull(classLoaderReference.get());
+        }
+
+        mirror.close();
+    }
+
+    private static WeakReference<ClassLoader> usePluginInterfaces(Mirror mirror) throws Exception {
+        ClassLoader classLoader = new PluginClassLoader(PLUGIN_MIRROR_CLASS_NAME, PLUGIN_MIRROR_CREATOR_CLASS_NAME, PLUGIN_EXCEPTION_CLASS_NAME);
+        Class<?> mirrorClass = Class.forName(PLUGIN_MIRROR_CLASS_NAME, false, classLoader);
+        Class<?> mirrorCreatorClass = Class.forName(PLUGIN_MIRROR_CREATOR_CLASS_NAME, false, classLoader);
+        assertSame(classLoader, mirrorClass.getClassLoader());
+
+        Object plugin = mirrorCreatorClass.getMethod("create", String.class).invoke(mirror.createMirrorCreator(mirrorCreatorClass), "plugin");
+        Object self = mirrorClass.getMethod("self").invoke(plugin);
+
+        assertEquals("plugin", mirrorClass.getMethod("getName").invoke(plugin));
+        assertEquals("plugin", mirrorClass.getMethod("describe").invoke(self));
+
+        try {
+            mirrorClass.getMethod("fail").invoke(plugin);
+            fail("expected PluginException");
+        } catch (InvocationTargetException e) {
+            assertEquals(PLUGIN_EXCEPTION_CLASS_NAME, e.getCause().getClass().getName());
+        }
+
+        mirror.invalidate(classLoader);
+
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    private static WeakReference<ClassLoader> usePlugin(boolean generateImplementations) throws Exception {
+        ClassLoader classLoader = new PluginClassLoader(PLUGIN_CLASS_NAME);
+        assertSame(classLoader, Class.forName(PLUGIN_CLASS_NAME, false, classLoader).getClassLoader());
+
+        Mirror.Builder builder = Mirror.builder(classLoader)
+                .setGenerateImplementations(generateImplementations)
+                .setWrappedMirrorCacheSize(16);
+
+        try (Mirror mirror = builder.build()) {
+            PluginMirror plugin = mirror.createMirrorCreator(PluginMirrorCreator.class).create("plugin");
+
+            assertEquals("plugin", plugin.getName());
+            assertEquals("plugin", plugin.self().describe());
+
+            try {
+                plugin.fail();
+                fail("expected PluginException");
+            } catch (PluginException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    private static void awaitCollection(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Defines the given classes itself, from the class files of the test, and delegates loading all other classes.
+     */
+    private static class PluginClassLoader extends ClassLoader {
+
+        private final List<String> mClassNames;
+
+        private PluginClassLoader(String... classNames) {
+            super(MirrorUnloadTest.class.getClassLoader());
+            mClassNames = Arrays.asList(classNames);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!mClassNames.contains(name)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    byte[] classBytes = readClassBytes(name);
+                    type = defineClass(name, classBytes, 0, classBytes.length);
+                }
+
+                return type;
+            }
+        }
+
+        private byte[] readClassBytes(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    out.write(buffer, 0, read);
+                }
+
+                return out.toByteArray();
+            } catch (IOException | NullPointerException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    private static class Plugin {
+
+        private final String mName;
+
+        private Plugin(String name) {
+            mName = name;
+        }
+
+        private Plugin self() {
+            return this;
+        }
+
+        private String describe() {
+            return mName;
+        }
+
+        private void fail() {
+            throw new IllegalStateException(mName);
+        }
+    }
+
+    @MirroredClass(PLUGIN_CLASS_NAME)
+    public interface PluginMirror {
+
+        @GetField("mName")
+        String getName();
+
+        PluginMirror self();
+
+        String describe();
+
+        void fail() throws PluginException;
+    }
+
+    public interface PluginMirrorCreator {
+
+        @MirrorCreator
+        PluginMirror create(String name);
+    }
+
+    @MirroredException("java.lang.IllegalStateException")
+    public static class PluginException extends Exception {
+
+        public PluginException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
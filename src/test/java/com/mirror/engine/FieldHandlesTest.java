@@ -0,0 +1,99 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class FieldHandlesTest {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    @Test
+    public void getter_defaultMode_readsField() throws Throwable {
+        Field FIELD = accessibleField("mCount");
+
+        MethodHandle getter = FieldHandles.getter(LOOKUP, FIELD, FieldAccessMode.DEFAULT);
+
+        assertEquals(3L, (long) getter.invoke(new SomeClass()));
+    }
+
+    @Test
+    public void getter_anyModeOnVolatileField_readsField() throws Throwable {
+        Field FIELD = accessibleField("mVolatileCount");
+
+        for (FieldAccessMode accessMode : FieldAccessMode.values()) {
+            MethodHandle getter = FieldHandles.getter(LOOKUP, FIELD, accessMode);
+
+            assertEquals(5L, (long) getter.invoke(new SomeClass()));
+        }
+    }
+
+    @Test
+    public void setter_anyModeOnVolatileField_writesField() throws Throwable {
+        Field FIELD = accessibleField("mVolatileCount");
+        SomeClass INSTANCE = new SomeClass();
+
+        for (FieldAccessMode accessMode : FieldAccessMode.values()) {
+            MethodHandle setter = FieldHandles.setter(LOOKUP, FIELD, accessMode);
+            setter.invoke(INSTANCE, (long) accessMode.ordinal());
+
+            assertEquals(accessMode.ordinal(), INSTANCE.mVolatileCount);
+        }
+    }
+
+    @Test
+    public void getter_plainModeOnStaticField_readsField() throws Throwable {
+        Field FIELD = accessibleField("sName");
+
+        MethodHandle getter = FieldHandles.getter(LOOKUP, FIELD, FieldAccessMode.PLAIN);
+
+        assertEquals("name", (String) getter.invoke());
+    }
+
+    @Test
+    public void getter_volatileModeOnNonVolatileField_readsFieldWithVarHandle() throws Throwable {
+        assumeTrue(FieldHandles.isVarHandleSupported());
+        Field FIELD = accessibleField("mCount");
+
+        MethodHandle getter = FieldHandles.getter(LOOKUP, FIELD, FieldAccessMode.VOLATILE);
+
+        assertEquals(3L, (long) getter.invoke(new SomeClass()));
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void getter_volatileModeOnNonVolatileFieldWithoutVarHandle_throwsIllegalAccessException() throws Throwable {
+        assumeFalse(FieldHandles.isVarHandleSupported());
+        Field FIELD = accessibleField("mCount");
+
+        FieldHandles.getter(LOOKUP, FIELD, FieldAccessMode.VOLATILE);
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void setter_finalField_throwsIllegalAccessException() throws Throwable {
+        Field FIELD = accessibleField("mFinal");
+
+        FieldHandles.setter(LOOKUP, FIELD, FieldAccessMode.OPAQUE);
+    }
+
+    private static Field accessibleField(String name) throws NoSuchFieldException {
+        Field field = SomeClass.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static class SomeClass {
+
+        private static String sName = "name";
+
+        private long mCount = 3;
+        private volatile long mVolatileCount = 5;
+        private final Object mFinal = new Object();
+    }
+}
@@ -0,0 +1,184 @@
+package com.mirror.engine;
+
+import com.mirror.FieldAccessMode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+public class MethodHandleInvocationEngineTest {
+
+    private MethodHandleInvocationEngine mInvocationEngine;
+
+    @Before
+    public void setUp() throws Exception {
+        mInvocationEngine = new MethodHandleInvocationEngine();
+    }
+
+    @Test
+    public void createMethodInvoker_privateInstanceMethod_invokesOnInstance() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("concat", String.class, int.class);
+        METHOD.setAccessible(true);
+        SomeClass INSTANCE = new SomeClass("a");
+
+        MemberInvoker invoker = mInvocationEngine.createMethodInvoker(METHOD);
+        Object result = invoker.invoke(INSTANCE, new Object[] {"b", 3});
+
+        assertEquals("ab3", result);
+    }
+
+    @Test
+    public void createMethodInvoker_staticMethod_ignoresInstance() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("twice", int.class);
+        METHOD.setAccessible(true);
+
+        MemberInvoker invoker = mInvocationEngine.createMethodInvoker(METHOD);
+        Object result = invoker.invoke(null, new Object[] {4});
+
+        assertEquals(8, result);
+    }
+
+    @Test
+    public void createMethodInvoker_voidMethod_returnsNull() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("doNothing");
+        METHOD.setAccessible(true);
+
+        MemberInvoker invoker = mInvocationEngine.createMethodInvoker(METHOD);
+        Object result = invoker.invoke(new SomeClass("a"), new Object[0]);
+
+        assertNull(result);
+    }
+
+    @Test
+    public void createMethodInvoker_methodThrows_throwsInvocationTargetExceptionWithCause() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("fail");
+        METHOD.setAccessible(true);
+
+        MemberInvoker invoker = mInvocationEngine.createMethodInvoker(METHOD);
+        try {
+            invoker.invoke(new SomeClass("a"), new Object[0]);
+            fail("expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof InterruptedException);
+        }
+    }
+
+    @Test
+    public void createMethodInvoker_methodThrowsClassCastException_throwsInvocationTargetExceptionWithCause() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("failWithClassCast");
+        METHOD.setAccessible(true);
+
+        MemberInvoker invoker = mInvocationEngine.createMethodInvoker(METHOD);
+        try {
+            invoker.invoke(new SomeClass("a"), new Object[0]);
+            fail("expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createMethodInvoker_argumentTypeMismatch_throwsIllegalArgumentException() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("concat", String.class, int.class);
+        METHOD.setAccessible(true);
+
+        mInvocationEngine.createMethodInvoker(METHOD).invoke(new SomeClass("a"), new Object[] {1, 3});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createMethodInvoker_nullPrimitiveArgument_throwsIllegalArgumentException() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("twice", int.class);
+        METHOD.setAccessible(true);
+
+        mInvocationEngine.createMethodInvoker(METHOD).invoke(null, new Object[] {null});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createMethodInvoker_wrongArgumentCount_throwsIllegalArgumentException() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("twice", int.class);
+        METHOD.setAccessible(true);
+
+        mInvocationEngine.createMethodInvoker(METHOD).invoke(null, new Object[] {1, 2});
+    }
+
+    @Test
+    public void createConstructorInvoker_privateConstructor_createsInstance() throws Exception {
+        Constructor<?> CONSTRUCTOR = SomeClass.class.getDeclaredConstructor(String.class);
+        CONSTRUCTOR.setAccessible(true);
+
+        MemberInvoker invoker = mInvocationEngine.createConstructorInvoker(CONSTRUCTOR);
+        Object result = invoker.invoke(null, new Object[] {"name"});
+
+        assertTrue(result instanceof SomeClass);
+        assertEquals("name", ((SomeClass) result).mName);
+    }
+
+    @Test
+    public void createFieldAccessor_privateField_getsAndSetsValue() throws Exception {
+        Field FIELD = SomeClass.class.getDeclaredField("mName");
+        FIELD.setAccessible(true);
+        SomeClass INSTANCE = new SomeClass("a");
+
+        FieldAccessor fieldAccessor = mInvocationEngine.createFieldAccessor(FIELD, FieldAccessMode.DEFAULT);
+        fieldAccessor.set(INSTANCE, "b");
+
+        assertEquals("b", fieldAccessor.get(INSTANCE));
+    }
+
+    @Test
+    public void createFieldAccessor_staticPrimitiveField_getsAndSetsValue() throws Exception {
+        Field FIELD = SomeClass.class.getDeclaredField("sCount");
+        FIELD.setAccessible(true);
+
+        FieldAccessor fieldAccessor = mInvocationEngine.createFieldAccessor(FIELD, FieldAccessMode.DEFAULT);
+        fieldAccessor.set(null, 5);
+
+        assertEquals(5, fieldAccessor.get(null));
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void createFieldAccessor_finalField_setThrowsIllegalAccessException() throws Exception {
+        Field FIELD = SomeClass.class.getDeclaredField("mFinal");
+        FIELD.setAccessible(true);
+
+        FieldAccessor fieldAccessor = mInvocationEngine.createFieldAccessor(FIELD, FieldAccessMode.DEFAULT);
+        fieldAccessor.set(new SomeClass("a"), new Object());
+    }
+
+    private static class SomeClass {
+
+        private static int sCount;
+
+        private String mName;
+        private final Object mFinal = new Object();
+
+        private SomeClass(String name) {
+            mName = name;
+        }
+
+        private String concat(String other, int count) {
+            return mName + other + count;
+        }
+
+        private static int twice(int value) {
+            return value * 2;
+        }
+
+        private void doNothing() {
+
+        }
+
+        private void fail() throws InterruptedException {
+            throw new InterruptedException();
+        }
+
+        private void failWithClassCast() {
+            throw new ClassCastException();
+        }
+    }
+}
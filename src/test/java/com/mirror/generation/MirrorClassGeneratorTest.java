@@ -0,0 +1,173 @@
+package com.mirror.generation;
+
+import com.mirror.GetField;
+import com.mirror.Mirror;
+import com.mirror.MirroredClass;
+import com.mirror.MirroredException;
+import com.mirror.SetField;
+import com.mirror.helper.MirrorHelper;
+import com.mirror.helper.ReflectionHelper;
+import com.mirror.metrics.InvocationMetrics;
+import com.mirror.wrapping.ThrowableWrapper;
+import com.mirror.wrapping.Unwrapper;
+import com.mirror.wrapping.Wrapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class MirrorClassGeneratorTest {
+
+    private MirrorClassGenerator mMirrorClassGenerator;
+    private ReflectionHelper mReflectionHelper;
+    private Wrapper mWrapper;
+    private Unwrapper mUnwrapper;
+
+    @Before
+    public void setUp() throws Exception {
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        MirrorHelper mirrorHelper = new MirrorHelper();
+        mWrapper = new Wrapper(mirrorHelper, mock(Mirror.class));
+        mUnwrapper = new Unwrapper(mirrorHelper, classLoader);
+        mReflectionHelper = new ReflectionHelper(mWrapper, mUnwrapper);
+
+        mMirrorClassGenerator = new MirrorClassGenerator(new MirrorHandleFactory(mReflectionHelper, mWrapper, mUnwrapper, new ThrowableWrapper(), classLoader));
+    }
+
+    @Test
+    public void generate_publicMirror_implementsMirrorInterface() throws Exception {
+        MirrorImplementation implementation = mMirrorClassGenerator.generate(SomeMirror.class, SomeClass.class);
+
+        Object instance = implementation.newInstance(new SomeClass("a"));
+
+        assertTrue(instance instanceof SomeMirror);
+        assertTrue(instance instanceof GeneratedMirror);
+    }
+
+    @Test
+    public void generate_publicMirror_callsTargetMethods() throws Exception {
+        MirrorImplementation implementation = mMirrorClassGenerator.generate(SomeMirror.class, SomeClass.class);
+
+        SomeMirror mirror = (SomeMirror) implementation.newInstance(new SomeClass("a"));
+
+        assertEquals("ab", mirror.concat("b"));
+        assertEquals(10L, mirror.sum(1, 2L, 3.0, 4));
+        assertEquals(8, mirror.twice(4));
+    }
+
+    @Test
+    public void generate_publicMirror_accessesFields() throws Exception {
+        MirrorImplementation implementation = mMirrorClassGenerator.generate(SomeMirror.class, SomeClass.class);
+        SomeClass TARGET = new SomeClass("a");
+
+        SomeMirror mirror = (SomeMirror) implementation.newInstance(TARGET);
+        mirror.setName("b");
+
+        assertEquals("b", mirror.getName());
+        assertEquals("b", TARGET.mName);
+    }
+
+    @Test(expected = WrappedException.class)
+    public void generate_methodThrowsMirroredException_throwsWrappedException() throws Exception {
+        MirrorImplementation implementation = mMirrorClassGenerator.generate(SomeMirror.class, SomeClass.class);
+
+        SomeMirror mirror = (SomeMirror) implementation.newInstance(new SomeClass("a"));
+        mirror.fail();
+    }
+
+    @Test
+    public void generate_publicMirror_isUnwrappedToTarget() throws Exception {
+        MirrorImplementation implementation = mMirrorClassGenerator.generate(SomeMirror.class, SomeClass.class);
+        SomeClass TARGET = new SomeClass("a");
+
+        Object mirror = implementation.newInstance(TARGET);
+
+        assertSame(TARGET, mUnwrapper.unwrapObject(mirror));
+    }
+
+    @Test
+    public void generate_withMetrics_reportsInvocations() throws Exception {
+        InvocationMetrics METRICS = new InvocationMetrics();
+        MirrorHandleFactory handleFactory = new MirrorHandleFactory(mReflectionHelper, mWrapper, mUnwrapper, new ThrowableWrapper(), this.getClass().getClassLoader(), null, METRICS);
+        MirrorImplementation implementation = new MirrorClassGenerator(handleFactory).generate(SomeMirror.class, SomeClass.class);
+
+        SomeMirror mirror = (SomeMirror) implementation.newInstance(new SomeClass("a"));
+        mirror.twice(1);
+        mirror.setName("b");
+
+        Method TWICE = SomeMirror.class.getMethod("twice", int.class);
+        Method SET_NAME = SomeMirror.class.getMethod("setName", String.class);
+        assertEquals(8, mirror.twice(4));
+        assertEquals(2, METRICS.getMethodMetrics().get(TWICE).getInvocations());
+        assertEquals(1, METRICS.getMethodMetrics().get(SET_NAME).getInvocations());
+    }
+
+    @Test(expected = MirrorClassGenerationException.class)
+    public void generate_nonPublicMirror_throwsMirrorClassGenerationException() throws Exception {
+        mMirrorClassGenerator.generate(PrivateMirror.class, SomeClass.class);
+    }
+
+    @Test(expected = MirrorClassGenerationException.class)
+    public void generate_missingTargetMethod_throwsMirrorClassGenerationException() throws Exception {
+        mMirrorClassGenerator.generate(MissingMethodMirror.class, SomeClass.class);
+    }
+
+    @MirroredClass("com.mirror.generation.MirrorClassGeneratorTest$SomeClass")
+    public interface SomeMirror {
+        String concat(String other);
+        long sum(int a, long b, double c, int d);
+        int twice(int value);
+        void fail() throws WrappedException;
+
+        @GetField("mName")
+        String getName();
+
+        @SetField("mName")
+        void setName(String name);
+    }
+
+    @MirroredClass("com.mirror.generation.MirrorClassGeneratorTest$SomeClass")
+    private interface PrivateMirror {
+        String concat(String other);
+    }
+
+    @MirroredClass("com.mirror.generation.MirrorClassGeneratorTest$SomeClass")
+    public interface MissingMethodMirror {
+        void missing();
+    }
+
+    @MirroredException("java.lang.IllegalStateException")
+    public static class WrappedException extends Exception {
+        public WrappedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private static class SomeClass {
+
+        private String mName;
+
+        private SomeClass(String name) {
+            mName = name;
+        }
+
+        private String concat(String other) {
+            return mName + other;
+        }
+
+        private long sum(int a, long b, double c, int d) {
+            return (long) (a + b + c + d);
+        }
+
+        private static int twice(int value) {
+            return value * 2;
+        }
+
+        private void fail() {
+            throw new IllegalStateException();
+        }
+    }
+}
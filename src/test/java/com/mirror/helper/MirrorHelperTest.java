@@ -5,10 +5,13 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class MirrorHelperTest {
 
+    private static volatile boolean sLazyTargetInitialized;
+
     @Test
     public void isMirror_onMirroredClass_returnsTrue() throws Exception {
         MirrorHelper mirrorHelper = new MirrorHelper();
@@ -38,6 +41,52 @@ public class MirrorHelperTest {
         mirrorHelper.getMirroredTypeName(NonMirrorClassEx.class);
     }
 
+    @Test
+    public void getMirrorTargetType_onMirroredClass_returnsTargetType() throws Exception {
+        MirrorHelper mirrorHelper = new MirrorHelper();
+        ClassLoader CLASS_LOADER = this.getClass().getClassLoader();
+
+        Class<?> first = mirrorHelper.getMirrorTargetType(MirrorClassEx.class, CLASS_LOADER);
+        Class<?> second = new MirrorHelper().getMirrorTargetType(MirrorClassEx.class, CLASS_LOADER);
+
+        assertEquals(com.mirror.Mirror.class, first);
+        assertSame(first, second);
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void getMirrorTargetType_targetMissing_throwsClassNotFoundException() throws Exception {
+        MirrorHelper mirrorHelper = new MirrorHelper();
+
+        mirrorHelper.getMirrorTargetType(MissingTargetMirrorClassEx.class, this.getClass().getClassLoader());
+    }
+
+    @Test
+    public void getMirrorTargetType_lazyInitialization_initializesOnlyWhenRequired() throws Exception {
+        ClassLoader CLASS_LOADER = this.getClass().getClassLoader();
+
+        Class<?> lazy = new MirrorHelper(false).getMirrorTargetType(LazyMirrorClassEx.class, CLASS_LOADER);
+        assertFalse(sLazyTargetInitialized);
+
+        Class<?> initialized = new MirrorHelper(true).getMirrorTargetType(LazyMirrorClassEx.class, CLASS_LOADER);
+        assertTrue(sLazyTargetInitialized);
+        assertSame(lazy, initialized);
+    }
+
+    @MirroredClass("com.mirror.helper.MirrorHelperTest$LazyTarget")
+    private static interface LazyMirrorClassEx {
+    }
+
+    private static class LazyTarget {
+
+        static {
+            sLazyTargetInitialized = true;
+        }
+    }
+
+    @MirroredClass("com.mirror.Missing")
+    private static interface MissingTargetMirrorClassEx {
+    }
+
     @MirroredClass("com.mirror.Mirror")
     private static interface MirrorClassEx {
     }
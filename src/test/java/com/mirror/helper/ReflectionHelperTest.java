@@ -1,5 +1,7 @@
 package com.mirror.helper;
 
+import com.mirror.engine.FieldAccessor;
+import com.mirror.engine.MemberInvoker;
 import com.mirror.wrapping.Unwrapper;
 import com.mirror.wrapping.Wrapper;
 import org.junit.Before;
@@ -10,9 +12,12 @@ import org.mockito.stubbing.Answer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class ReflectionHelperTest {
@@ -34,13 +39,37 @@ public class ReflectionHelperTest {
         Object[] PARAMETERS = {new Object(), new Object()};
         Object UNWRAPPED = new Object();
 
-        when(mUnwrapper.unwrap(any())).thenReturn(UNWRAPPED);
+        when(mUnwrapper.unwrap(any(), any())).thenReturn(UNWRAPPED);
 
-        Object[] result = mReflectionHelper.unwrapParameters(PARAMETERS);
+        Object[] result = mReflectionHelper.unwrapParameters(new MirrorParameters(new int[] {0, 1}, new Type[] {Object.class, Object.class}), PARAMETERS);
 
         assertArrayEquals(new Object[] {UNWRAPPED, UNWRAPPED}, result);
     }
 
+    @Test
+    public void unwrapParameters_noMirrorParameters_returnsSameArray() throws Exception {
+        Object[] PARAMETERS = {"value", 5};
+
+        Object[] result = mReflectionHelper.unwrapParameters(MirrorParameters.NONE, PARAMETERS);
+
+        assertSame(PARAMETERS, result);
+        verify(mUnwrapper, never()).unwrap(any(), any());
+    }
+
+    @Test
+    public void findMirrorParameters_mixedParameters_returnsParametersWhichCanCarryMirrors() throws Exception {
+        Method METHOD = SomeClass.class.getDeclaredMethod("withOverload", int.class, double.class);
+
+        when(mUnwrapper.canCarryMirror(int.class)).thenReturn(false);
+        when(mUnwrapper.canCarryMirror(double.class)).thenReturn(true);
+
+        MirrorParameters result = mReflectionHelper.findMirrorParameters(METHOD);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.getIndex(0));
+        assertEquals(double.class, result.getType(0));
+    }
+
     @Test
     public void unwrapParameterTypes_types_returnsUnwrappedParameterTypes() throws Exception {
         Class<?>[] PARAMETER_TYPES = new Class[] {this.getClass(), this.getClass()};
@@ -68,6 +97,7 @@ public class ReflectionHelperTest {
         Method result = mReflectionHelper.findMirrorMethod(method, RESULT_METHOD.getName(), SomeClass.class);
 
         assertEquals(RESULT_METHOD, result);
+        assertTrue(result.isAccessible());
     }
 
     @Test
@@ -137,17 +167,16 @@ public class ReflectionHelperTest {
         Object RETURN = new Object();
 
         mReflectionHelper = spy(mReflectionHelper);
-        doReturn(PARAMETERS).when(mReflectionHelper).unwrapParameters(any());
+        doReturn(PARAMETERS).when(mReflectionHelper).unwrapParameters(any(), any());
 
         when(mWrapper.wrap(any(), any())).thenReturn(RETURN);
 
-        Method mockMethod = mock(Method.class);
-        when(mockMethod.invoke(any(), any())).thenReturn(RETURN);
+        MemberInvoker mockInvoker = mock(MemberInvoker.class);
+        when(mockInvoker.invoke(any(), any())).thenReturn(RETURN);
 
-        mReflectionHelper.invokeMirrorMethod(mockMethod, INSTANCE, RETURN_TYPE, PARAMETERS);
+        mReflectionHelper.invokeMirrorMethod(mockInvoker, MirrorParameters.NONE, INSTANCE, RETURN_TYPE, PARAMETERS);
 
-        verify(mockMethod, times(1)).setAccessible(true);
-        verify(mockMethod, times(1)).invoke(INSTANCE, PARAMETERS);
+        verify(mockInvoker, times(1)).invoke(INSTANCE, PARAMETERS);
         verify(mWrapper, times(1)).wrap(RETURN, RETURN_TYPE);
     }
 
@@ -158,6 +187,7 @@ public class ReflectionHelperTest {
         Field result = mReflectionHelper.findMirrorField(RESULT_FIELD.getName(), SomeClass.class);
 
         assertEquals(RESULT_FIELD, result);
+        assertTrue(result.isAccessible());
     }
 
     @Test(expected = NoSuchFieldException.class)
@@ -182,13 +212,12 @@ public class ReflectionHelperTest {
 
         when(mWrapper.wrap(any(), any())).thenReturn(RETURN);
 
-        Field mockField = mock(Field.class);
-        when(mockField.get(any())).thenReturn(RETURN);
+        FieldAccessor mockFieldAccessor = mock(FieldAccessor.class);
+        when(mockFieldAccessor.get(any())).thenReturn(RETURN);
 
-        mReflectionHelper.getFieldValue(mockField, INSTANCE, RETURN_TYPE);
+        mReflectionHelper.getFieldValue(mockFieldAccessor, INSTANCE, RETURN_TYPE);
 
-        verify(mockField, times(1)).setAccessible(true);
-        verify(mockField, times(1)).get(INSTANCE);
+        verify(mockFieldAccessor, times(1)).get(INSTANCE);
         verify(mWrapper, times(1)).wrap(RETURN, RETURN_TYPE);
     }
 
@@ -197,15 +226,14 @@ public class ReflectionHelperTest {
         Object INSTANCE = new Object();
         Object VALUE = new Object();
 
-        when(mUnwrapper.unwrap(any())).thenReturn(VALUE);
+        when(mUnwrapper.unwrap(any(), any())).thenReturn(VALUE);
 
-        Field mockField = mock(Field.class);
+        FieldAccessor mockFieldAccessor = mock(FieldAccessor.class);
 
-        mReflectionHelper.setFieldValue(mockField, INSTANCE, VALUE);
+        mReflectionHelper.setFieldValue(mockFieldAccessor, new MirrorParameters(new int[] {0}, new Type[] {Object.class}), INSTANCE, VALUE);
 
-        verify(mockField, times(1)).setAccessible(true);
-        verify(mockField, times(1)).set(INSTANCE, VALUE);
-        verify(mUnwrapper, times(1)).unwrap(VALUE);
+        verify(mockFieldAccessor, times(1)).set(INSTANCE, VALUE);
+        verify(mUnwrapper, times(1)).unwrap(VALUE, Object.class);
     }
 
 
@@ -220,6 +248,7 @@ public class ReflectionHelperTest {
         Constructor result = mReflectionHelper.findMirrorConstructor(MIRROR_METHOD, ClassConstructor.class);
 
         assertEquals(CONSTRUCTOR, result);
+        assertTrue(result.isAccessible());
     }
 
     @Test
@@ -242,17 +271,16 @@ public class ReflectionHelperTest {
         Object RETURN = new Object();
 
         mReflectionHelper = spy(mReflectionHelper);
-        doReturn(PARAMETERS).when(mReflectionHelper).unwrapParameters(any());
+        doReturn(PARAMETERS).when(mReflectionHelper).unwrapParameters(any(), any());
 
         when(mWrapper.wrap(any(), any())).thenReturn(RETURN);
 
-        Constructor mockConstructor = mock(Constructor.class);
-        when(mockConstructor.newInstance(any())).thenReturn(RETURN);
+        MemberInvoker mockInvoker = mock(MemberInvoker.class);
+        when(mockInvoker.invoke(any(), any())).thenReturn(RETURN);
 
-        mReflectionHelper.invokeMirrorConstructor(mockConstructor, RETURN_TYPE, PARAMETERS);
+        mReflectionHelper.invokeMirrorConstructor(mockInvoker, MirrorParameters.NONE, RETURN_TYPE, PARAMETERS);
 
-        verify(mockConstructor, times(1)).setAccessible(true);
-        verify(mockConstructor, times(1)).newInstance(PARAMETERS);
+        verify(mockInvoker, times(1)).invoke(null, PARAMETERS);
         verify(mWrapper, times(1)).wrap(RETURN, RETURN_TYPE);
     }
 
@@ -0,0 +1,234 @@
+package com.mirror.index;
+
+import com.mirror.GetField;
+import com.mirror.Mirror;
+import com.mirror.MirrorCreator;
+import com.mirror.MirroredClass;
+import com.mirror.helper.MirrorHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+public class MirrorIndexTest {
+
+    private Path mIndexFile;
+    private MirrorHelper mMirrorHelper;
+
+    @Before
+    public void setUp() throws Exception {
+        mIndexFile = Files.createTempFile("mirror", ".index");
+        Files.delete(mIndexFile);
+        mMirrorHelper = new MirrorHelper();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(mIndexFile);
+    }
+
+    @Test
+    public void read_writtenIndex_resolvesSameMembers() throws Exception {
+        Method MIRROR_METHOD = TargetMirror.class.getMethod("combine", TargetMirror.class);
+        Method CREATOR_METHOD = TargetMirrorCreator.class.getMethod("create", String.class);
+        Method METHOD = Target.class.getDeclaredMethod("combine", Target.class);
+        Field FIELD = Target.class.getDeclaredField("mName");
+        Constructor<?> CONSTRUCTOR = Target.class.getDeclaredConstructor(String.class);
+
+        MirrorIndex writtenIndex = new MirrorIndex(mIndexFile, mMirrorHelper);
+        writtenIndex.putMethod(MIRROR_METHOD, "combine", Target.class, METHOD);
+        writtenIndex.putField("mName", Target.class, FIELD);
+        writtenIndex.putConstructor(CREATOR_METHOD, Target.class, CONSTRUCTOR);
+        writtenIndex.write();
+
+        MirrorIndex readIndex = new MirrorIndex(mIndexFile, mMirrorHelper);
+        readIndex.read();
+
+        assertEquals(3, readIndex.size());
+        assertEquals(METHOD, readIndex.findMethod(MIRROR_METHOD, "combine", Target.class));
+        assertEquals(FIELD, readIndex.findField("mName", Target.class));
+        assertEquals(CONSTRUCTOR, readIndex.findConstructor(CREATOR_METHOD, Target.class));
+    }
+
+    @Test
+    public void findMethod_targetClassChanged_ignoresInheritedEntry() throws Exception {
+        Method MIRROR_METHOD = BaseTargetMirror.class.getMethod("describe");
+
+        MirrorIndex writtenIndex = new MirrorIndex(mIndexFile, mMirrorHelper, type -> 1);
+        writtenIndex.putMethod(MIRROR_METHOD, "describe", Target.class, BaseTarget.class.getDeclaredMethod("describe"));
+        writtenIndex.write();
+
+        MirrorIndex readIndex = new MirrorIndex(mIndexFile, mMirrorHelper, type -> 2);
+        readIndex.read();
+
+        assertNull(readIndex.findMethod(MIRROR_METHOD, "describe", Target.class));
+        assertEquals(0, readIndex.size());
+    }
+
+    @Test
+    public void findMethod_targetClassChanged_resolvesDeclaredMember() throws Exception {
+        Method MIRROR_METHOD = TargetMirror.class.getMethod("combine", TargetMirror.class);
+        Method METHOD = Target.class.getDeclaredMethod("combine", Target.class);
+
+        MirrorIndex writtenIndex = new MirrorIndex(mIndexFile, mMirrorHelper, type -> 1);
+        writtenIndex.putMethod(MIRROR_METHOD, "combine", Target.class, METHOD);
+        writtenIndex.write();
+
+        MirrorIndex readIndex = new MirrorIndex(mIndexFile, mMirrorHelper, type -> 2);
+        readIndex.read();
+
+        assertEquals(METHOD, readIndex.findMethod(MIRROR_METHOD, "combine", Target.class));
+    }
+
+    @Test
+    public void read_corruptFile_ignoresIndex() throws Exception {
+        Files.write(mIndexFile, new byte[] {1, 2, 3, 4, 5});
+
+        MirrorIndex index = new MirrorIndex(mIndexFile, mMirrorHelper);
+        index.read();
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void read_lengthBeyondFile_ignoresIndex() throws Exception {
+        ByteBuffer BUFFER = ByteBuffer.allocate(12);
+        BUFFER.putInt(0x4D495258).putInt(2).putInt(Integer.MAX_VALUE);
+        Files.write(mIndexFile, BUFFER.array());
+
+        MirrorIndex index = new MirrorIndex(mIndexFile, mMirrorHelper);
+        index.read();
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void read_negativeStringLength_ignoresIndex() throws Exception {
+        ByteBuffer BUFFER = ByteBuffer.allocate(17);
+        BUFFER.putInt(0x4D495258).putInt(2).putInt(1).put((byte) 0).putInt(-1);
+        Files.write(mIndexFile, BUFFER.array());
+
+        MirrorIndex index = new MirrorIndex(mIndexFile, mMirrorHelper);
+        index.read();
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void hashClassFile_classFileModified_changesHash() throws Exception {
+        Path CLASS_FILE = Paths.get(Target.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .resolve(Target.class.getName().replace('.', '/') + ".class");
+        FileTime MODIFIED = Files.getLastModifiedTime(CLASS_FILE);
+
+        long hash = MirrorIndex.hashClassFile(Target.class);
+        try {
+            Files.setLastModifiedTime(CLASS_FILE, FileTime.fromMillis(MODIFIED.toMillis() + 2000));
+
+            assertNotEquals(0, hash);
+            assertNotEquals(hash, MirrorIndex.hashClassFile(Target.class));
+        } finally {
+            Files.setLastModifiedTime(CLASS_FILE, MODIFIED);
+        }
+    }
+
+    @Test
+    public void findMethod_inheritedMember_resolvesFromDeclaringClass() throws Exception {
+        Method MIRROR_METHOD = BaseTargetMirror.class.getMethod("describe");
+        Method METHOD = BaseTarget.class.getDeclaredMethod("describe");
+
+        MirrorIndex writtenIndex = new MirrorIndex(mIndexFile, mMirrorHelper);
+        writtenIndex.putMethod(MIRROR_METHOD, "describe", Target.class, METHOD);
+        writtenIndex.write();
+
+        MirrorIndex readIndex = new MirrorIndex(mIndexFile, mMirrorHelper);
+        readIndex.read();
+
+        assertEquals(METHOD, readIndex.findMethod(MIRROR_METHOD, "describe", Target.class));
+    }
+
+    @Test
+    public void writeIndex_mirrorsPrepared_indexesResolvedMembers() throws Exception {
+        Method MIRROR_METHOD = TargetMirror.class.getMethod("combine", TargetMirror.class);
+        Method CREATOR_METHOD = TargetMirrorCreator.class.getMethod("create", String.class);
+
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader()).setIndexFile(mIndexFile).build();
+        mirror.prepare(TargetMirror.class, TargetMirrorCreator.class);
+        mirror.writeIndex();
+
+        MirrorIndex index = new MirrorIndex(mIndexFile, mMirrorHelper);
+        index.read();
+
+        assertEquals(3, index.size());
+        assertEquals(Target.class.getDeclaredMethod("combine", Target.class), index.findMethod(MIRROR_METHOD, "combine", Target.class));
+        assertEquals(Target.class.getDeclaredField("mName"), index.findField("mName", Target.class));
+        assertEquals(Target.class.getDeclaredConstructor(String.class), index.findConstructor(CREATOR_METHOD, Target.class));
+    }
+
+    @Test
+    public void createMirror_memberIndexed_resolvesIndexedMember() throws Exception {
+        Method MIRROR_METHOD = TargetMirror.class.getMethod("combine", TargetMirror.class);
+
+        MirrorIndex writtenIndex = new MirrorIndex(mIndexFile, mMirrorHelper);
+        writtenIndex.putMethod(MIRROR_METHOD, "combine", Target.class, Target.class.getDeclaredMethod("combineReversed", Target.class));
+        writtenIndex.write();
+
+        Mirror mirror = Mirror.builder(this.getClass().getClassLoader()).setIndexFile(mIndexFile).build();
+        TargetMirrorCreator creator = mirror.createMirrorCreator(TargetMirrorCreator.class);
+
+        assertEquals("ba", creator.create("a").combine(creator.create("b")).getName());
+    }
+
+    private static class BaseTarget {
+
+        private String describe() {
+            return "base";
+        }
+    }
+
+    private static class Target extends BaseTarget {
+
+        private final String mName;
+
+        private Target(String name) {
+            mName = name;
+        }
+
+        private Target combine(Target other) {
+            return new Target(mName + other.mName);
+        }
+
+        private Target combineReversed(Target other) {
+            return new Target(other.mName + mName);
+        }
+    }
+
+    @MirroredClass("com.mirror.index.MirrorIndexTest$Target")
+    private interface TargetMirror {
+
+        @GetField("mName")
+        String getName();
+
+        TargetMirror combine(TargetMirror other);
+    }
+
+    private interface BaseTargetMirror {
+
+        String describe();
+    }
+
+    private interface TargetMirrorCreator {
+
+        @MirrorCreator
+        TargetMirror create(String name);
+    }
+}
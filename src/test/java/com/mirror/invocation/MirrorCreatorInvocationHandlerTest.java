@@ -1,8 +1,10 @@
 package com.mirror.invocation;
 
 import com.mirror.MirrorCreator;
+import com.mirror.engine.MemberInvoker;
 import com.mirror.validation.MirrorValidator;
 import com.mirror.helper.MirrorHelper;
+import com.mirror.helper.MirrorParameters;
 import com.mirror.helper.ReflectionHelper;
 import com.mirror.wrapping.ThrowableWrapper;
 import org.junit.Before;
@@ -14,6 +16,8 @@ import java.lang.reflect.Method;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MirrorCreatorInvocationHandlerTest {
@@ -33,7 +37,7 @@ public class MirrorCreatorInvocationHandlerTest {
         mMirrorValidator = mock(MirrorValidator.class);
         mClassLoader = this.getClass().getClassLoader();
 
-        mMirrorCreatorInvocationHandler = new MirrorCreatorInvocationHandler(mReflectionHelper, mThrowableWrapper, mMirrorHelper, mMirrorValidator, mClassLoader);
+        mMirrorCreatorInvocationHandler = new MirrorCreatorInvocationHandler(mReflectionHelper, mThrowableWrapper, mMirrorHelper, mMirrorValidator, mClassLoader, new InvocationPlanCache());
     }
 
     @Test
@@ -47,13 +51,34 @@ public class MirrorCreatorInvocationHandlerTest {
         Constructor mockConstructor = mock(Constructor.class);
 
         when(mReflectionHelper.findMirrorConstructor(any(), any())).thenReturn(mockConstructor);
-        when(mReflectionHelper.invokeMirrorConstructor(any(), any(), any())).thenReturn(RESULT);
+        when(mReflectionHelper.invokeMirrorConstructor(any(), any(), any(), any())).thenReturn(RESULT);
 
         Object result = mMirrorCreatorInvocationHandler.invoke(null, METHOD, null);
 
         assertEquals(RESULT, result);
     }
 
+    @Test
+    public void invoke_mirrorCreatingMethodTwice_resolvesConstructorOnce() throws Throwable {
+        Method METHOD = SomeClass.class.getDeclaredMethod("create");
+        Class TARGET_CLASS = SomeClass.class;
+        Constructor mockConstructor = mock(Constructor.class);
+        MemberInvoker mockInvoker = mock(MemberInvoker.class);
+        MirrorParameters MIRROR_PARAMETERS = MirrorParameters.NONE;
+
+        when(mMirrorHelper.getMirrorTargetType(any(), any())).thenReturn(TARGET_CLASS);
+        when(mReflectionHelper.findMirrorParameters(any())).thenReturn(MIRROR_PARAMETERS);
+        when(mReflectionHelper.findMirrorConstructor(any(), any())).thenReturn(mockConstructor);
+        when(mReflectionHelper.createConstructorInvoker(any())).thenReturn(mockInvoker);
+
+        mMirrorCreatorInvocationHandler.invoke(null, METHOD, null);
+        mMirrorCreatorInvocationHandler.invoke(null, METHOD, null);
+
+        verify(mReflectionHelper, times(1)).findMirrorConstructor(METHOD, TARGET_CLASS);
+        verify(mReflectionHelper, times(1)).createConstructorInvoker(mockConstructor);
+        verify(mReflectionHelper, times(2)).invokeMirrorConstructor(mockInvoker, MIRROR_PARAMETERS, Object.class, InvocationPlan.NO_ARGUMENTS);
+    }
+
     @Test(expected = MirrorCreationByProxyException.class)
     public void invoke_notMirrorCreatingMethod_throwMirrorCreationByProxyException() throws Throwable {
         Method METHOD = SomeClass.class.getDeclaredMethod("someMethod");
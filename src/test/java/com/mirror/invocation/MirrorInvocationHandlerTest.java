@@ -1,7 +1,11 @@
 package com.mirror.invocation;
 
+import com.mirror.FieldAccessMode;
 import com.mirror.GetField;
 import com.mirror.SetField;
+import com.mirror.engine.FieldAccessor;
+import com.mirror.engine.MemberInvoker;
+import com.mirror.helper.MirrorParameters;
 import com.mirror.helper.ReflectionHelper;
 import com.mirror.wrapping.ThrowableWrapper;
 import org.junit.Before;
@@ -10,6 +14,7 @@ import org.junit.Test;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +26,8 @@ public class MirrorInvocationHandlerTest {
     private ThrowableWrapper mThrowableWrapper;
     private Object mTargetInstance;
     private Class<?> mTargetClass;
+    private MemberInvoker mMethodInvoker;
+    private MirrorParameters mMirrorParameters;
 
     @Before
     public void setUp() throws Exception {
@@ -30,7 +37,13 @@ public class MirrorInvocationHandlerTest {
         mTargetInstance = mock(TargetClass.class);
         ClassLoader classLoader = this.getClass().getClassLoader();
 
-        mMirrorInvocationHandler = new MirrorInvocationHandler(mReflectionHelper, mThrowableWrapper, mTargetClass, mTargetInstance, classLoader);
+        mMethodInvoker = mock(MemberInvoker.class);
+        when(mReflectionHelper.createMethodInvoker(any())).thenReturn(mMethodInvoker);
+
+        mMirrorParameters = MirrorParameters.NONE;
+        when(mReflectionHelper.findMirrorParameters(any())).thenReturn(mMirrorParameters);
+
+        mMirrorInvocationHandler = new MirrorInvocationHandler(new MirrorDescriptor(mReflectionHelper, mThrowableWrapper, mTargetClass, classLoader, new InvocationPlanCache(), null, null), mTargetInstance);
     }
 
     @Test
@@ -38,14 +51,14 @@ public class MirrorInvocationHandlerTest {
         Method METHOD = TargetClass.class.getDeclaredMethod("publicNoParam");
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenReturn(null);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
 
         Object result = mMirrorInvocationHandler.invoke(null, METHOD, null);
 
         assertTrue(result == null);
 
         verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
-        verify(mReflectionHelper, times(1)).invokeMirrorMethod(METHOD, mTargetInstance, void.class);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, InvocationPlan.NO_ARGUMENTS);
     }
 
     @Test
@@ -54,14 +67,14 @@ public class MirrorInvocationHandlerTest {
         Object[] PARAMS = {new Object()};
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenReturn(null);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
 
         Object result = mMirrorInvocationHandler.invoke(null, METHOD, PARAMS);
 
         assertTrue(result == null);
 
         verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
-        verify(mReflectionHelper, times(1)).invokeMirrorMethod(METHOD, mTargetInstance, void.class, PARAMS);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, PARAMS);
     }
 
     @Test
@@ -70,14 +83,14 @@ public class MirrorInvocationHandlerTest {
         Object RESULT = new Object();
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenReturn(RESULT);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(RESULT);
 
         Object result = mMirrorInvocationHandler.invoke(null, METHOD, null);
 
         assertEquals(RESULT, result);
 
         verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
-        verify(mReflectionHelper, times(1)).invokeMirrorMethod(METHOD, mTargetInstance, Object.class);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, Object.class, InvocationPlan.NO_ARGUMENTS);
     }
 
     @Test
@@ -87,14 +100,14 @@ public class MirrorInvocationHandlerTest {
         Object[] PARAMS = {new Object()};
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenReturn(RESULT);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(RESULT);
 
         Object result = mMirrorInvocationHandler.invoke(null, METHOD, PARAMS);
 
         assertEquals(RESULT, result);
 
         verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
-        verify(mReflectionHelper, times(1)).invokeMirrorMethod(METHOD, mTargetInstance, Object.class, PARAMS);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, Object.class, PARAMS);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -102,7 +115,7 @@ public class MirrorInvocationHandlerTest {
         Method METHOD = TargetClass.class.getDeclaredMethod("publicReturnNoParam");
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenThrow(new InvocationTargetException(new IllegalArgumentException()));
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenThrow(new InvocationTargetException(new IllegalArgumentException()));
 
         mMirrorInvocationHandler.invoke(null, METHOD, null);
     }
@@ -112,7 +125,7 @@ public class MirrorInvocationHandlerTest {
         Method METHOD = TargetClass.class.getDeclaredMethod("publicExceptionDeclared");
 
         when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
-        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any())).thenThrow(new InvocationTargetException(new InterruptedException()));
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenThrow(new InvocationTargetException(new InterruptedException()));
 
         mMirrorInvocationHandler.invoke(null, METHOD, null);
     }
@@ -135,14 +148,108 @@ public class MirrorInvocationHandlerTest {
         Object FIELD_VALUE = new Object();
 
         Field mockField = mock(Field.class);
+        FieldAccessor mockFieldAccessor = mock(FieldAccessor.class);
 
         when(mReflectionHelper.findMirrorField(anyString(), any())).thenReturn(mockField);
+        when(mReflectionHelper.createFieldAccessor(any(), any())).thenReturn(mockFieldAccessor);
         when(mReflectionHelper.getFieldValue(any(), any(), any())).thenReturn(FIELD_VALUE);
 
         Object result = mMirrorInvocationHandler.invoke(null, METHOD, new Object[] {FIELD_VALUE});
         assertNull(result);
 
-        verify(mReflectionHelper, times(1)).setFieldValue(eq(mockField), any(), eq(FIELD_VALUE));
+        verify(mReflectionHelper, times(1)).createFieldAccessor(mockField, FieldAccessMode.DEFAULT);
+        verify(mReflectionHelper, times(1)).setFieldValue(eq(mockFieldAccessor), eq(mMirrorParameters), any(), eq(FIELD_VALUE));
+    }
+
+    @Test
+    public void invoke_sameMethodTwice_resolvesMethodOnce() throws Throwable {
+        Method METHOD = TargetClass.class.getDeclaredMethod("publicNoParam");
+
+        when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
+
+        mMirrorInvocationHandler.invoke(null, METHOD, null);
+        mMirrorInvocationHandler.invoke(null, METHOD, null);
+
+        verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
+        verify(mReflectionHelper, times(2)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, InvocationPlan.NO_ARGUMENTS);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void invoke_handlerWithOwnDescriptor_invokesOnTargetInstance() throws Throwable {
+        Method METHOD = TargetClass.class.getDeclaredMethod("publicNoParam");
+        MirrorInvocationHandler HANDLER = new MirrorInvocationHandler(mReflectionHelper, mThrowableWrapper, mTargetClass, mTargetInstance, this.getClass().getClassLoader());
+
+        when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
+
+        HANDLER.invoke(null, METHOD, null);
+
+        assertSame(mTargetInstance, HANDLER.getTargetInstance());
+        verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, InvocationPlan.NO_ARGUMENTS);
+    }
+
+    @Test
+    public void invoke_sharedDescriptor_resolvesMethodOnceForAllHandlers() throws Throwable {
+        Method METHOD = TargetClass.class.getDeclaredMethod("publicNoParam");
+        Object OTHER_INSTANCE = mock(TargetClass.class);
+        MirrorDescriptor DESCRIPTOR = new MirrorDescriptor(mReflectionHelper, mThrowableWrapper, mTargetClass, this.getClass().getClassLoader(), new InvocationPlanCache(), null, null);
+
+        when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
+
+        new MirrorInvocationHandler(DESCRIPTOR, mTargetInstance).invoke(null, METHOD, null);
+        new MirrorInvocationHandler(DESCRIPTOR, OTHER_INSTANCE).invoke(null, METHOD, null);
+
+        verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, InvocationPlan.NO_ARGUMENTS);
+        verify(mReflectionHelper, times(1)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, OTHER_INSTANCE, void.class, InvocationPlan.NO_ARGUMENTS);
+    }
+
+    @Test
+    public void invoke_fieldGetterTwice_resolvesFieldOnce() throws Throwable {
+        Method METHOD = TargetClass.class.getDeclaredMethod("getField");
+
+        when(mReflectionHelper.findMirrorField(anyString(), any())).thenReturn(mock(Field.class));
+        when(mReflectionHelper.getFieldValue(any(), any(), any())).thenReturn(new Object());
+
+        mMirrorInvocationHandler.invoke(null, METHOD, null);
+        mMirrorInvocationHandler.invoke(null, METHOD, null);
+
+        verify(mReflectionHelper, times(1)).findMirrorField("field", mTargetClass);
+        verify(mReflectionHelper, times(2)).getFieldValue(any(), any(), any());
+    }
+
+    @Test
+    public void invokeMethod_sameMethodAsInvoke_sharesResolvedPlan() throws Throwable {
+        Method METHOD = TargetClass.class.getDeclaredMethod("publicNoParam");
+
+        when(mReflectionHelper.findMirrorMethod(any(), anyString(), any())).thenReturn(METHOD);
+        when(mReflectionHelper.invokeMirrorMethod(any(), any(), any(), any(), any())).thenReturn(null);
+
+        mMirrorInvocationHandler.invoke(null, METHOD, null);
+        mMirrorInvocationHandler.invokeMethod(METHOD, null);
+
+        verify(mReflectionHelper, times(1)).findMirrorMethod(METHOD, METHOD.getName(), mTargetClass);
+        verify(mReflectionHelper, times(2)).invokeMirrorMethod(mMethodInvoker, mMirrorParameters, mTargetInstance, void.class, InvocationPlan.NO_ARGUMENTS);
+    }
+
+    @Test
+    public void handler_perMirrorState_holdsOnlyDescriptorAndTarget() throws Exception {
+        int INSTANCE_FIELD_COUNT = 2;
+
+        int instanceFieldCount = 0;
+        for (Class<?> type = MirrorInvocationHandler.class; type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    instanceFieldCount++;
+                }
+            }
+        }
+
+        assertEquals(INSTANCE_FIELD_COUNT, instanceFieldCount);
     }
 
     private static class TargetClass {
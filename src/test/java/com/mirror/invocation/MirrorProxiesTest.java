@@ -0,0 +1,30 @@
+package com.mirror.invocation;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+public class MirrorProxiesTest {
+
+    @Test
+    public void newProxy_sameInterfaceTwice_createsProxiesOfSameClassWithGivenHandlers() throws Exception {
+        InvocationHandler FIRST_HANDLER = (proxy, method, args) -> "first";
+        InvocationHandler SECOND_HANDLER = (proxy, method, args) -> "second";
+
+        Named first = MirrorProxies.newProxy(Named.class, FIRST_HANDLER);
+        Named second = MirrorProxies.newProxy(Named.class, SECOND_HANDLER);
+
+        assertSame(first.getClass(), second.getClass());
+        assertSame(FIRST_HANDLER, Proxy.getInvocationHandler(first));
+        assertEquals("first", first.getName());
+        assertEquals("second", second.getName());
+    }
+
+    private interface Named {
+
+        String getName();
+    }
+}
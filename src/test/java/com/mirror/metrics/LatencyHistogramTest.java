@@ -0,0 +1,38 @@
+package com.mirror.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketIndex_anyValue_lowestValueOfBucketWithinPrecision() throws Exception {
+        long[] VALUES = {0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE};
+
+        for (long value : VALUES) {
+            long lowest = LatencyHistogram.bucketLowestValue(LatencyHistogram.bucketIndex(value));
+
+            assertTrue(lowest <= value);
+            assertTrue(value - lowest <= value / 16);
+        }
+    }
+
+    @Test
+    public void getValueAtPercentile_recordedValues_returnsEquivalentValue() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(LatencyHistogram.bucketLowestValue(LatencyHistogram.bucketIndex(50000)), histogram.getValueAtPercentile(50));
+        assertEquals(LatencyHistogram.bucketLowestValue(LatencyHistogram.bucketIndex(100000)), histogram.getMaxValue());
+    }
+
+    @Test
+    public void getValueAtPercentile_nothingRecorded_returnsZero() throws Exception {
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+}
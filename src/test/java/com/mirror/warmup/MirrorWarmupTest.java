@@ -0,0 +1,62 @@
+package com.mirror.warmup;
+
+import com.mirror.GetField;
+import com.mirror.Mirror;
+import com.mirror.MirrorCreator;
+import com.mirror.MirroredClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MirrorWarmupTest {
+
+    @Test
+    public void warmUp_packageWithMirrors_preparesEachInterface() throws Exception {
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        Mirror mirror = Mirror.createForClassLoader(classLoader);
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            MirrorWarmupReport report = MirrorWarmup.warmUp(mirror, classLoader, pool, "com.mirror.warmup");
+
+            assertEquals(3, report.getEntries().size());
+            assertEquals(1, report.getFailedEntries().size());
+            assertEquals(BrokenTargetMirror.class, report.getFailedEntries().get(0).getInterfaceClass());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5, mirror.createMirrorCreator(TargetMirrorCreator.class).create(5).getValue());
+    }
+
+    private static class Target {
+
+        private final int mValue;
+
+        private Target(int value) {
+            mValue = value;
+        }
+    }
+
+    @MirroredClass("com.mirror.warmup.MirrorWarmupTest$Target")
+    private interface TargetMirror {
+
+        @GetField("mValue")
+        int getValue();
+    }
+
+    private interface TargetMirrorCreator {
+
+        @MirrorCreator
+        TargetMirror create(int value);
+    }
+
+    @MirroredClass("com.mirror.warmup.MirrorWarmupTest$Target")
+    private interface BrokenTargetMirror {
+
+        @GetField("mMissing")
+        int getMissing();
+    }
+}
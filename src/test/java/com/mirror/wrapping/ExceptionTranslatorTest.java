@@ -0,0 +1,50 @@
+package com.mirror.wrapping;
+
+import com.mirror.MirroredException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ExceptionTranslatorTest {
+
+    @Test
+    public void translate_declaredType_returnsSameThrowable() throws Exception {
+        Throwable THROWABLE = new IllegalArgumentException();
+        ExceptionTranslator translator = new ThrowableWrapper().createTranslator(new Class[] {RuntimeException.class}, getClass().getClassLoader());
+
+        assertSame(THROWABLE, translator.translate(THROWABLE));
+    }
+
+    @Test
+    public void translate_mirroredTypeTwice_wrapsThrowableAndResolvesTypeOnce() throws Exception {
+        Throwable THROWABLE = new IllegalStateException();
+        ThrowableWrapper throwableWrapper = spy(new ThrowableWrapper());
+        ExceptionTranslator translator = throwableWrapper.createTranslator(new Class[] {WrappingException.class}, getClass().getClassLoader());
+
+        Throwable first = translator.translate(THROWABLE);
+        Throwable second = translator.translate(new IllegalStateException());
+
+        assertTrue(first instanceof WrappingException);
+        assertSame(THROWABLE, first.getCause());
+        assertTrue(second instanceof WrappingException);
+        verify(throwableWrapper, times(1)).getMirroredThrowableType(any(), any());
+    }
+
+    @Test
+    public void translate_undeclaredType_returnsSameThrowable() throws Exception {
+        Throwable THROWABLE = new UnsupportedOperationException();
+        ExceptionTranslator translator = new ThrowableWrapper().createTranslator(new Class[] {WrappingException.class}, getClass().getClassLoader());
+
+        assertSame(THROWABLE, translator.translate(THROWABLE));
+    }
+
+    @MirroredException("java.lang.IllegalStateException")
+    private static class WrappingException extends Exception {
+
+        private WrappingException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
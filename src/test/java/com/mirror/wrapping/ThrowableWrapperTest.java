@@ -1,5 +1,6 @@
 package com.mirror.wrapping;
 
+import com.mirror.MirroredException;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -49,6 +50,33 @@ public class ThrowableWrapperTest {
         throwableWrapper.wrapThrowable(new RuntimeException(), UnusableThrowableType.class);
     }
 
+    @Test
+    public void wrapException_stackTracesNotWritable_returnsWrappedExceptionWithoutStackTrace() throws Throwable {
+        ThrowableWrapper throwableWrapper = new ThrowableWrapper(false);
+        Throwable THROWABLE = new RuntimeException();
+
+        Throwable result = throwableWrapper.wrapThrowable(THROWABLE, StacklessConstructor.class);
+
+        assertTrue(result instanceof StacklessConstructor);
+        assertSame(THROWABLE, result.getCause());
+        assertEquals(0, result.getStackTrace().length);
+    }
+
+    @Test
+    public void wrapException_annotationDisablesStackTrace_returnsWrappedExceptionWithoutStackTrace() throws Throwable {
+        ThrowableWrapper throwableWrapper = new ThrowableWrapper();
+
+        Throwable result = throwableWrapper.wrapThrowable(new RuntimeException(), AnnotatedStacklessConstructor.class);
+
+        assertEquals(0, result.getStackTrace().length);
+    }
+
+    @Test
+    public void wrapException_stackTracesNotWritableNoStacklessConstructor_returnsWrappedException() throws Throwable {
+        ThrowableWrapper throwableWrapper = new ThrowableWrapper(false);
+        testWrap(throwableWrapper, new RuntimeException(), PublicCauseConstructor.class);
+    }
+
     private void testWrap(ThrowableWrapper throwableWrapper, Throwable throwable, Class<? extends Throwable> destType) {
         Throwable result = throwableWrapper.wrapThrowable(throwable, destType);
         assertTrue(destType.isInstance(result));
@@ -90,6 +118,23 @@ public class ThrowableWrapperTest {
         }
     }
 
+    private static class StacklessConstructor extends Throwable {
+        private StacklessConstructor(Throwable throwable) {
+            super(throwable);
+        }
+
+        private StacklessConstructor(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+            super(message, cause, enableSuppression, writableStackTrace);
+        }
+    }
+
+    @MirroredException(value = "java.lang.RuntimeException", writableStackTrace = false)
+    private static class AnnotatedStacklessConstructor extends Throwable {
+        private AnnotatedStacklessConstructor(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+            super(message, cause, enableSuppression, writableStackTrace);
+        }
+    }
+
     private static class UnusableThrowableType extends Throwable {
         public UnusableThrowableType(String message) {
 
@@ -79,6 +79,15 @@ public class UnwrapperTest {
         assertArrayEquals(ARRAY, arrayResult);
     }
 
+    @Test
+    public void unwrapArray_arrayWithoutMirrors_returnsSameArray() throws Exception {
+        Object[] ARRAY = {"first", "second"};
+
+        Object result = mUnwrapper.unwrapArray(ARRAY);
+
+        assertSame(ARRAY, result);
+    }
+
     @Test
     public void unwrapArray_arrayOfMirrors_targetObjectsReturned() throws Exception {
         Object TARGET_OBJECT = new Object();
@@ -130,7 +139,7 @@ public class UnwrapperTest {
     @Test
     public void unwrapObjectType_mirrorType_returnsTypeOfMirror() throws Exception {
         when(mMirrorHelper.isMirror(any(Class.class))).thenReturn(true);
-        when(mMirrorHelper.getMirroredTypeName(any(Class.class))).thenReturn(ClassToBeMirrored.class.getName());
+        when(mMirrorHelper.getMirrorTargetType(any(Class.class), any())).thenReturn((Class) ClassToBeMirrored.class);
 
         Class<?> result = mUnwrapper.unwrapObjectType(this.getClass());
 
@@ -151,7 +160,7 @@ public class UnwrapperTest {
     @Test
     public void unwrapArrayType_mirrorArrayType_returnsUnwrappedArrayType() throws Exception {
         when(mMirrorHelper.isMirror(any(Class.class))).thenReturn(true);
-        when(mMirrorHelper.getMirroredTypeName(any(Class.class))).thenReturn(ClassToBeMirrored.class.getName());
+        when(mMirrorHelper.getMirrorTargetType(any(Class.class), any())).thenReturn((Class) ClassToBeMirrored.class);
 
         Class<?> ARRAY_TYPE = Object[].class;
 
@@ -0,0 +1,119 @@
+package com.mirror.wrapping;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class WrappedMirrorCacheTest {
+
+    @Test
+    public void get_afterPut_returnsCachedMirror() throws Exception {
+        WrappedMirrorCache cache = new WrappedMirrorCache(16);
+        Object TARGET = new Object();
+        Object MIRROR = new Object();
+
+        cache.putIfAbsent(TARGET, Runnable.class, MIRROR);
+
+        assertSame(MIRROR, cache.get(TARGET, Runnable.class));
+        assertNull(cache.get(TARGET, Comparable.class));
+        assertNull(cache.get(new Object(), Runnable.class));
+    }
+
+    @Test
+    public void putIfAbsent_mirrorCached_returnsExistingMirror() throws Exception {
+        WrappedMirrorCache cache = new WrappedMirrorCache(16);
+        Object TARGET = new Object();
+        Object MIRROR = new Object();
+
+        cache.putIfAbsent(TARGET, Runnable.class, MIRROR);
+        Object result = cache.putIfAbsent(TARGET, Runnable.class, new Object());
+
+        assertSame(MIRROR, result);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void putIfAbsent_manyTargets_sizeBounded() throws Exception {
+        int MAXIMUM_SIZE = 32;
+        WrappedMirrorCache cache = new WrappedMirrorCache(MAXIMUM_SIZE);
+        Object[] targets = new Object[1000];
+        Object[] mirrors = new Object[targets.length];
+
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new Object();
+            mirrors[i] = new Object();
+            cache.putIfAbsent(targets[i], Runnable.class, mirrors[i]);
+        }
+
+        assertTrue(cache.size() <= MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void get_concurrentPuts_returnsOnlyCachedMirrors() throws Exception {
+        int THREADS = 4;
+        int MAXIMUM_SIZE = 64;
+        WrappedMirrorCache cache = new WrappedMirrorCache(MAXIMUM_SIZE);
+        Object[] targets = new Object[10000];
+        Object[] mirrors = new Object[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new Object();
+            mirrors[i] = new Object();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < targets.length; i++) {
+                        Object mirror = cache.get(targets[i], Runnable.class);
+                        if (mirror == null) {
+                            mirror = cache.putIfAbsent(targets[i], Runnable.class, mirrors[i]);
+                        }
+                        assertSame(mirrors[i], mirror);
+                    }
+                });
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.size() <= MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void clear_mirrorsCached_removesAllMirrors() throws Exception {
+        WrappedMirrorCache cache = new WrappedMirrorCache(16);
+        Object TARGET = new Object();
+        Object MIRROR = new Object();
+
+        cache.putIfAbsent(TARGET, Runnable.class, MIRROR);
+        cache.clear();
+
+        assertNull(cache.get(TARGET, Runnable.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidate_mirrorTypeOfClassLoader_removesOnlyItsMirrors() throws Exception {
+        WrappedMirrorCache cache = new WrappedMirrorCache(16);
+        Object TARGET = new Object();
+        Object MIRROR = new Object();
+        Object OTHER_MIRROR = new Object();
+
+        cache.putIfAbsent(TARGET, WrappedMirrorCacheTest.class, MIRROR);
+        cache.putIfAbsent(TARGET, Runnable.class, OTHER_MIRROR);
+        cache.invalidate(WrappedMirrorCacheTest.class.getClassLoader());
+
+        assertNull(cache.get(TARGET, WrappedMirrorCacheTest.class));
+        assertSame(OTHER_MIRROR, cache.get(TARGET, Runnable.class));
+    }
+}
@@ -5,9 +5,14 @@ import com.mirror.helper.MirrorHelper;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.hasItemInArray;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +48,25 @@ public class WrapperTest {
         verify(mMirror, times(1)).mirror(TARGET_MIRROR_CLASS, SOURCE_OBJECT);
     }
 
+    @Test
+    public void wrapObject_sameObjectWithCache_createsMirrorOnce() throws Exception {
+        Object SOURCE_OBJECT = new Object();
+        Object CREATED_OBJECT = new Object();
+        Class<?> TARGET_MIRROR_CLASS = this.getClass();
+
+        mWrapper = new Wrapper(mMirrorHelper, mMirror, new WrappedMirrorCache(16));
+
+        when(mMirrorHelper.isMirror(any(Class.class))).thenReturn(true);
+        when(mMirror.mirror(any(), any())).thenReturn(CREATED_OBJECT);
+
+        Object first = mWrapper.wrapObject(SOURCE_OBJECT, TARGET_MIRROR_CLASS);
+        Object second = mWrapper.wrapObject(SOURCE_OBJECT, TARGET_MIRROR_CLASS);
+
+        assertSame(CREATED_OBJECT, first);
+        assertSame(first, second);
+        verify(mMirror, times(1)).mirror(TARGET_MIRROR_CLASS, SOURCE_OBJECT);
+    }
+
     @Test
     public void wrapObject_notMirrorOfObject_returnOriginalObject() throws Exception {
         Object SOURCE_OBJECT = new Object();
@@ -59,8 +83,8 @@ public class WrapperTest {
     @Test
     public void wrapArray_mirrorOfArrayElements_wrapsEachElement() throws Exception {
         Object[] ARRAY = {new Object(), new Object()};
-        Object CREATED_OBJECT = new Object();
-        Class<?> TARGET_MIRROR_CLASS = this.getClass();
+        Object CREATED_OBJECT = mock(Runnable.class);
+        Class<?> TARGET_MIRROR_CLASS = Runnable.class;
 
         when(mMirrorHelper.isMirror(any(Class.class))).thenReturn(true);
 
@@ -69,6 +93,7 @@ public class WrapperTest {
         Object result = mWrapper.wrapArray(ARRAY, TARGET_MIRROR_CLASS);
         Object[] arrResult = (Object[]) result;
 
+        assertThat(arrResult, instanceOf(Runnable[].class));
         assertThat(arrResult, arrayWithSize(ARRAY.length));
         assertThat(arrResult, hasItemInArray(CREATED_OBJECT));
     }
@@ -126,4 +151,27 @@ public class WrapperTest {
 
         mWrapper.wrap(SOURCE_OBJECT, TARGET_TYPE);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void wrap_listOfMirrorType_wrapsElementsOnAccess() throws Exception {
+        List<Object> SOURCE_LIST = Arrays.asList(new Object(), new Object());
+        Object CREATED_OBJECT = mock(Runnable.class);
+        Type TARGET_TYPE = Containers.class.getMethod("list").getGenericReturnType();
+
+        when(mMirrorHelper.isMirror(Runnable.class)).thenReturn(true);
+        when(mMirror.mirror(any(), any())).thenReturn(CREATED_OBJECT);
+
+        List<?> result = (List<?>) mWrapper.wrap(SOURCE_LIST, TARGET_TYPE);
+
+        assertEquals(2, result.size());
+        verify(mMirror, never()).mirror(any(), any());
+
+        assertSame(CREATED_OBJECT, result.get(1));
+        verify(mMirror, times(1)).mirror(Runnable.class, SOURCE_LIST.get(1));
+    }
+
+    private interface Containers {
+
+        List<Runnable> list();
+    }
+}